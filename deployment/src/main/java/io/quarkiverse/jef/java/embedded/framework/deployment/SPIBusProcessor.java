@@ -8,6 +8,7 @@ import javax.enterprise.context.ApplicationScoped;
 
 import io.quarkiverse.jef.java.embedded.framework.runtime.config.SPIBusesConfig;
 import io.quarkiverse.jef.java.embedded.framework.runtime.spi.SPIBusManager;
+import io.quarkiverse.jef.java.embedded.framework.runtime.spi.SPIBusManagerDestroyer;
 import io.quarkiverse.jef.java.embedded.framework.runtime.spi.SPIBusRecorder;
 import io.quarkus.arc.deployment.AutoInjectAnnotationBuildItem;
 import io.quarkus.arc.deployment.SyntheticBeanBuildItem;
@@ -36,6 +37,7 @@ public class SPIBusProcessor extends AbstractProcessor {
                 .scope(ApplicationScoped.class)
                 .unremovable()
                 .supplier(recorder.getSpiBusManagerSupplier(config))
+                .destroyer(SPIBusManagerDestroyer.class)
                 .done();
     }
 
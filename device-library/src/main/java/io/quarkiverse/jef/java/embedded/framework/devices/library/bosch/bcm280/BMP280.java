@@ -3,12 +3,15 @@ package io.quarkiverse.jef.java.embedded.framework.devices.library.bosch.bcm280;
 import static io.quarkiverse.jef.java.embedded.framework.devices.library.bosch.bcm280.Register.*;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 import io.quarkiverse.jef.java.embedded.framework.devices.library.core.DeviceImpl;
 import io.quarkiverse.jef.java.embedded.framework.devices.library.core.ReadProperty;
 import io.quarkiverse.jef.java.embedded.framework.devices.library.core.WriteProperty;
+import io.quarkiverse.jef.java.embedded.framework.linux.i2c.CachedSMBus;
 import io.quarkiverse.jef.java.embedded.framework.linux.i2c.I2CBus;
-import io.quarkiverse.jef.java.embedded.framework.linux.i2c.SMBus;
+import io.quarkiverse.jef.java.embedded.framework.linux.i2c.I2CFunctionality;
 
 /**
  * This class provide API to access to Bosch BMP280 sensor over I2C protocol.
@@ -21,7 +24,8 @@ public class BMP280 extends DeviceImpl {
 
     private final static int CHIP_ID = 0x58;
 
-    private final SMBus smbus;
+    private final CachedSMBus smbus;
+    private final boolean burstRead;
     private final BMP280CalibrationData calibrationData;
 
     /**
@@ -32,7 +36,11 @@ public class BMP280 extends DeviceImpl {
      * @throws IOException if device ont available in bus or bus return wrong chip ID
      */
     public BMP280(I2CBus bus, I2CAddress address) throws IOException {
-        smbus = bus.select(address.getValue()).getSmBus();
+        // config register changes only by host writes, so read-modify-write cycles use shadow copy; control register
+        // stays volatile because sensor returns mode bits to sleep after forced conversion
+        smbus = new CachedSMBus(bus.select(address.getValue()).getSmBus())
+                .cacheable(BMP280_REGISTER_CONFIG.getValue());
+        burstRead = bus.support(I2CFunctionality.I2C_FUNC_SMBUS_READ_I2C_BLOCK);
         int chipID = getChipId();
         if (CHIP_ID != chipID) {
             throw new IOException("Unknown chipset version: " + chipID);
@@ -47,6 +55,7 @@ public class BMP280 extends DeviceImpl {
      */
     public void reset() throws IOException {
         smbus.writeByteData(BMP280_REGISTER_SOFTRESET.getValue(), 0xB6);
+        smbus.invalidate();
     }
 
     /**
@@ -221,6 +230,16 @@ public class BMP280 extends DeviceImpl {
         return (getStatus() >> 3) & 0b00000001;
     }
 
+    /**
+     * Register cache used by sensor. Config register is served from memory after first read, control register is
+     * always read from sensor as forced mode conversion clears its mode bits.
+     *
+     * @return register cache with hit/miss counters
+     */
+    public CachedSMBus getRegisterCache() {
+        return smbus;
+    }
+
     private int getStatus() throws IOException {
         return smbus.readByteData(BMP280_REGISTER_STATUS.getValue());
     }
@@ -322,36 +341,49 @@ public class BMP280 extends DeviceImpl {
     }
 
     private BMP280RawData getRawData() throws IOException {
-        return new BMP280RawData(
-                smbus.readByteData(BMP280_REGISTER_PRESSUREDATA_MSB.getValue()),
-                smbus.readByteData(BMP280_REGISTER_PRESSUREDATA_LSB.getValue()),
-                smbus.readByteData(BMP280_REGISTER_PRESSUREDATA_XLSB.getValue()),
-                smbus.readByteData(BMP280_REGISTER_TEMPDATA_MSB.getValue()),
-                smbus.readByteData(BMP280_REGISTER_TEMPDATA_LSB.getValue()),
-                smbus.readByteData(BMP280_REGISTER_TEMPDATA_XLSB.getValue()));
+        ByteBuffer data = readRegisters(BMP280_REGISTER_PRESSUREDATA_MSB, 6);
+        return new BMP280RawData(data.get(0), data.get(1), data.get(2), data.get(3), data.get(4), data.get(5));
     }
 
     private BMP280CalibrationData getCalibrationData() throws IOException {
+        ByteBuffer data = readRegisters(BMP280_REGISTER_DIG_T1, 24).order(ByteOrder.LITTLE_ENDIAN);
         BMP280CalibrationData result = new BMP280CalibrationData();
 
-        result.T1 = smbus.readWordData(BMP280_REGISTER_DIG_T1.getValue()) & 0xFFFF;
-
-        result.T2 = smbus.readWordData(BMP280_REGISTER_DIG_T2.getValue());
-        result.T3 = smbus.readWordData(BMP280_REGISTER_DIG_T3.getValue());
-
-        result.P1 = smbus.readWordData(BMP280_REGISTER_DIG_P1.getValue()) & 0xFFFF;
-        result.P2 = smbus.readWordData(BMP280_REGISTER_DIG_P2.getValue());
-        result.P3 = smbus.readWordData(BMP280_REGISTER_DIG_P3.getValue());
-        result.P4 = smbus.readWordData(BMP280_REGISTER_DIG_P4.getValue());
-        result.P5 = smbus.readWordData(BMP280_REGISTER_DIG_P5.getValue());
-        result.P6 = smbus.readWordData(BMP280_REGISTER_DIG_P6.getValue());
-        result.P7 = smbus.readWordData(BMP280_REGISTER_DIG_P7.getValue());
-        result.P8 = smbus.readWordData(BMP280_REGISTER_DIG_P8.getValue());
-        result.P9 = smbus.readWordData(BMP280_REGISTER_DIG_P9.getValue());
-        //System.out.println("BMP280CalibrationData = " + result);
+        result.T1 = data.getShort(0) & 0xFFFF;
+        result.T2 = data.getShort(2);
+        result.T3 = data.getShort(4);
+
+        result.P1 = data.getShort(6) & 0xFFFF;
+        result.P2 = data.getShort(8);
+        result.P3 = data.getShort(10);
+        result.P4 = data.getShort(12);
+        result.P5 = data.getShort(14);
+        result.P6 = data.getShort(16);
+        result.P7 = data.getShort(18);
+        result.P8 = data.getShort(20);
+        result.P9 = data.getShort(22);
         return result;
     }
 
+    /**
+     * Reads consecutive registers in one bus transaction if adapter supports I2C block read
+     * or register by register otherwise
+     */
+    private ByteBuffer readRegisters(Register first, int length) throws IOException {
+        if (burstRead) {
+            ByteBuffer data = smbus.readI2CBlockData(first.getValue(), length);
+            if (data.remaining() != length) {
+                throw new IOException("Short read of registers from " + first + ": " + data.remaining());
+            }
+            return data;
+        }
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) smbus.readByteData(first.getValue() + i);
+        }
+        return ByteBuffer.wrap(data);
+    }
+
     public static final class BMP280CalibrationData {
         private int T1;
         private int T2;
@@ -10,7 +10,10 @@ import java.util.logging.Logger;
 
 import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
 import io.quarkiverse.jef.java.embedded.framework.linux.spi.SpiBus;
+import io.quarkiverse.jef.java.embedded.framework.linux.spi.SpiBusExecutor;
 import io.quarkiverse.jef.java.embedded.framework.linux.spi.SpiInputParams;
+import io.quarkiverse.jef.java.embedded.framework.linux.spi.SpiModeFlag;
+import io.quarkiverse.jef.java.embedded.framework.linux.spi.SpiTransaction;
 
 /**
  * Provides access to Winbond WS25x flash chipsets.
@@ -27,6 +30,10 @@ public class W25xFlash {
     private static final int SR1_BUSY_MASK = 0x01;
     private static final int SR1_WEN_MASK = 0x02;
 
+    private static final int SECTOR_SIZE = 4096;
+    // commands use 3-byte addresses, higher addresses need 4-byte address mode
+    private static final long ADDRESS_LIMIT = 1L << 24;
+
     private final SpiBus bus;
     private final W25xFlashSizeInfo capacityInfo;
     private int manufacturerID;
@@ -75,6 +82,19 @@ public class W25xFlash {
                 .put((byte) ((addressFrom) & 0xFF));
     }
 
+    private static ByteBuffer toAddressedBuffer(byte command, int addressFrom) {
+        return toAddressedBuffer(command, addressFrom, 0);
+    }
+
+    private static ByteBuffer toAddressedBuffer(byte command, int addressFrom, int additionalBytes) {
+        byte[] buffer = new byte[4 + additionalBytes];
+        buffer[0] = command;
+        buffer[1] = (byte) ((addressFrom >> 16) & 0xFF);
+        buffer[2] = (byte) ((addressFrom >> 8) & 0xFF);
+        buffer[3] = (byte) ((addressFrom) & 0xFF);
+        return ByteBuffer.wrap(buffer);
+    }
+
     /**
      * Returns manafacturer id. For Winbond chipsets it's 0xEF
      *
@@ -102,6 +122,25 @@ public class W25xFlash {
         return capacity;
     }
 
+    /**
+     * Gets size of chipset in bytes
+     *
+     * @return size in bytes
+     */
+    public long getSize() {
+        return (long) capacityInfo.getSectors() * SECTOR_SIZE;
+    }
+
+    /**
+     * Gets amount of bytes reachable by 3-byte addresses used by this driver. Chips above 16MB are limited to
+     * their first 16MB.
+     *
+     * @return addressable size in bytes
+     */
+    public long getAddressableSize() {
+        return Math.min(getSize(), ADDRESS_LIMIT);
+    }
+
     /**
      * Gets chipset ID
      *
@@ -163,6 +202,7 @@ public class W25xFlash {
 
     /**
      * Read buffer from chip.
+     * Amount is not limited by spidev buffer size: bus splits long read keeping chip selected.
      *
      * @param addressFrom from address
      * @param amount about of bytes to read
@@ -201,6 +241,73 @@ public class W25xFlash {
         return bus.readArray(in, amount);
     }
 
+    /**
+     * Read buffer from chip using Fast Read Dual Output instruction. Command and address are sent on single line,
+     * data is received on two lines (IO0 and IO1), so the same clock gives twice faster read.
+     * Bus should be switched to {@link SpiModeFlag#SPI_RX_DUAL} before.
+     *
+     * @param addressFrom from address
+     * @param amount about of bytes to read
+     * @return {@link ByteBuffer} with read data
+     * @throws IOException if SPI bus or controller not allow this operation
+     */
+    public ByteBuffer fastReadDualOutput(int addressFrom, int amount) throws IOException {
+        log.log(Level.FINER,
+                () -> String.format("fast read dual output from address '%d' amount of bytes '%d' for %h",
+                        addressFrom, amount, chipID));
+        return wideRead(CMD_READ_DUAL_OUTPUT.value, 2, addressFrom, amount);
+    }
+
+    /**
+     * Read buffer from chip using Fast Read Quad Output instruction. Command and address are sent on single line,
+     * data is received on four lines (IO0-IO3). Quad Enable bit of Status Register-2 should be set and
+     * bus should be switched to {@link SpiModeFlag#SPI_RX_QUAD} before.
+     *
+     * @param addressFrom from address
+     * @param amount about of bytes to read
+     * @return {@link ByteBuffer} with read data
+     * @throws IOException if SPI bus or controller not allow this operation
+     */
+    public ByteBuffer fastReadQuadOutput(int addressFrom, int amount) throws IOException {
+        log.log(Level.FINER,
+                () -> String.format("fast read quad output from address '%d' amount of bytes '%d' for %h",
+                        addressFrom, amount, chipID));
+        return wideRead(CMD_READ_QUAD_OUTPUT.value, 4, addressFrom, amount);
+    }
+
+    private ByteBuffer wideRead(byte command, int width, int addressFrom, int amount) throws IOException {
+        checkAddress(addressFrom);
+        ByteBuffer output = ByteBuffer.allocateDirect(amount);
+        // 8 dummy clocks after address
+        bus.transfer(SpiTransaction.create(2)
+                .write(toAddressedBuffer(command, addressFrom, 1))
+                .read(output).rxNbits(width));
+        return output.flip();
+    }
+
+    /**
+     * Opens read-only channel over addressable part of chip, see {@link #getAddressableSize()}. Channel reads
+     * ahead by chunks of given size using own I/O thread which is stopped on channel close.
+     *
+     * @param chunkSize size of read-ahead chunk
+     * @return channel positioned at address 0
+     */
+    public W25xFlashChannel openChannel(int chunkSize) {
+        return new W25xFlashChannel(new SpiBusExecutor(bus, 2, 1), true, getAddressableSize(), chunkSize);
+    }
+
+    /**
+     * Opens read-only channel over addressable part of chip. Read-ahead requests are submitted to given executor
+     * which should serve the same bus. Executor is not closed together with channel.
+     *
+     * @param executor executor of bus
+     * @param chunkSize size of read-ahead chunk
+     * @return channel positioned at address 0
+     */
+    public W25xFlashChannel openChannel(SpiBusExecutor executor, int chunkSize) {
+        return new W25xFlashChannel(executor, false, getAddressableSize(), chunkSize);
+    }
+
     /**
      * Erase sector in chip and wait till operation will be finished
      *
@@ -225,9 +332,7 @@ public class W25xFlash {
                         sectorNumber, wait, chipID));
 
         checkSectorNumber(sectorNumber);
-        writeEnable();
-        SpiInputParams in = toAddressedCommand(CMD_SECTOR_ERASE.value, sectorNumber << 12, 0);
-        bus.writeByteData(in);
+        writeEnabled(toAddressedBuffer(CMD_SECTOR_ERASE.value, sectorNumber << 12));
         wait(wait);
     }
 
@@ -254,9 +359,7 @@ public class W25xFlash {
                 () -> String.format("erase block '%d' with wait '%b' for %h",
                         blockNo, wait, chipID));
         checkBlock(blockNo);
-        SpiInputParams in = toAddressedCommand(CMD_BLOCK_ERASE64KB.value, blockNo << 16, 0);
-        writeEnable();
-        bus.writeByteData(in);
+        writeEnabled(toAddressedBuffer(CMD_BLOCK_ERASE64KB.value, blockNo << 16));
         wait(wait);
     }
 
@@ -318,17 +421,31 @@ public class W25xFlash {
             throw new IOException("W25xFlash not support writing more than " + capacityInfo.getBytesPerPage() + " bytes");
         }
 
-        SpiInputParams in = toAddressedCommand(
-                CMD_PAGE_PROGRAM.value,
-                (sectorNo << 12) + address,
-                buffer.length);
         wait(wait);
-        writeEnable();
-        in.put(buffer);
-        bus.writeByteData(in);
+        writeEnabled(
+                toAddressedBuffer(CMD_PAGE_PROGRAM.value, (sectorNo << 12) + address),
+                ByteBuffer.wrap(buffer));
         wait(wait);
     }
 
+    /**
+     * Sends Write Enable followed by command within single SPI transaction.
+     * Chip is deselected between both commands as required by datasheet.
+     *
+     * @param command command segments
+     * @throws IOException if SPI bus not allow this operation
+     */
+    private void writeEnabled(ByteBuffer... command) throws IOException {
+        log.log(Level.FINER, () -> String.format("Write Enable for '%h'", chipID));
+        SpiTransaction transaction = SpiTransaction.create(command.length + 1)
+                .write(ByteBuffer.wrap(new byte[] { CMD_WRIRE_ENABLE.value }))
+                .csChange(true);
+        for (ByteBuffer segment : command) {
+            transaction.write(segment);
+        }
+        bus.transfer(transaction);
+    }
+
     private void readChipId(SpiBus bus) throws NativeIOException {
         ByteBuffer buf = bus.readArray(B_CMD_READ_UNIQUE_ID, 8);
         chipID = String.format("%2h-%2h-%2h-%2h-%2h-%2h-%2h-%2h", buf.get() & 0xFF, buf.get() & 0xFF, buf.get() & 0xFF,
@@ -371,7 +488,10 @@ public class W25xFlash {
     }
 
     private void checkAddress(int address) throws IOException {
-        // TODO: not implemented
+        long limit = getAddressableSize();
+        if (address < 0 || address >= limit) {
+            throw new IOException("Address will be in range (0-" + (limit - 1) + ")");
+        }
     }
 
     private void checkBlock(int blockNo) throws IOException {
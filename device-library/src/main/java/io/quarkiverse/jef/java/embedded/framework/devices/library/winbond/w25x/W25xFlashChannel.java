@@ -0,0 +1,226 @@
+package io.quarkiverse.jef.java.embedded.framework.devices.library.winbond.w25x;
+
+import static io.quarkiverse.jef.java.embedded.framework.devices.library.winbond.w25x.W25XCommands.CMD_FAST_READ;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.spi.SpiBusExecutor;
+
+/**
+ * Read-only {@link SeekableByteChannel} over content of W25x flash.
+ * Data is read ahead by Fast Read command in chunks into two alternating direct buffers: while consumer processes
+ * one chunk the next one is already transferred by {@link SpiBusExecutor}. Memory usage depends only on chunk size,
+ * not on size of chip.
+ * <p>
+ * Instances are created by {@link W25xFlash#openChannel(int)}.
+ */
+@SuppressWarnings("unused")
+public class W25xFlashChannel implements SeekableByteChannel {
+    private static final Logger log = Logger.getLogger(W25xFlashChannel.class.getName());
+
+    private final SpiBusExecutor executor;
+    private final boolean ownExecutor;
+    private final long size;
+    private final int chunkSize;
+    private final Chunk[] chunks;
+    private int current;
+    private long position;
+    private boolean open = true;
+
+    W25xFlashChannel(SpiBusExecutor executor, boolean ownExecutor, long size, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size should be positive: " + chunkSize);
+        }
+        this.executor = executor;
+        this.ownExecutor = ownExecutor;
+        this.size = size;
+        this.chunkSize = chunkSize;
+        this.chunks = new Chunk[] { new Chunk(chunkSize), new Chunk(chunkSize) };
+        log.log(Level.FINER, () -> String.format("Open flash channel on '%s' with chunk size '%d'",
+                executor.getBus().getBus(), chunkSize));
+    }
+
+    @Override
+    public synchronized int read(ByteBuffer dst) throws IOException {
+        ensureOpen();
+        if (position >= size) {
+            return -1;
+        }
+
+        int total = 0;
+        while (dst.hasRemaining() && position < size) {
+            Chunk chunk = chunkAt(position);
+            int offset = (int) (position - chunk.address);
+            int amount = Math.min(chunk.length - offset, dst.remaining());
+
+            ByteBuffer data = chunk.data.duplicate();
+            data.limit(offset + amount).position(offset);
+            dst.put(data);
+
+            position += amount;
+            total += amount;
+        }
+        return total;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized long position() throws IOException {
+        ensureOpen();
+        return position;
+    }
+
+    @Override
+    public synchronized SeekableByteChannel position(long newPosition) throws IOException {
+        ensureOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("Position should not be negative: " + newPosition);
+        }
+        this.position = newPosition;
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        ensureOpen();
+        return size;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) {
+        throw new NonWritableChannelException();
+    }
+
+    /**
+     * Size of read-ahead chunk
+     *
+     * @return chunk size in bytes
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!open) {
+            return;
+        }
+        open = false;
+        for (Chunk chunk : chunks) {
+            chunk.settle();
+        }
+        if (ownExecutor) {
+            executor.close();
+        }
+    }
+
+    /**
+     * Returns loaded chunk which contains address and starts read ahead of the following chunk into second buffer
+     */
+    private Chunk chunkAt(long address) throws IOException {
+        Chunk chunk = chunks[current];
+        if (!chunk.contains(address)) {
+            Chunk other = chunks[current ^ 1];
+            if (other.contains(address)) {
+                current ^= 1;
+                chunk = other;
+            } else {
+                chunk.load(address);
+            }
+        }
+        chunk.await();
+
+        long next = chunk.address + chunk.length;
+        Chunk ahead = chunks[current ^ 1];
+        if (next < size && !ahead.contains(next)) {
+            ahead.load(next);
+        }
+        return chunk;
+    }
+
+    private void ensureOpen() throws ClosedChannelException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    private class Chunk {
+        private final ByteBuffer command = ByteBuffer.allocateDirect(5);
+        private final ByteBuffer data;
+        private long address = -1;
+        private int length;
+        private CompletableFuture<ByteBuffer> pending;
+
+        Chunk(int chunkSize) {
+            this.data = ByteBuffer.allocateDirect(chunkSize);
+        }
+
+        boolean contains(long position) {
+            return address >= 0 && position >= address && position < address + length;
+        }
+
+        void load(long from) {
+            settle();
+            address = from;
+            length = (int) Math.min(chunkSize, size - from);
+
+            command.clear();
+            command.put(CMD_FAST_READ.value)
+                    .put((byte) ((from >> 16) & 0xFF))
+                    .put((byte) ((from >> 8) & 0xFF))
+                    .put((byte) (from & 0xFF))
+                    .put((byte) 0)
+                    .flip();
+            data.clear().limit(length);
+            pending = executor.submit(command, data);
+        }
+
+        void await() throws IOException {
+            if (pending == null) {
+                return;
+            }
+            try {
+                pending.get();
+                pending = null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while reading flash");
+            } catch (ExecutionException e) {
+                pending = null;
+                address = -1;
+                Throwable cause = e.getCause();
+                throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+            }
+        }
+
+        /**
+         * Waits for running transfer before buffers are reused. Errors are reported by {@link #await()} only.
+         */
+        void settle() {
+            CompletableFuture<ByteBuffer> running = pending;
+            if (running != null) {
+                running.handle((r, e) -> null).join();
+                pending = null;
+                address = -1;
+            }
+        }
+    }
+}
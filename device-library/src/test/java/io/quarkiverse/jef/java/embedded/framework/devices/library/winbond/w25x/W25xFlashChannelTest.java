@@ -0,0 +1,98 @@
+package io.quarkiverse.jef.java.embedded.framework.devices.library.winbond.w25x;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.NonWritableChannelException;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.mook.IoctlMock;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.types.SpiIocTransfer;
+import io.quarkiverse.jef.java.embedded.framework.linux.spi.SpiBus;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class W25xFlashChannelTest {
+    // 128 KB chip
+    private static final int CAPACITY = 0x11;
+
+    @BeforeAll
+    void emulateChip() {
+        IoctlMock.setSpiHandler((transfers, count) -> {
+            for (int i = 0; i < count; i++) {
+                SpiIocTransfer transfer = transfers[i];
+                ByteBuffer tx = transfer.getTxBuffer();
+                ByteBuffer rx = transfer.getRxBuffer().duplicate();
+                if (!tx.hasRemaining()) {
+                    continue;
+                }
+                int p = tx.position();
+                switch (tx.get(p) & 0xFF) {
+                    case 0x9F:
+                        rx.put((byte) 0xEF).put((byte) 0x40).put((byte) CAPACITY);
+                        break;
+                    case 0x0B:
+                        int address = (tx.get(p + 1) & 0xFF) << 16 | (tx.get(p + 2) & 0xFF) << 8 | tx.get(p + 3) & 0xFF;
+                        while (rx.hasRemaining()) {
+                            rx.put(content(address++));
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        });
+    }
+
+    @AfterAll
+    void reset() {
+        IoctlMock.setSpiHandler(null);
+    }
+
+    @Test
+    void readWholeChip() throws IOException {
+        W25xFlash flash = new W25xFlash(SpiBus.create("dummypath"));
+        assertEquals(128 * 1024, flash.getSize());
+        assertEquals(flash.getSize(), flash.getAddressableSize());
+
+        try (W25xFlashChannel channel = flash.openChannel(1000)) {
+            ByteBuffer dst = ByteBuffer.allocate(777);
+            long address = 0;
+            int read;
+            while ((read = channel.read(dst.clear())) > 0) {
+                dst.flip();
+                for (int i = 0; i < read; i++) {
+                    assertEquals(content(address + i), dst.get(i), "address " + (address + i));
+                }
+                address += read;
+            }
+            assertEquals(flash.getSize(), address);
+            assertEquals(-1, channel.read(dst.clear()));
+        }
+    }
+
+    @Test
+    void seek() throws IOException {
+        W25xFlash flash = new W25xFlash(SpiBus.create("dummypath"));
+
+        try (W25xFlashChannel channel = flash.openChannel(64)) {
+            ByteBuffer dst = ByteBuffer.allocate(10);
+            channel.position(100_000).read(dst);
+            assertEquals(100_010, channel.position());
+            assertEquals(content(100_000), dst.get(0));
+
+            channel.position(5).read(dst.clear());
+            assertEquals(content(14), dst.get(9));
+
+            assertThrows(NonWritableChannelException.class, () -> channel.write(dst));
+        }
+    }
+
+    private static byte content(long address) {
+        return (byte) (address % 251);
+    }
+}
@@ -0,0 +1,66 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.core.jna;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.io.FileHandle;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.types.SpiIocTransfer;
+
+public class SpiTransferArenaTest {
+    @Test
+    void prepareAndComplete() {
+        FileHandle fd = new FileHandle(-1);
+        SpiTransferArena arena = SpiTransferArena.of(fd);
+        assertSame(arena, SpiTransferArena.of(fd));
+
+        ByteBuffer command = ByteBuffer.wrap(new byte[] { 1, 2, 3 });
+        ByteBuffer direct = ByteBuffer.allocateDirect(4);
+        ByteBuffer heap = ByteBuffer.allocate(2);
+
+        SpiIocTransfer first = new SpiIocTransfer().set(command, direct, 1_000_000, (byte) 8);
+        SpiIocTransfer second = new SpiIocTransfer().set(ByteBuffer.allocate(0), heap, 0, (byte) 0);
+        second.setCsChange((byte) 1);
+        second.setDelay((short) 7);
+        second.setRxNbits((byte) 2);
+
+        assertEquals(3, arena.prepare(new SpiIocTransfer[] { first, second }, 2));
+
+        Pointer transfers = new Pointer(arena.address());
+        // write-only part of first segment is staged
+        Pointer tx = new Pointer(transfers.getLong(0));
+        assertEquals(0, transfers.getLong(8));
+        assertEquals(3, transfers.getInt(16));
+        assertEquals(1_000_000, transfers.getInt(20));
+        assertEquals(0, transfers.getByte(27));
+        assertArrayEquals(new byte[] { 1, 2, 3 }, tx.getByteArray(0, 3));
+        assertEquals(0, Pointer.nativeValue(tx) % 4096);
+
+        // direct rx is passed by address
+        assertEquals(0, transfers.getLong(32));
+        assertEquals(Pointer.nativeValue(Native.getDirectBufferPointer(direct)), transfers.getLong(40));
+        assertEquals(4, transfers.getInt(48));
+
+        // segment parameters apply to the last part only
+        Pointer rx = new Pointer(transfers.getLong(64 + 8));
+        assertEquals(2, transfers.getInt(64 + 16));
+        assertEquals(7, transfers.getShort(64 + 24));
+        assertEquals(1, transfers.getByte(64 + 27));
+        assertEquals(2, transfers.getByte(64 + 29));
+
+        // emulate kernel
+        rx.setByte(0, (byte) 9);
+        rx.setByte(1, (byte) 8);
+        arena.complete(new SpiIocTransfer[] { first, second }, 2);
+
+        assertEquals(0, heap.position());
+        assertEquals(9, heap.get(0));
+        assertEquals(8, heap.get(1));
+        assertEquals(0, command.position());
+    }
+}
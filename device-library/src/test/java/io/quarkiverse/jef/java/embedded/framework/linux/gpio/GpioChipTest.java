@@ -0,0 +1,32 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class GpioChipTest {
+    @Test
+    void chipHoldsPinsAndLineInfo() throws Exception {
+        GpioChip chip = GpioManager.getChip("gpio-chip-test");
+        assertSame(chip, GpioManager.getChip("gpio-chip-test"));
+        GpioLineInfo cached = chip.getLineInfo(3);
+        assertSame(cached, chip.getLineInfo(3));
+
+        // new pin reads line information again
+        GpioPin pin = GpioManager.getPin("gpio-chip-test", 3);
+        assertNotSame(cached, chip.getLineInfo(3));
+        assertSame(pin, chip.getPin(3));
+        assertTrue(GpioManager.isUsed("gpio-chip-test", 3));
+        for (int i = 0; i < 10; i++) {
+            pin.setDirection(i % 2 == 0 ? GpioPin.Direction.OUTPUT : GpioPin.Direction.INPUT);
+        }
+        pin.close();
+        assertFalse(chip.isUsed(3));
+
+        GpioPin other = chip.getPin(4);
+        chip.close();
+        assertThrows(Exception.class, () -> other.setDirection(GpioPin.Direction.INPUT));
+        assertFalse(GpioManager.getChips().contains(chip));
+        assertNotSame(chip, GpioManager.getChip("gpio-chip-test"));
+    }
+}
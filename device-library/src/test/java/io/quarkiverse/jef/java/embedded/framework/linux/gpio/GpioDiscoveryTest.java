@@ -0,0 +1,59 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.mook.IoctlMock;
+
+public class GpioDiscoveryTest {
+    @AfterEach
+    void resetNames() {
+        IoctlMock.setGpioLineNames();
+    }
+
+    @Test
+    void linesAreFoundByName() throws Exception {
+        IoctlMock.setGpioLineNames("GPIO0", null, "RELAY_1", "", "GPIO17");
+        try (GpioDiscovery discovery = new GpioDiscovery(List.of("gpio-discovery-a", "gpio-discovery-b"))) {
+            GpioLineIndex index = discovery.getIndex();
+            assertSame(index, discovery.getIndex());
+            assertEquals(List.of("gpio-discovery-a", "gpio-discovery-b"), index.getChips());
+            assertEquals(3, index.getNames().size());
+
+            GpioLineIndex.Line relay = discovery.find("RELAY_1");
+            assertEquals("gpio-discovery-a", relay.getPath());
+            assertEquals(2, relay.getOffset());
+            assertNull(discovery.find("GPIO27"));
+
+            GpioPin pin = index.getPin("GPIO17");
+            assertSame(GpioManager.getPin("gpio-discovery-a", 4), pin);
+            assertThrows(IOException.class, () -> index.getPin("GPIO27"));
+            pin.close();
+
+            assertSame(index, discovery.refreshIfChanged());
+        }
+    }
+
+    @Test
+    void chipReplacedUnderSamePathIsOpenedAgain() throws Exception {
+        IoctlMock.setGpioLineNames("LED");
+        try (GpioDiscovery discovery = new GpioDiscovery(List.of("gpio-discovery-c"))) {
+            GpioLineIndex index = discovery.getIndex();
+            GpioChip chip = GpioManager.getChip("gpio-discovery-c");
+            assertSame(index, discovery.refreshIfChanged());
+
+            IoctlMock.setGpioLineNames("LED", "BUTTON");
+            GpioLineIndex refreshed = discovery.refreshIfChanged();
+            assertNotSame(index, refreshed);
+            assertEquals(index.getChips(), refreshed.getChips());
+            assertNotNull(refreshed.find("BUTTON"));
+            assertNotSame(chip, GpioManager.getChip("gpio-discovery-c"));
+            assertThrows(IOException.class, () -> chip.getPin(0));
+        }
+    }
+}
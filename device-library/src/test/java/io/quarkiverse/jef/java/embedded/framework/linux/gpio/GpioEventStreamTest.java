@@ -0,0 +1,93 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.mook.IoctlMock;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioPin.Edge;
+
+public class GpioEventStreamTest {
+    @Test
+    void streamReturnsKernelEvents() throws Exception {
+        GpioPin pin = GpioManager.getPin("gpio-events-test", 7);
+        try (GpioEventStream stream = pin.events(Edge.BOTH)) {
+            assertEquals(GpioPin.Direction.INPUT, pin.getDirection());
+            assertTrue(IoctlMock.emitGpioEvent(7, 1_000L, true));
+            assertTrue(IoctlMock.emitGpioEvent(7, 2_500L, false));
+
+            GpioEvent rising = stream.poll(5, TimeUnit.SECONDS);
+            assertEquals(Edge.RISING, rising.getEdge());
+            assertEquals(1_000L, rising.getTimestamp());
+            GpioEvent falling = stream.take();
+            assertEquals(Edge.FALLING, falling.getEdge());
+            assertEquals(2_500L, falling.getTimestamp());
+            assertNull(stream.poll(10, TimeUnit.MILLISECONDS));
+            assertEquals(2, stream.getReceived());
+        }
+        assertNull(pin.getDirection());
+        assertFalse(IoctlMock.emitGpioEvent(7, 3_000L, true));
+        pin.close();
+    }
+
+    @Test
+    void listenerReceivesEvents() throws Exception {
+        GpioPin pin = GpioManager.getPin("gpio-events-test", 8);
+        BlockingQueue<GpioEvent> received = new LinkedBlockingQueue<>();
+        GpioEventStream stream = pin.onEdge(Edge.RISING, received::add);
+        IoctlMock.emitGpioEvent(8, 42L, true);
+
+        GpioEvent event = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event);
+        assertEquals(42L, event.getTimestamp());
+
+        pin.setDirection(GpioPin.Direction.OUTPUT);
+        assertTrue(stream.isClosed());
+        pin.close();
+    }
+
+    @Test
+    void listenerIsNotifiedWhenLineIsRequestedAgain() throws Exception {
+        GpioPin pin = GpioManager.getPin("gpio-events-test", 9);
+        CountDownLatch closed = new CountDownLatch(1);
+        GpioEventStream first = pin.onEdge(Edge.RISING, new GpioEventListener() {
+            @Override
+            public void onEvent(GpioEvent event) {
+            }
+
+            @Override
+            public void onClose() {
+                closed.countDown();
+            }
+        });
+
+        try (GpioEventStream second = pin.events(Edge.FALLING)) {
+            assertTrue(first.isClosed());
+            assertTrue(closed.await(5, TimeUnit.SECONDS));
+            assertFalse(second.isClosed());
+        }
+        pin.close();
+    }
+
+    @Test
+    void streamClosedOnAnotherThreadReleasesLine() throws Exception {
+        GpioPin pin = GpioManager.getPin("gpio-events-test", 10);
+        GpioEventStream stream = pin.events(Edge.BOTH);
+        Thread closer = new Thread(stream::close);
+        closer.start();
+        closer.join(5_000);
+
+        assertNull(pin.getDirection());
+        assertFalse(IoctlMock.emitGpioEvent(10, 1_000L, true));
+        assertThrows(IOException.class, pin::readRaw);
+        pin.setDirection(GpioPin.Direction.OUTPUT);
+        pin.write(true);
+        pin.close();
+    }
+}
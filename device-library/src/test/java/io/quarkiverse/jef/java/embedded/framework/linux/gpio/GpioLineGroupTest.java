@@ -0,0 +1,32 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioPin.Direction;
+
+public class GpioLineGroupTest {
+    @Test
+    void linesAreWrittenAsBitmask() throws IOException {
+        int[] offsets = { 5, 6, 13, 19, 26, 16, 20, 21 };
+        try (GpioLineGroup group = new GpioLineGroup("gpio-group-test", offsets, Direction.OUTPUT, 0x81)) {
+            assertEquals(8, group.size());
+            assertEquals(0x81, group.read());
+
+            group.write(0x1A5);
+            assertEquals(0xA5, group.getValues());
+            assertEquals(0xA5, group.read());
+
+            group.write(0x0F, 0x00);
+            assertEquals(0xA0, group.read());
+
+            group.setDirection(Direction.INPUT);
+            assertThrows(IOException.class, () -> group.write(0xFF));
+            group.setDirection(Direction.OUTPUT);
+            assertEquals(0xA0, group.read());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioPin.Direction;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioPin.State;
+
+public class GpioMemoryTest {
+    @Test
+    void linesAreDrivenThroughRegisters() throws Exception {
+        Path file = Files.createTempFile("gpiomem", ".bin");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(GpioMemory.SIZE));
+            ByteBuffer registers = channel.map(FileChannel.MapMode.READ_WRITE, 0, GpioMemory.SIZE)
+                    .order(ByteOrder.nativeOrder());
+
+            GpioMemory memory = GpioMemory.open(file.toString());
+            assertSame(memory, GpioMemory.open(file.toString()));
+            GpioPin pin = memory.getPin(17);
+            assertSame(pin, memory.getPin(17));
+            assertEquals(Direction.INPUT, pin.getDirection());
+            assertThrows(IOException.class, () -> pin.write(true));
+
+            // GPFSEL1 bits 21..23 select function of line 17
+            registers.putInt(GpioMemory.GPFSEL0 + 4, 0b111 << 3);
+            pin.setDirection(Direction.OUTPUT);
+            assertEquals(0b001 << 21 | 0b111 << 3, registers.getInt(GpioMemory.GPFSEL0 + 4));
+            assertEquals(Direction.OUTPUT, pin.getDirection());
+
+            pin.write(true);
+            assertEquals(1 << 17, registers.getInt(GpioMemory.GPSET0));
+            pin.write(State.LOW);
+            assertEquals(1 << 17, registers.getInt(GpioMemory.GPCLR0));
+
+            registers.putInt(GpioMemory.GPSET0, 0);
+            pin.configure(new GpioLineSettings().setActiveLow(true));
+            pin.write(true);
+            assertEquals(0, registers.getInt(GpioMemory.GPSET0));
+            assertThrows(IOException.class,
+                    () -> pin.configure(new GpioLineSettings().setBias(GpioPin.Bias.PULL_UP)));
+            assertThrows(IOException.class, () -> pin.events(GpioPin.Edge.BOTH));
+
+            GpioPin high = memory.getPin(40);
+            registers.putInt(GpioMemory.GPLEV0 + 4, 1 << 8);
+            assertEquals(State.HIGH, high.read());
+            // active low line at low level
+            assertEquals(State.HIGH, pin.read());
+
+            pin.close();
+            assertThrows(IOException.class, () -> pin.write(false));
+            assertNotSame(pin, memory.getPin(17));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
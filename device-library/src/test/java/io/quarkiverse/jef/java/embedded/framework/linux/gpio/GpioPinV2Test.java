@@ -0,0 +1,98 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.jna.IoctlJna;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.mook.IoctlMock;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioPin.Bias;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioPin.Direction;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioPin.Edge;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioPin.State;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineConfig.Flags;
+
+public class GpioPinV2Test {
+    @BeforeEach
+    void enableV2() {
+        IoctlMock.setGpioV2Supported(true);
+    }
+
+    @AfterEach
+    void disableV2() {
+        IoctlMock.setGpioV2Supported(false);
+    }
+
+    @Test
+    void lineIsReconfiguredWithoutRelease() throws Exception {
+        GpioPin pin = GpioManager.getPin("gpio-v2-test", 21);
+        assertTrue(pin instanceof GpioPinV2Impl);
+        pin.setDirection(Direction.OUTPUT);
+        int requests = IoctlMock.getGpioV2Requests();
+        pin.write(true);
+
+        pin.configure(new GpioLineSettings().setBias(Bias.PULL_UP).setDebouncePeriod(5, TimeUnit.MILLISECONDS));
+        pin.setDirection(Direction.INPUT);
+        assertEquals(State.HIGH, pin.read());
+        assertTrue(pin.readRaw());
+        GpioV2LineConfig config = IoctlMock.getGpioV2Config(21);
+        assertEquals(Flags.GPIO_V2_LINE_FLAG_INPUT.getValue() | Flags.GPIO_V2_LINE_FLAG_BIAS_PULL_UP.getValue(),
+                config.getFlags());
+        assertEquals(5000, config.getAttribute(GpioV2LineConfig.GPIO_V2_LINE_ATTR_ID_DEBOUNCE, 0, 0));
+
+        pin.setDirection(Direction.OUTPUT);
+        config = IoctlMock.getGpioV2Config(21);
+        assertEquals(1, config.getAttribute(GpioV2LineConfig.GPIO_V2_LINE_ATTR_ID_OUTPUT_VALUES, 0, 0));
+        assertEquals(requests, IoctlMock.getGpioV2Requests());
+        pin.close();
+    }
+
+    @Test
+    void eventsUseLineDescriptor() throws Exception {
+        GpioPin pin = GpioManager.getPin("gpio-v2-test", 22);
+        pin.setDirection(Direction.INPUT);
+        int requests = IoctlMock.getGpioV2Requests();
+        try (GpioEventStream stream = pin.events(Edge.RISING)) {
+            assertFalse(IoctlMock.emitGpioEvent(22, 10L, false));
+            assertTrue(IoctlMock.emitGpioEvent(22, 20L, true));
+            GpioEvent event = stream.poll(5, TimeUnit.SECONDS);
+            assertEquals(Edge.RISING, event.getEdge());
+            assertEquals(20L, event.getTimestamp());
+        }
+        assertEquals(Direction.INPUT, pin.getDirection());
+        assertEquals(Flags.GPIO_V2_LINE_FLAG_INPUT.getValue(), IoctlMock.getGpioV2Config(22).getFlags());
+        assertEquals(requests, IoctlMock.getGpioV2Requests());
+        pin.close();
+    }
+
+    @Test
+    void streamClosedOnAnotherThreadDoesNotMixConfig() throws Exception {
+        GpioPin pin = GpioManager.getPin("gpio-v2-test", 23);
+        GpioLineSettings pullUp = new GpioLineSettings().setBias(Bias.PULL_UP);
+        for (int i = 0; i < 50; i++) {
+            pin.configure(new GpioLineSettings());
+            GpioEventStream stream = pin.events(Edge.BOTH);
+            Thread closer = new Thread(stream::close);
+            closer.start();
+            pin.configure(pullUp);
+            closer.join(5_000);
+
+            assertEquals(Direction.INPUT, pin.getDirection());
+            assertEquals(Flags.GPIO_V2_LINE_FLAG_INPUT.getValue() | Flags.GPIO_V2_LINE_FLAG_BIAS_PULL_UP.getValue(),
+                    IoctlMock.getGpioV2Config(23).getFlags());
+        }
+        pin.close();
+    }
+
+    @Test
+    void structuresMatchKernelLayout() {
+        assertEquals(592, new IoctlJna.gpio_v2_line_request().size());
+        assertEquals(272, new IoctlJna.gpio_v2_line_config().size());
+        assertEquals(256, new IoctlJna.gpio_v2_line_info().size());
+        assertEquals(16, new IoctlJna.gpio_v2_line_values().size());
+    }
+}
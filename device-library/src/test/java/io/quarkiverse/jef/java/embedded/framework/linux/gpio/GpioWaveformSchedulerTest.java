@@ -0,0 +1,41 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioPin.Direction;
+
+public class GpioWaveformSchedulerTest {
+    @Test
+    void pulseTrainsAreMergedIntoOneTimeline() throws Exception {
+        try (GpioLineGroup group = new GpioLineGroup("gpio-waveform-test", Direction.OUTPUT, 3, 4)) {
+            GpioWaveformScheduler scheduler = new GpioWaveformScheduler(group);
+            assertThrows(IllegalStateException.class, () -> scheduler.getChannel(0).start());
+            assertThrows(IllegalArgumentException.class, () -> scheduler.getChannel(0).setDuty(1.5));
+
+            scheduler.getChannel(0).setPeriod(100, TimeUnit.MICROSECONDS).setDuty(0.5);
+            scheduler.getChannel(1).setPeriod(200, TimeUnit.MICROSECONDS).setDuty(0.25);
+            scheduler.getChannel(0).pulses(4);
+            scheduler.getChannel(1).pulses(2);
+            scheduler.start();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (scheduler.getStatistics().getCount() < 8 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            scheduler.stop();
+
+            // channels start in phase, both rising edges of second channel share write with first one
+            GpioWaveformScheduler.Statistics statistics = scheduler.getStatistics();
+            assertEquals(8, statistics.getCount(), statistics.toString());
+            assertTrue(statistics.getMin() >= 0, statistics.toString());
+            assertTrue(statistics.getMax() >= statistics.getMin(), statistics.toString());
+            assertEquals(0, group.getValues());
+            assertFalse(scheduler.getChannel(0).isActive());
+            scheduler.close();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.i2c;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+public class CachedSMBusTest {
+    @Test
+    void cacheableRegisters() throws IOException {
+        CachedSMBus cache = new CachedSMBus(I2CBus.create("dummypath").select(0x76).getSmBus())
+                .cacheable(0xF4, 0xF5);
+
+        cache.writeByteData(0xF4, 0x27);
+        assertEquals(0x27, cache.readByteData(0xF4));
+        assertEquals(0x27, cache.readByteData(0xF4));
+        assertEquals(2, cache.getHits());
+        assertEquals(0, cache.getMisses());
+
+        // volatile register is not counted
+        cache.readByteData(0xF3);
+        assertEquals(2, cache.getHits());
+        assertEquals(0, cache.getMisses());
+
+        // block is served from cache only when every register is known
+        cache.readI2CBlockData(0xF4, 2);
+        assertEquals(1, cache.getMisses());
+        cache.writeI2CBlockData(0xF4, ByteBuffer.wrap(new byte[] { 0x11, 0x22 }));
+        ByteBuffer block = cache.readI2CBlockData(0xF4, 2);
+        assertEquals(0x11, block.get(0));
+        assertEquals(0x22, block.get(1));
+        assertEquals(3, cache.getHits());
+        assertEquals((short) 0x2211, cache.readWordData(0xF4));
+
+        cache.invalidate();
+        cache.readByteData(0xF5);
+        assertEquals(2, cache.getMisses());
+
+        cache.resetStatistics();
+        assertEquals(0, cache.getHits());
+    }
+}
@@ -0,0 +1,101 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.i2c;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+public class I2CBusExecutorTest {
+    @Test
+    void criticalRequestsOvertakeBulkReads() throws IOException, InterruptedException, ExecutionException {
+        I2CBus bus = I2CBus.create("executor-test");
+        I2CInterface sensor = bus.select(0x76);
+        I2CInterface heater = bus.select(0x40);
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (I2CBusExecutor executor = new I2CBusExecutor(bus, 16)) {
+            CompletableFuture<Void> blocker = executor.submit(sensor, I2CPriority.NORMAL, iface -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                return null;
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            CompletableFuture<Integer> first = executor.readByteData(sensor, 0xF7, I2CPriority.BULK);
+            CompletableFuture<Integer> second = executor.readByteData(sensor, 0xF7, I2CPriority.BULK);
+            CompletableFuture<String> bulk = executor.submit(sensor, I2CPriority.BULK, iface -> record(order, "bulk"));
+            CompletableFuture<String> expired = executor.submit(sensor, I2CPriority.NORMAL, 1, TimeUnit.NANOSECONDS,
+                    iface -> record(order, "expired"));
+            CompletableFuture<String> critical = executor.submit(heater, I2CPriority.CRITICAL,
+                    iface -> record(order, "critical"));
+            assertEquals(4, executor.getQueueSize());
+            assertEquals(1, executor.getCoalesced());
+
+            release.countDown();
+            blocker.get();
+            critical.get();
+            bulk.get();
+            assertEquals(first.get(), second.get());
+            ExecutionException e = assertThrows(ExecutionException.class, expired::get);
+            assertTrue(e.getCause() instanceof TimeoutException);
+
+            assertEquals(List.of("critical", "bulk"), order);
+            assertEquals(1, executor.getDeadlineMisses());
+            assertEquals(1, executor.getExecuted(I2CPriority.CRITICAL));
+            assertEquals(2, executor.getExecuted(I2CPriority.BULK));
+            assertTrue(executor.getMaxWaitTime(I2CPriority.BULK, TimeUnit.NANOSECONDS) > 0);
+        }
+    }
+
+    @Test
+    void readsAreNotCoalescedOverWrite() throws Exception {
+        I2CBus bus = I2CBus.create("executor-write-test");
+        I2CInterface sensor = bus.select(0x76);
+        CountDownLatch release = new CountDownLatch(1);
+
+        I2CBusExecutor executor = new I2CBusExecutor(bus, 16);
+        CompletableFuture<Void> blocker = executor.submit(sensor, I2CPriority.NORMAL, iface -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+            return null;
+        });
+        CompletableFuture<Integer> before = executor.readByteData(sensor, 0xF4, I2CPriority.BULK);
+        CompletableFuture<Void> write = executor.writeByteData(sensor, 0xF4, 0x27, I2CPriority.BULK);
+        CompletableFuture<Integer> after = executor.readByteData(sensor, 0xF4, I2CPriority.BULK);
+        assertEquals(0, executor.getCoalesced());
+
+        executor.close();
+        release.countDown();
+        for (CompletableFuture<?> future : List.of(before, write, after)) {
+            ExecutionException e = assertThrows(ExecutionException.class, future::get);
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+        assertEquals(0, executor.getQueueSize());
+        assertTrue(executor.submit(sensor, I2CPriority.NORMAL, iface -> null).isCompletedExceptionally());
+        blocker.handle((r, e) -> null).get(5, TimeUnit.SECONDS);
+    }
+
+    private static String record(List<String> order, String name) {
+        order.add(name);
+        return name;
+    }
+}
@@ -0,0 +1,30 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.i2c;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+public class I2CBusRegistryTest {
+    @Test
+    void sharedBusSkipsRedundantSelects() throws IOException {
+        I2CBus bus = I2CBus.shared("registry-test");
+        assertSame(bus, I2CBusRegistry.get("./registry-test"));
+        assertNotSame(bus, I2CBus.create("registry-test"));
+        assertTrue(I2CBusRegistry.getBuses().contains(bus));
+
+        SMBus sensor = bus.select(0x76).getSmBus();
+        SMBus display = I2CBus.shared("registry-test").select(0x3C).getSmBus();
+
+        sensor.readByteData(0xD0);
+        sensor.readByteData(0xF3);
+        assertEquals(1, bus.getIssuedSelects());
+        assertEquals(1, bus.getSkippedSelects());
+
+        display.writeByteData(0x00, 0xAF);
+        sensor.readByteData(0xF3);
+        assertEquals(3, bus.getIssuedSelects());
+        assertEquals(1, bus.getSkippedSelects());
+    }
+}
@@ -0,0 +1,51 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.i2c;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.mook.IoctlMock;
+import io.quarkiverse.jef.java.embedded.framework.linux.i2c.I2CBus.Status;
+
+public class I2CDiscoveryTest {
+    @AfterEach
+    void reset() {
+        IoctlMock.setI2CFunctionality(0);
+    }
+
+    @Test
+    void topologyIsCachedBetweenStarts() throws IOException {
+        IoctlMock.setI2CFunctionality(I2CFunctionality.I2C_FUNC_SMBUS_QUICK.getValue());
+        Path cache = Files.createTempFile("i2c-topology", ".txt");
+        Files.delete(cache);
+        List<String> paths = List.of("discovery-a", "discovery-b");
+        try {
+            I2CTopology topology = new I2CDiscovery(paths, cache).scan(0x48, 0x52);
+            assertEquals(Status.AVAILABLE, topology.getStatus("discovery-a", 0x48));
+            assertEquals(Status.SKIP, topology.getStatus("discovery-b", 0x50));
+            assertNull(topology.getStatus("discovery-b", 0x53));
+            assertEquals(List.of(0x48, 0x49, 0x4A, 0x4B, 0x4C, 0x4D, 0x4E, 0x4F), topology.getDevices("discovery-a"));
+            assertTrue(Files.exists(cache));
+
+            I2CBus bus = I2CBus.shared("discovery-a");
+            long selects = bus.getIssuedSelects();
+            I2CDiscovery restarted = new I2CDiscovery(paths, cache);
+            assertEquals(topology.getDevices("discovery-b"), restarted.getTopology().getDevices("discovery-b"));
+            assertEquals(selects, bus.getIssuedSelects());
+
+            I2CTopology refreshed = restarted.refresh("discovery-a", 0x60);
+            assertTrue(refreshed.isPresent("discovery-a", 0x60));
+            assertFalse(refreshed.isPresent("discovery-b", 0x60));
+            assertEquals(selects + 1, bus.getIssuedSelects());
+            assertTrue(I2CTopology.load(cache).isPresent("discovery-a", 0x60));
+        } finally {
+            Files.deleteIfExists(cache);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.i2c;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.mook.IoctlMock;
+
+public class I2CInterfaceTest {
+    private static final int ITERATIONS = 20_000;
+
+    @AfterEach
+    void removeHandler() {
+        IoctlMock.setI2CHandler(null);
+        IoctlMock.setI2CFunctionality(0);
+    }
+
+    @Test
+    void writeRead() throws NativeIOException {
+        AtomicInteger transactions = new AtomicInteger();
+        IoctlMock.setI2CHandler((messages, count) -> {
+            transactions.incrementAndGet();
+            assertEquals(2, count);
+            assertEquals(0x76, messages[0].getAddress());
+            assertFalse(messages[0].isRead());
+            assertEquals((byte) 0xF7, messages[0].getBuffer().get(messages[0].getBuffer().position()));
+            assertTrue(messages[1].isRead());
+            ByteBuffer rx = messages[1].getBuffer();
+            for (int i = rx.position(); i < rx.limit(); i++) {
+                rx.put(i, (byte) i);
+            }
+        });
+
+        I2CInterface iface = I2CBus.create("dummypath").select(0x76);
+        ByteBuffer tx = ByteBuffer.wrap(new byte[] { (byte) 0xF7 });
+        ByteBuffer rx = ByteBuffer.allocate(6);
+        iface.writeRead(tx, rx);
+
+        assertEquals(1, transactions.get());
+        assertFalse(tx.hasRemaining());
+        assertFalse(rx.hasRemaining());
+        assertArrayEquals(new byte[] { 0, 1, 2, 3, 4, 5 }, rx.array());
+    }
+
+    @Test
+    void transferUsesInterfaceAddress() throws NativeIOException {
+        IoctlMock.setI2CHandler((messages, count) -> {
+            for (int i = 0; i < count; i++) {
+                assertEquals(0x50, messages[i].getAddress());
+            }
+        });
+
+        I2CInterface iface = I2CBus.create("dummypath").select(0x50);
+        iface.transfer(I2CMessage.write(0, ByteBuffer.allocate(2)), I2CMessage.read(0, ByteBuffer.allocate(16)));
+
+        assertThrows(IllegalArgumentException.class, iface::transfer);
+        assertThrows(IllegalArgumentException.class,
+                () -> iface.transfer(I2CMessage.read(0, ByteBuffer.allocate(I2CMessage.MAX_LENGTH + 1))));
+    }
+
+    @Test
+    void i2cBlockData() throws IOException {
+        SMBus smBus = I2CBus.create("dummypath").select(0x76).getSmBus();
+        assertEquals(6, smBus.readI2CBlockData(0xF7, 6).remaining());
+
+        assertThrows(IllegalArgumentException.class, () -> smBus.readI2CBlockData(0x88, 33));
+        assertThrows(IllegalArgumentException.class, () -> smBus.writeI2CBlockData(0x88, ByteBuffer.allocate(0)));
+
+        ByteBuffer data = ByteBuffer.wrap(new byte[] { 1, 2, 3 });
+        smBus.writeI2CBlockData(0xF4, data);
+        assertEquals(0, data.position());
+    }
+
+    @Test
+    void batchIsMergedIntoOneTransaction() throws IOException {
+        byte[] registers = new byte[256];
+        AtomicInteger transactions = new AtomicInteger();
+        IoctlMock.setI2CFunctionality(I2CFunctionality.I2C_FUNC_I2C.getValue());
+        IoctlMock.setI2CHandler((messages, count) -> {
+            transactions.incrementAndGet();
+            int pointer = 0;
+            for (int i = 0; i < count; i++) {
+                ByteBuffer buffer = messages[i].getBuffer();
+                if (messages[i].isRead()) {
+                    for (int j = buffer.position(); j < buffer.limit(); j++) {
+                        buffer.put(j, registers[pointer++]);
+                    }
+                } else {
+                    pointer = buffer.get(buffer.position()) & 0xFF;
+                    for (int j = buffer.position() + 1; j < buffer.limit(); j++) {
+                        registers[pointer++] = buffer.get(j);
+                    }
+                }
+            }
+        });
+
+        I2CInterface iface = I2CBus.create("dummypath").select(0x76);
+        I2CBatch batch = new I2CBatch();
+        iface.batch(batch, ops -> ops
+                .writeByteData(0xF4, 0x27)
+                .writeWordData(0x10, 0xBEEF)
+                .readByteData(0xF4)
+                .readWordData(0x10)
+                .readBlock(0x10, 3));
+
+        assertEquals(1, transactions.get());
+        assertEquals(5, batch.size());
+        assertEquals(0x27, batch.getByte(2));
+        assertEquals((short) 0xBEEF, batch.getWord(3));
+        ByteBuffer block = batch.getBlock(4);
+        assertEquals(3, block.remaining());
+        assertEquals((byte) 0xEF, block.get(0));
+        assertEquals((byte) 0xBE, block.get(1));
+        assertThrows(IllegalArgumentException.class, () -> batch.getByte(0));
+
+        // reused batch is split by message limit of I2C_RDWR
+        transactions.set(0);
+        iface.batch(batch, ops -> {
+            for (int i = 0; i < 30; i++) {
+                ops.readByteData(0xF4);
+            }
+        });
+        assertEquals(2, transactions.get());
+        assertEquals(0x27, batch.getByte(29));
+    }
+
+    @Test
+    void batchFallsBackToSmBus() throws IOException {
+        I2CInterface iface = I2CBus.create("dummypath").select(0x76);
+        I2CBatch batch = iface.batch(ops -> ops.writeByteData(0xF4, 0x27).readBlock(0xF7, 6));
+        assertEquals(2, batch.size());
+        assertEquals(6, batch.getBlock(1).remaining());
+    }
+
+    @Test
+    void readByteDataDoesNotAllocate() throws IOException {
+        SMBus smBus = I2CBus.create("dummypath").select(0x76).getSmBus();
+        for (int i = 0; i < ITERATIONS; i++) {
+            smBus.readByteData(0xD0);
+        }
+
+        long before = allocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            smBus.readByteData(0xD0);
+        }
+        long allocated = allocatedBytes() - before;
+
+        assertTrue(allocated < ITERATIONS, "readByteData allocated " + allocated + " bytes in " + ITERATIONS + " calls");
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,295 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.spi;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.mook.IoctlMock;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.types.SpiIocTransfer;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SpiBusTest {
+    private static final int ITERATIONS = 20_000;
+
+    @Test
+    void transferMovesPositions() throws NativeIOException {
+        SpiBus bus = getBus();
+        ByteBuffer tx = ByteBuffer.allocateDirect(4);
+        ByteBuffer rx = ByteBuffer.allocateDirect(8);
+        bus.transfer(tx, rx);
+        assertFalse(tx.hasRemaining());
+        assertFalse(rx.hasRemaining());
+    }
+
+    @Test
+    void transaction() throws NativeIOException {
+        SpiBus bus = getBus();
+        ByteBuffer command = ByteBuffer.allocateDirect(4);
+        ByteBuffer response = ByteBuffer.allocateDirect(256);
+        SpiTransaction transaction = SpiTransaction.create()
+                .write(command).csChange(false)
+                .read(response).speed(20_000_000).delay(10).bitsPerWord(8);
+        assertEquals(2, transaction.size());
+
+        bus.transfer(transaction);
+        assertFalse(command.hasRemaining());
+        assertFalse(response.hasRemaining());
+
+        assertEquals(0, transaction.clear().size());
+        assertThrows(IllegalStateException.class, () -> transaction.speed(1));
+    }
+
+    @Test
+    void executor() throws Exception {
+        try (SpiBusExecutor executor = new SpiBusExecutor(getBus(), 64, 8)) {
+            List<CompletableFuture<ByteBuffer>> futures = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                futures.add(executor.submit(ByteBuffer.allocateDirect(1), 4));
+            }
+            for (CompletableFuture<ByteBuffer> future : futures) {
+                assertEquals(4, future.get(5, TimeUnit.SECONDS).remaining());
+            }
+        }
+    }
+
+    @Test
+    void closedExecutorRejects() throws Exception {
+        SpiBusExecutor executor = new SpiBusExecutor(getBus(), 1, 1);
+        executor.close();
+        CompletableFuture<ByteBuffer> future = executor.submit(ByteBuffer.allocateDirect(1), 1);
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+    }
+
+    @Test
+    void deviceProfile() throws NativeIOException {
+        SpiBus bus = getBus();
+        SpiDevice device = new SpiDevice(bus, 1_000_000, SpiMode.SPI_MODE_3, 8);
+        SpiTransaction transaction = SpiTransaction.create()
+                .write(ByteBuffer.allocateDirect(1))
+                .read(ByteBuffer.allocateDirect(1)).speed(2_000_000);
+
+        List<int[]> sent = new ArrayList<>();
+        IoctlMock.setSpiHandler((transfers, count) -> {
+            for (int i = 0; i < count; i++) {
+                sent.add(new int[] { transfers[i].getSpeed(), transfers[i].getBitsPerWord() });
+            }
+        });
+        try {
+            device.transfer(transaction);
+        } finally {
+            IoctlMock.setSpiHandler(null);
+        }
+
+        assertArrayEquals(new int[] { 1_000_000, 8 }, sent.get(0));
+        assertArrayEquals(new int[] { 2_000_000, 8 }, sent.get(1));
+        // profile is not left in transaction
+        assertEquals(0, transaction.getSegments()[0].getSpeed());
+        assertEquals(0, transaction.getSegments()[0].getBitsPerWord());
+        assertEquals(2_000_000, transaction.getSegments()[1].getSpeed());
+        assertEquals(SpiMode.SPI_MODE_3, bus.getClockMode());
+
+        device.setClockFrequency(500_000);
+        assertEquals(500_000, device.getClockFrequency());
+        assertNotEquals(500_000, bus.getClockFrequency());
+    }
+
+    @Test
+    void readArray() throws NativeIOException {
+        SpiBus bus = getBus();
+        ByteBuffer result = bus.readArray(SpiInputParams.allocate(1).put((byte) 0x9F), 3);
+        assertEquals(0, result.position());
+        assertEquals(3, result.remaining());
+    }
+
+    @Test
+    void splitLargeTransfer() throws NativeIOException {
+        SpiBusImpl bus = new SpiBusImpl("dummypath");
+        bus.setMaxTransferSize(16);
+        List<int[]> messages = new ArrayList<>();
+        IoctlMock.setSpiHandler((transfers, count) -> {
+            int[] message = new int[count * 2];
+            for (int i = 0; i < count; i++) {
+                SpiIocTransfer transfer = transfers[i];
+                message[i * 2] = transfer.getLength();
+                message[i * 2 + 1] = transfer.getCsChange();
+                ByteBuffer rx = transfer.getRxBuffer().duplicate();
+                while (rx.hasRemaining()) {
+                    rx.put((byte) messages.size());
+                }
+            }
+            messages.add(message);
+        });
+        try {
+            ByteBuffer tx = ByteBuffer.allocateDirect(4);
+            ByteBuffer rx = ByteBuffer.allocateDirect(40);
+            bus.transfer(tx, rx);
+
+            assertFalse(tx.hasRemaining());
+            assertFalse(rx.hasRemaining());
+            assertEquals(3, messages.size());
+            // chip select is kept between messages and released after the last one
+            assertArrayEquals(new int[] { 16, 1 }, messages.get(0));
+            assertArrayEquals(new int[] { 16, 1 }, messages.get(1));
+            assertArrayEquals(new int[] { 12, 0 }, messages.get(2));
+            assertEquals(0, rx.get(11));
+            assertEquals(1, rx.get(12));
+            assertEquals(2, rx.get(39));
+
+            messages.clear();
+            ByteBuffer first = ByteBuffer.allocateDirect(10);
+            ByteBuffer second = ByteBuffer.allocateDirect(10);
+            bus.transfer(SpiTransaction.create().read(first).csChange(true).read(second));
+            assertEquals(2, messages.size());
+            // explicit chip select toggle between segments survives message boundary
+            assertArrayEquals(new int[] { 10, 0 }, messages.get(0));
+            assertArrayEquals(new int[] { 10, 0 }, messages.get(1));
+        } finally {
+            IoctlMock.setSpiHandler(null);
+        }
+    }
+
+    @Test
+    void modeFlags() throws NativeIOException {
+        IoctlMock.setSpiMode(0);
+        try {
+            SpiBus bus = getBus();
+            bus.setClockMode(SpiMode.SPI_MODE_0);
+            bus.setModeFlags(EnumSet.of(SpiModeFlag.SPI_TX_DUAL, SpiModeFlag.SPI_RX_QUAD));
+            assertEquals(0x100 | 0x800, IoctlMock.getSpiMode());
+
+            // clock mode change should not drop extended flags
+            bus.setClockMode(SpiMode.SPI_MODE_3);
+            assertEquals(0x100 | 0x800 | 0x03, IoctlMock.getSpiMode());
+
+            assertEquals(EnumSet.of(SpiModeFlag.SPI_TX_DUAL, SpiModeFlag.SPI_RX_QUAD), getBus().getModeFlags());
+        } finally {
+            IoctlMock.setSpiMode(0);
+        }
+    }
+
+    @Test
+    void segmentWidth() throws NativeIOException {
+        List<Integer> widths = new ArrayList<>();
+        IoctlMock.setSpiHandler((transfers, count) -> {
+            for (int i = 0; i < count; i++) {
+                widths.add(transfers[i].getTxNbits() << 4 | transfers[i].getRxNbits());
+            }
+        });
+        try {
+            SpiTransaction transaction = SpiTransaction.create()
+                    .write(ByteBuffer.allocateDirect(5))
+                    .read(ByteBuffer.allocateDirect(64)).rxNbits(4);
+            getBus().transfer(transaction);
+            assertEquals(List.of(0, 4), widths);
+
+            // widths are reset for reused segments
+            widths.clear();
+            getBus().transfer(transaction.clear().read(ByteBuffer.allocateDirect(1)).txNbits(2));
+            assertEquals(List.of(2 << 4), widths);
+
+            assertThrows(IllegalArgumentException.class, () -> transaction.rxNbits(3));
+        } finally {
+            IoctlMock.setSpiHandler(null);
+        }
+    }
+
+    @Test
+    void session() throws Exception {
+        SpiBus bus = getBus();
+        SpiBusLock lock = bus.getLock();
+        lock.resetStatistics();
+        ByteBuffer tx = ByteBuffer.allocateDirect(1);
+
+        CompletableFuture<Void> other;
+        try (SpiBusSession session = bus.acquire()) {
+            session.transfer(tx.clear(), ByteBuffer.allocateDirect(2));
+            other = CompletableFuture.runAsync(() -> {
+                try {
+                    bus.transfer(ByteBuffer.allocateDirect(1), ByteBuffer.allocateDirect(1));
+                } catch (NativeIOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            assertThrows(TimeoutException.class, () -> other.get(100, TimeUnit.MILLISECONDS));
+            session.transfer(SpiTransaction.create().write(tx.clear()));
+        }
+        other.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, lock.getContentions());
+        assertTrue(lock.getContentionTime(TimeUnit.MILLISECONDS) >= 50, lock.toString());
+        assertEquals(lock.getContentionTime(TimeUnit.NANOSECONDS), lock.getMaxContentionTime(TimeUnit.NANOSECONDS));
+
+        SpiBusSession closed = bus.acquire();
+        closed.close();
+        assertThrows(IllegalStateException.class, () -> closed.transfer(tx.clear(), tx));
+    }
+
+    @Test
+    void transferDoesNotAllocate() throws NativeIOException {
+        SpiBus bus = getBus();
+        ByteBuffer tx = ByteBuffer.allocateDirect(4);
+        ByteBuffer rx = ByteBuffer.allocateDirect(16);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            tx.clear();
+            rx.clear();
+            bus.transfer(tx, rx);
+        }
+
+        long before = allocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            tx.clear();
+            rx.clear();
+            bus.transfer(tx, rx);
+        }
+        long allocated = allocatedBytes() - before;
+
+        assertTrue(allocated < ITERATIONS, "transfer allocated " + allocated + " bytes in " + ITERATIONS + " calls");
+    }
+
+    @Test
+    void readByteDataDoesNotAllocate() throws IOException {
+        SpiBus bus = getBus();
+        SpiInputParams params = SpiInputParams.allocate(1).put((byte) 0x05);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            bus.readByteData(params);
+        }
+
+        long before = allocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            bus.readByteData(params);
+        }
+        long allocated = allocatedBytes() - before;
+
+        assertTrue(allocated < ITERATIONS, "readByteData allocated " + allocated + " bytes in " + ITERATIONS + " calls");
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private SpiBus getBus() throws NativeIOException {
+        return SpiBus.create("dummypath");
+    }
+}
@@ -18,6 +18,10 @@ public abstract class Fcntl implements FeatureSupport {
     public static int F_GETLK = 5;
     public static int F_SETLK = 6;
     public static int F_SETLKW = 7;
+    public static final int POLLIN = 0x001; /* there is data to read */
+    public static final int POLLPRI = 0x002; /* there is urgent data to read */
+    public static final int POLLERR = 0x008; /* error condition */
+    public static final int POLLHUP = 0x010; /* hung up */
 
     protected static int IOFlagsMask(EnumSet<IOFlags> flags) {
         int result = 0;
@@ -61,6 +65,17 @@ public abstract class Fcntl implements FeatureSupport {
 
     public abstract int fcntl(FileHandle fd, int cmd, EnumSet<IOFlags> flags) throws NativeIOException;
 
+    /**
+     * Waits for events on single descriptor
+     *
+     * @param fd file handle
+     * @param events requested {@code POLL*} events
+     * @param timeout timeout in milliseconds, negative value waits infinitely
+     * @return returned events or {@code 0} on timeout
+     * @throws NativeIOException if poll returns error
+     */
+    public abstract int poll(FileHandle fd, int events, int timeout) throws NativeIOException;
+
     public enum Whence {
         SEEK_SET(0),
         SEEK_CUR(1),
@@ -9,9 +9,15 @@ import io.quarkiverse.jef.java.embedded.framework.linux.core.types.LongReference
 import io.quarkiverse.jef.java.embedded.framework.linux.core.types.SmbusIoctlData;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.types.SpiIocTransfer;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioChipInfo;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioEventRequest;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioHandleData;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioHandleRequest;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioLineInfo;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineConfig;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineInfo;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineRequest;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineValues;
+import io.quarkiverse.jef.java.embedded.framework.linux.i2c.I2CMessage;
 
 @SuppressWarnings("unused")
 public abstract class Ioctl extends IoctlBase implements FeatureSupport {
@@ -45,11 +51,62 @@ public abstract class Ioctl extends IoctlBase implements FeatureSupport {
 
     public abstract int ioctl(FileHandle fd, SpiIocTransfer ptr) throws NativeIOException;
 
+    /**
+     * Submits first {@code count} transfers as single {@code SPI_IOC_MESSAGE(count)} request
+     *
+     * @param fd SPI bus handle
+     * @param transfers transfer segments
+     * @param count amount of segments to submit
+     * @return ioctl result
+     * @throws NativeIOException if SPI bus discard request
+     */
+    public abstract int ioctl(FileHandle fd, SpiIocTransfer[] transfers, int count) throws NativeIOException;
+
+    /**
+     * Submits first {@code count} messages as single {@code I2C_RDWR} request
+     *
+     * @param fd I2C bus handle
+     * @param messages combined transaction segments
+     * @param count amount of messages to submit
+     * @return ioctl result
+     * @throws NativeIOException if I2C bus reject request
+     */
+    public abstract int ioctl(FileHandle fd, I2CMessage[] messages, int count) throws NativeIOException;
+
     public abstract int ioctl(FileHandle handle, long command, GpioHandleRequest request) throws NativeIOException;
 
+    public abstract int ioctl(FileHandle handle, long command, GpioEventRequest request) throws NativeIOException;
+
     public abstract int ioctl(FileHandle handle, long command, GpioChipInfo info) throws NativeIOException;
 
     public abstract int ioctl(FileHandle handle, long command, GpioLineInfo line) throws NativeIOException;
 
     public abstract int ioctl(int fd, long command, GpioHandleData data) throws NativeIOException;
+
+    public abstract int ioctl(FileHandle handle, long command, GpioV2LineInfo line) throws NativeIOException;
+
+    public abstract int ioctl(FileHandle handle, long command, GpioV2LineRequest request) throws NativeIOException;
+
+    /**
+     * Changes configuration of requested lines ({@code GPIO_V2_LINE_SET_CONFIG_IOCTL})
+     *
+     * @param fd line descriptor returned by {@code GPIO_V2_GET_LINE_IOCTL}
+     * @param command ioctl command
+     * @param config new configuration
+     * @return ioctl result
+     * @throws NativeIOException if kernel rejects configuration
+     */
+    public abstract int ioctl(int fd, long command, GpioV2LineConfig config) throws NativeIOException;
+
+    /**
+     * Reads or writes values of requested lines ({@code GPIO_V2_LINE_GET_VALUES_IOCTL},
+     * {@code GPIO_V2_LINE_SET_VALUES_IOCTL})
+     *
+     * @param fd line descriptor returned by {@code GPIO_V2_GET_LINE_IOCTL}
+     * @param command ioctl command
+     * @param values line values and mask of lines
+     * @return ioctl result
+     * @throws NativeIOException if lines can't be read or written
+     */
+    public abstract int ioctl(int fd, long command, GpioV2LineValues values) throws NativeIOException;
 }
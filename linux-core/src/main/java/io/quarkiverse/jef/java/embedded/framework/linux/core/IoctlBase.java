@@ -24,6 +24,12 @@ public abstract class IoctlBase {
     private static long GPIOHANDLE_GET_LINE_VALUES_IOCTL;
     private static long GPIOHANDLE_SET_LINE_VALUES_IOCTL;
 
+    private static long GPIO_V2_GET_LINEINFO_IOCTL;
+    private static long GPIO_V2_GET_LINE_IOCTL;
+    private static long GPIO_V2_LINE_SET_CONFIG_IOCTL;
+    private static long GPIO_V2_LINE_GET_VALUES_IOCTL;
+    private static long GPIO_V2_LINE_SET_VALUES_IOCTL;
+
     public static long getGpioGetChipInfoIoctl() {
         return GPIO_GET_CHIPINFO_IOCTL;
     }
@@ -88,6 +94,26 @@ public abstract class IoctlBase {
         return GPIOHANDLE_SET_LINE_VALUES_IOCTL;
     }
 
+    public long getGpioV2GetLineInfoIoctl() {
+        return GPIO_V2_GET_LINEINFO_IOCTL;
+    }
+
+    public long getGpioV2GetLineIoctl() {
+        return GPIO_V2_GET_LINE_IOCTL;
+    }
+
+    public long getGpioV2LineSetConfigIoctl() {
+        return GPIO_V2_LINE_SET_CONFIG_IOCTL;
+    }
+
+    public long getGpioV2LineGetValuesIoctl() {
+        return GPIO_V2_LINE_GET_VALUES_IOCTL;
+    }
+
+    public long getGpioV2LineSetValuesIoctl() {
+        return GPIO_V2_LINE_SET_VALUES_IOCTL;
+    }
+
     protected abstract long GET_SPI_IOC_MAGIC();
 
     protected abstract long IOC_NRBITS();
@@ -182,5 +208,11 @@ public abstract class IoctlBase {
 
         GPIOHANDLE_GET_LINE_VALUES_IOCTL = _IOWR(0xB4, 0x08, 64);
         GPIOHANDLE_SET_LINE_VALUES_IOCTL = _IOWR(0xB4, 0x09, 64);
+
+        GPIO_V2_GET_LINEINFO_IOCTL = _IOWR(0xB4, 0x05, 256);
+        GPIO_V2_GET_LINE_IOCTL = _IOWR(0xB4, 0x07, 592);
+        GPIO_V2_LINE_SET_CONFIG_IOCTL = _IOWR(0xB4, 0x0D, 272);
+        GPIO_V2_LINE_GET_VALUES_IOCTL = _IOWR(0xB4, 0x0E, 16);
+        GPIO_V2_LINE_SET_VALUES_IOCTL = _IOWR(0xB4, 0x0F, 16);
     }
 }
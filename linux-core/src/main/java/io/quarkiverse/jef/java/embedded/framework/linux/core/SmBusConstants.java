@@ -3,6 +3,7 @@ package io.quarkiverse.jef.java.embedded.framework.linux.core;
 
 @SuppressWarnings("unused")
 public interface SmBusConstants {
+    long I2C_RDWR = 0x0707L;
     long I2C_PEC = 0x0708L;
     long I2C_SMBUS = 0x0720L;
 
@@ -1,4 +1,3 @@
-
 package io.quarkiverse.jef.java.embedded.framework.linux.core.io;
 
 import java.io.IOException;
@@ -7,6 +6,8 @@ import io.quarkiverse.jef.java.embedded.framework.linux.core.Fcntl;
 
 public class FileHandle implements AutoCloseable {
     private final int handle;
+    private volatile Object attachment;
+    private volatile boolean closed;
 
     public FileHandle(int handle) {
         this.handle = handle;
@@ -16,8 +17,50 @@ public class FileHandle implements AutoCloseable {
         return handle;
     }
 
+    /**
+     * Attaches backend specific state (i.e. reusable native memory) to descriptor.
+     * Attachment implementing {@link AutoCloseable} is closed together with descriptor.
+     *
+     * @param attachment object to attach or {@code null} to discard
+     */
+    public void attach(Object attachment) {
+        this.attachment = attachment;
+    }
+
+    /**
+     * Checks if {@link #close()} was called. Attachment created after close would never be released, so backends
+     * create it under monitor of handle and only while handle is open.
+     *
+     * @return {@code true} if handle is closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Retrieves current attachment
+     *
+     * @return attached object or {@code null}
+     */
+    public Object attachment() {
+        return attachment;
+    }
+
     @Override
     public void close() {
+        Object current;
+        synchronized (this) {
+            closed = true;
+            current = attachment;
+            attachment = null;
+        }
+        if (current instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) current).close();
+            } catch (Exception ignored) {
+
+            }
+        }
         try {
             Fcntl.getInstance().close(handle);
         } catch (IOException ignored) {
@@ -4,6 +4,8 @@ package io.quarkiverse.jef.java.embedded.framework.linux.core.jna;
 import static io.quarkiverse.jef.java.embedded.framework.linux.core.LinuxUtils.checkIOResult;
 import static io.quarkiverse.jef.java.embedded.framework.linux.core.util.StringUtils.dump;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.EnumSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -99,6 +101,17 @@ public class FcntlJna extends Fcntl {
         return false;
     }
 
+    @Override
+    public int poll(FileHandle fd, int events, int timeout) throws NativeIOException {
+        // struct pollfd { int fd; short events; short revents; }
+        byte[] pollfd = new byte[8];
+        ByteBuffer buffer = ByteBuffer.wrap(pollfd).order(ByteOrder.nativeOrder());
+        buffer.putInt(0, fd.getHandle()).putShort(4, (short) events);
+        int result = Delegate.poll(pollfd, 1, timeout);
+        checkIOResult("poll", result);
+        return result == 0 ? 0 : buffer.getShort(6) & 0xFFFF;
+    }
+
     static class Delegate {
         static {
             Native.register("c");
@@ -118,5 +131,7 @@ public class FcntlJna extends Fcntl {
         public static native long lseek(int fd, long offset, int whence);
 
         public static native int fcntl(int fd, int cmd, int mask);
+
+        public static native int poll(byte[] fds, int nfds, int timeout);
     }
 }
@@ -0,0 +1,157 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.core.jna;
+
+import java.nio.ByteBuffer;
+
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.SmBusConstants;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.io.FileHandle;
+import io.quarkiverse.jef.java.embedded.framework.linux.i2c.I2CMessage;
+
+/**
+ * Reusable native memory of one I2C descriptor. Holds {@code struct i2c_rdwr_ioctl_data}, array of
+ * {@code struct i2c_msg} and staging area for payloads. Kernel copies every message into own buffer anyway,
+ * so payloads are always staged with bulk copy.
+ * <p>
+ * SMBus requests use preallocated {@code struct i2c_smbus_ioctl_data} and {@code union i2c_smbus_data},
+ * so register access allocates neither Java objects nor native memory.
+ * <p>
+ * Arena is attached to {@link FileHandle}, so calls for one descriptor must be serialized by caller.
+ */
+final class I2CTransferArena {
+    // offsets of struct i2c_msg fields
+    private static final int ADDR = 0;
+    private static final int FLAGS = 2;
+    private static final int LEN = 4;
+    private static final int BUF = 8;
+    private static final int MESSAGE_SIZE = BUF + Native.POINTER_SIZE;
+
+    // offsets of struct i2c_rdwr_ioctl_data fields
+    private static final int MSGS = 0;
+    private static final int NMSGS = Native.POINTER_SIZE;
+
+    // offsets of struct i2c_smbus_ioctl_data fields
+    private static final int READ_WRITE = 0;
+    private static final int COMMAND = 1;
+    private static final int SIZE = 4;
+    private static final int DATA = 8;
+
+    private final Memory request = new Memory(Native.POINTER_SIZE * 2L);
+
+    private final Memory smbusRequest = new Memory(DATA + Native.POINTER_SIZE);
+    private final Memory smbusData = new Memory(SmBusConstants.BUFFER_SIZE);
+
+    private Memory messages;
+    private int messagesCapacity;
+
+    private Memory staging;
+    private ByteBuffer stagingView;
+    private int stagingCapacity;
+
+    static I2CTransferArena of(FileHandle fd) {
+        Object attachment = fd.attachment();
+        if (attachment instanceof I2CTransferArena) {
+            return (I2CTransferArena) attachment;
+        }
+        I2CTransferArena arena = new I2CTransferArena();
+        fd.attach(arena);
+        return arena;
+    }
+
+    /**
+     * Fills {@code struct i2c_smbus_ioctl_data} and copies block into {@code union i2c_smbus_data}
+     *
+     * @return address of {@code struct i2c_smbus_ioctl_data}
+     */
+    Pointer prepare(byte readWrite, byte command, int size, byte[] block) {
+        smbusRequest.setByte(READ_WRITE, readWrite);
+        smbusRequest.setByte(COMMAND, command);
+        smbusRequest.setInt(SIZE, size);
+        smbusRequest.setPointer(DATA, smbusData);
+        smbusData.write(0, block, 0, Math.min(block.length, SmBusConstants.BUFFER_SIZE));
+        return smbusRequest;
+    }
+
+    /**
+     * Copies {@code union i2c_smbus_data} into block after successful ioctl
+     */
+    void complete(byte[] block) {
+        smbusData.read(0, block, 0, Math.min(block.length, SmBusConstants.BUFFER_SIZE));
+    }
+
+    /**
+     * Fills native messages and copies written bytes into staging area
+     *
+     * @return address of {@code struct i2c_rdwr_ioctl_data}
+     */
+    Pointer prepare(I2CMessage[] segments, int count) {
+        int staged = 0;
+        for (int i = 0; i < count; i++) {
+            staged += segments[i].getLength();
+        }
+        ensureMessages(count);
+        ensureStaging(staged);
+
+        long base = Pointer.nativeValue(staging);
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            I2CMessage segment = segments[i];
+            ByteBuffer buffer = segment.getBuffer();
+            int length = buffer.remaining();
+            if (!segment.isRead() && length > 0) {
+                int position = buffer.position();
+                stagingView.clear().position(offset);
+                stagingView.put(buffer);
+                buffer.position(position);
+            }
+
+            long message = (long) i * MESSAGE_SIZE;
+            messages.setShort(message + ADDR, (short) segment.getAddress());
+            messages.setShort(message + FLAGS, (short) segment.getFlags());
+            messages.setShort(message + LEN, (short) length);
+            messages.setPointer(message + BUF, length > 0 ? new Pointer(base + offset) : null);
+            offset += length;
+        }
+
+        request.setPointer(MSGS, messages);
+        request.setInt(NMSGS, count);
+        return request;
+    }
+
+    /**
+     * Copies received bytes into buffers of read messages after successful ioctl
+     */
+    void complete(I2CMessage[] segments, int count) {
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            ByteBuffer buffer = segments[i].getBuffer();
+            int length = buffer.remaining();
+            if (segments[i].isRead() && length > 0) {
+                int position = buffer.position();
+                stagingView.clear().position(offset);
+                stagingView.limit(offset + length);
+                buffer.put(stagingView);
+                buffer.position(position);
+            }
+            offset += length;
+        }
+    }
+
+    private void ensureMessages(int capacity) {
+        if (capacity > messagesCapacity) {
+            messagesCapacity = Math.max(capacity, messagesCapacity * 2);
+            messages = new Memory((long) messagesCapacity * MESSAGE_SIZE);
+        }
+    }
+
+    private void ensureStaging(int size) {
+        if (size > stagingCapacity || staging == null) {
+            int capacity = Math.max(Math.max(size, stagingCapacity * 2), 64);
+            staging = new Memory(capacity);
+            stagingView = staging.getByteBuffer(0, capacity);
+            stagingCapacity = capacity;
+        }
+    }
+}
@@ -2,10 +2,11 @@
 package io.quarkiverse.jef.java.embedded.framework.linux.core.jna;
 
 import static io.quarkiverse.jef.java.embedded.framework.linux.core.LinuxUtils.checkIOResult;
+import static io.quarkiverse.jef.java.embedded.framework.linux.core.SmBusConstants.I2C_RDWR;
 import static io.quarkiverse.jef.java.embedded.framework.linux.core.SmBusConstants.I2C_SMBUS;
-import static io.quarkiverse.jef.java.embedded.framework.linux.core.SmBusConstants.I2C_SMBUS_WRITE;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -24,9 +25,15 @@ import io.quarkiverse.jef.java.embedded.framework.linux.core.types.SmbusIoctlDat
 import io.quarkiverse.jef.java.embedded.framework.linux.core.types.SpiIocTransfer;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.util.StringUtils;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioChipInfo;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioEventRequest;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioHandleData;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioHandleRequest;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioLineInfo;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineConfig;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineInfo;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineRequest;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineValues;
+import io.quarkiverse.jef.java.embedded.framework.linux.i2c.I2CMessage;
 
 @SuppressWarnings({ "UnusedDeclaration" })
 public class IoctlJna extends Ioctl {
@@ -42,9 +49,18 @@ public class IoctlJna extends Ioctl {
     private final static long _IOC_READ = 2;
     private final static long _IOC_WRITE = 1;
     private final static int GPIOHANDLES_MAX = 64;
+    private final static boolean BIG_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
+
+    private static final NativeLong I2C_RDWR_REQUEST = new NativeLong(I2C_RDWR, true);
+    private static final NativeLong I2C_SMBUS_REQUEST = new NativeLong(I2C_SMBUS, true);
 
     private static int _SPI_IOC_TRANSFER_SIZE = -1;
 
+    private NativeLong gpioHandleGetValuesRequest;
+    private NativeLong gpioHandleSetValuesRequest;
+    private NativeLong gpioV2GetValuesRequest;
+    private NativeLong gpioV2SetValuesRequest;
+
     public boolean isNativeSupported() {
         return false;
     }
@@ -67,7 +83,7 @@ public class IoctlJna extends Ioctl {
                         "ioctl by long reference fd is '%d' command is '%8h' arg is '0x%8h'",
                         fd.getHandle(), command, arg.getValue()));
 
-        LongByReference ref = new LongByReference();
+        LongByReference ref = new LongByReference(arg.getValue());
         int ioctl = Delegate.ioctl(fd.getHandle(), new NativeLong(command, true), ref.getPointer());
         long refValue = ref.getValue();
         arg.setValue(refValue);
@@ -89,7 +105,7 @@ public class IoctlJna extends Ioctl {
                         "ioctl by int reference fd is '%d' command is '%8h' arg is '0x%8h'",
                         fd.getHandle(), command, arg.getValue()));
 
-        IntByReference ref = new IntByReference();
+        IntByReference ref = new IntByReference(arg.getValue());
         int ioctl = Delegate.ioctl(fd.getHandle(), new NativeLong(command, true), ref.getPointer());
         log.log(Level.FINEST, () -> String.format("ioctl result is '%s'", ioctl));
         checkIOResult("ioctl:IntReference", ioctl);
@@ -108,83 +124,69 @@ public class IoctlJna extends Ioctl {
 
     @Override
     public int ioctl(FileHandle fd, long command, SmbusIoctlData ptr) throws NativeIOException {
-        log.log(Level.FINEST, () -> String.format("ioctl.smbus fd is '%d' data is '%s'", fd.getHandle(), ptr));
-
-        IoctlData data = new IoctlData();
-        int offsetRw = data.offset("rw");
-        int offsetCommand = data.offset("command");
-        int offsetSize = data.offset("size");
-        int offsetData = data.offset("data");
-        int size = data.size();
-
-        Memory ioctlData = new Memory(size);
-        Memory i2cSmbusData = new Memory(I2CSmbusData.SIZE);
-
-        ioctlData.clear();
-        i2cSmbusData.clear();
-
-        ByteBuffer block = ByteBuffer.wrap(ptr.getData().getBlock());
-
-        log.log(Level.FINEST, "ioctl.smbus input block: ");
-        log.log(Level.FINEST, () -> StringUtils.dump(block));
-
-        if (ptr.getReadWrite() == I2C_SMBUS_WRITE) {
-            i2cSmbusData.write(0, block.array(), 0, block.limit());
+        if (log.isLoggable(Level.FINEST)) {
+            log.log(Level.FINEST, String.format("ioctl.smbus fd is '%d' data is '%s'", fd.getHandle(), ptr));
         }
 
-        ioctlData.setByte(offsetRw, ptr.getReadWrite());
-        ioctlData.setByte(offsetCommand, (byte) command);
-        ioctlData.setInt(offsetSize, ptr.getSize());
-        ioctlData.setPointer(offsetData, i2cSmbusData);
-        int result = Delegate.ioctl(fd.getHandle(), new NativeLong(I2C_SMBUS, true), ioctlData);
+        I2CTransferArena arena = I2CTransferArena.of(fd);
+        byte[] block = ptr.getData().getBlock();
+        Pointer data = arena.prepare(ptr.getReadWrite(), (byte) command, ptr.getSize(), block);
+        int result = Delegate.ioctl(fd.getHandle(), I2C_SMBUS_REQUEST, data);
 
         checkIOResult("ioctl:sm_bus", result);
+        arena.complete(block);
 
-        byte[] byteArray = i2cSmbusData.getByteArray(0, I2CSmbusData.SIZE);
-
-        block.put(byteArray, 0, byteArray.length);
-
-        log.log(Level.FINEST, "ioctl.smbus output block: ");
-        log.log(Level.FINEST, () -> StringUtils.dump(block));
-
+        if (log.isLoggable(Level.FINEST)) {
+            log.log(Level.FINEST, "ioctl.smbus output block: " + StringUtils.dump(ByteBuffer.wrap(block)));
+        }
         return result;
     }
 
     @Override
     public int ioctl(FileHandle fd, SpiIocTransfer ptr) throws NativeIOException {
-        log.log(Level.FINEST, () -> String.format("ioctl.spi fd is '%d' data is '%s'", fd.getHandle(), ptr));
-
-        ByteBuffer txBuffer = ptr.getTxBuffer();
-        ByteBuffer rxBuffer = ptr.getRxBuffer();
-
-        int txSize = txBuffer.capacity();
-        int rxSize = rxBuffer.capacity();
-        int txRxSize = txSize + rxSize;
-
-        Memory txRxMemory = new Memory(txRxSize);
-        log.log(Level.FINEST, () -> String.format("dump input array \n%s", StringUtils.dump(txBuffer)));
-
-        txRxMemory.write(0, LinuxUtils.toBytes(txBuffer), 0, txBuffer.capacity());
-
-        log.log(Level.FINEST,
-                () -> String.format("pinned array \n%s", StringUtils.dump(txRxMemory.getByteBuffer(0, txRxSize))));
+        SpiTransferArena arena = SpiTransferArena.of(fd);
+        arena.single[0] = ptr;
+        try {
+            return message(fd, arena, arena.single, 1);
+        } finally {
+            arena.single[0] = null;
+        }
+    }
 
-        SpiIOCTransfer spi = new SpiIOCTransfer(txRxMemory, ptr);
-        log.log(Level.FINEST, () -> String.format("dump spi\n%s", spi.toString(true)));
+    @Override
+    public int ioctl(FileHandle fd, SpiIocTransfer[] transfers, int count) throws NativeIOException {
+        return message(fd, SpiTransferArena.of(fd), transfers, count);
+    }
 
-        long ioc_message = SPI_IOC_MESSAGE(1);
-        log.log(Level.FINEST, () -> String.format("ioc_message is '%s'", ioc_message));
+    private int message(FileHandle fd, SpiTransferArena arena, SpiIocTransfer[] transfers, int count)
+            throws NativeIOException {
+        int size = arena.prepare(transfers, count);
+        if (log.isLoggable(Level.FINEST)) {
+            log.log(Level.FINEST, String.format("ioctl.spi fd is '%d' segments '%d' transfers '%d'",
+                    fd.getHandle(), count, size));
+        }
 
-        int result = Delegate.ioctl(fd.getHandle(), new NativeLong(ioc_message, true), spi);
-        log.log(Level.FINEST, () -> String.format("ioctl result is '%s'", result));
+        int result = Delegate.ioctl(fd.getHandle(), arena.request(SPI_IOC_MESSAGE(size), size), arena.address());
+        if (log.isLoggable(Level.FINEST)) {
+            log.log(Level.FINEST, String.format("ioctl result is '%s'", result));
+        }
 
         checkIOResult("ioctl:SPI", result);
+        arena.complete(transfers, count);
+        return result;
+    }
 
-        rxBuffer.put(
-                txRxMemory.getByteArray(txSize, rxSize)).position(0);
-
-        log.log(Level.FINEST, () -> String.format("dump output array \n%s", StringUtils.dump(rxBuffer)));
+    @Override
+    public int ioctl(FileHandle fd, I2CMessage[] messages, int count) throws NativeIOException {
+        I2CTransferArena arena = I2CTransferArena.of(fd);
+        Pointer data = arena.prepare(messages, count);
+        if (log.isLoggable(Level.FINEST)) {
+            log.log(Level.FINEST, String.format("ioctl.i2c_rdwr fd is '%d' messages '%d'", fd.getHandle(), count));
+        }
 
+        int result = Delegate.ioctl(fd.getHandle(), I2C_RDWR_REQUEST, data);
+        checkIOResult("ioctl:I2C_RDWR", result);
+        arena.complete(messages, count);
         return result;
     }
 
@@ -224,23 +226,147 @@ public class IoctlJna extends Ioctl {
         return result;
     }
 
+    @Override
+    public int ioctl(FileHandle handle, long command, GpioEventRequest request) throws NativeIOException {
+        gpioevent_request struct = new gpioevent_request(request);
+
+        int result = Delegate.ioctl(handle.getHandle(), new NativeLong(command, true), struct);
+        checkIOResult("ioctl:gpio_event_request", result);
+        request.setFd(struct.fd);
+
+        return result;
+    }
+
     @Override
     public int ioctl(int fd, long command, GpioHandleData handleData) throws NativeIOException {
         Objects.requireNonNull(handleData);
 
-        gpiohandle_data data = new gpiohandle_data();
+        // values are copied through memory kept by data object, Structure marshalling is too slow for toggling
+        Object attachment = handleData.attachment();
+        Memory data;
+        if (attachment instanceof Memory) {
+            data = (Memory) attachment;
+        } else {
+            data = new Memory(GPIOHANDLES_MAX);
+            data.clear();
+            handleData.attach(data);
+        }
 
-        byte[] from = handleData.getValues();
-        byte[] to = data.values;
-        int size = Math.min(from.length, to.length);
-        System.arraycopy(from, 0, to, 0, size);
+        byte[] values = handleData.getValues();
+        int size = Math.min(values.length, GPIOHANDLES_MAX);
+        data.write(0, values, 0, size);
 
-        int result = Delegate.ioctl(fd, new NativeLong(command), data);
+        int result = Delegate.ioctl(fd, request(command), data);
         checkIOResult("ioctl:byte_array_ref", result);
-        System.arraycopy(to, 0, from, 0, size);
+        data.read(0, values, 0, size);
         return result;
     }
 
+    @Override
+    public int ioctl(FileHandle handle, long command, GpioV2LineInfo line) throws NativeIOException {
+        gpio_v2_line_info struct = new gpio_v2_line_info();
+        struct.offset = line.getOffset();
+        int result = Delegate.ioctl(handle.getHandle(), new NativeLong(command, true), struct);
+        checkIOResult("ioctl:gpio_v2_line_info", result);
+
+        line.setName(new String(struct.name).trim());
+        line.setConsumer(new String(struct.consumer).trim());
+        line.setFlags(struct.flags);
+        line.setDebouncePeriod(0);
+        for (int i = 0; i < Math.min(struct.num_attrs, struct.attrs.length); i++) {
+            if (struct.attrs[i].id == GpioV2LineConfig.GPIO_V2_LINE_ATTR_ID_DEBOUNCE) {
+                line.setDebouncePeriod((int) fromUnion(struct.attrs[i].id, struct.attrs[i].value));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int ioctl(FileHandle handle, long command, GpioV2LineRequest request) throws NativeIOException {
+        gpio_v2_line_request struct = new gpio_v2_line_request();
+        int[] offsets = request.getOffsets();
+        System.arraycopy(offsets, 0, struct.offsets, 0, Math.min(offsets.length, struct.offsets.length));
+        byte[] label = request.getConsumer();
+        if (label != null) {
+            System.arraycopy(label, 0, struct.consumer, 0, Math.min(label.length, struct.consumer.length - 1));
+        }
+        struct.config.set(request.getConfig());
+        struct.num_lines = request.getLines();
+        struct.event_buffer_size = request.getEventBufferSize();
+
+        int result = Delegate.ioctl(handle.getHandle(), new NativeLong(command, true), struct);
+        checkIOResult("ioctl:gpio_v2_line_request", result);
+        request.setFd(struct.fd);
+        return result;
+    }
+
+    @Override
+    public int ioctl(int fd, long command, GpioV2LineConfig config) throws NativeIOException {
+        gpio_v2_line_config struct = new gpio_v2_line_config();
+        struct.set(config);
+        int result = Delegate.ioctl(fd, new NativeLong(command, true), struct);
+        checkIOResult("ioctl:gpio_v2_line_config", result);
+        return result;
+    }
+
+    @Override
+    public int ioctl(int fd, long command, GpioV2LineValues values) throws NativeIOException {
+        Object attachment = values.attachment();
+        Memory data;
+        if (attachment instanceof Memory) {
+            data = (Memory) attachment;
+        } else {
+            data = new Memory(16);
+            values.attach(data);
+        }
+        data.setLong(0, values.getBits());
+        data.setLong(8, values.getMask());
+
+        int result = Delegate.ioctl(fd, request(command), data);
+        checkIOResult("ioctl:gpio_v2_line_values", result);
+        values.setBits(data.getLong(0));
+        return result;
+    }
+
+    @Override
+    protected void initVariables() {
+        super.initVariables();
+        gpioHandleGetValuesRequest = new NativeLong(getGpioHandleGetLineValuesIoctl(), true);
+        gpioHandleSetValuesRequest = new NativeLong(getGpioHandleSetLineValuesIoctl(), true);
+        gpioV2GetValuesRequest = new NativeLong(getGpioV2LineGetValuesIoctl(), true);
+        gpioV2SetValuesRequest = new NativeLong(getGpioV2LineSetValuesIoctl(), true);
+    }
+
+    /**
+     * Requests of line value ioctls are reused, other commands are wrapped on demand
+     */
+    private NativeLong request(long command) {
+        if (command == getGpioHandleSetLineValuesIoctl()) {
+            return gpioHandleSetValuesRequest;
+        } else if (command == getGpioHandleGetLineValuesIoctl()) {
+            return gpioHandleGetValuesRequest;
+        } else if (command == getGpioV2LineSetValuesIoctl()) {
+            return gpioV2SetValuesRequest;
+        } else if (command == getGpioV2LineGetValuesIoctl()) {
+            return gpioV2GetValuesRequest;
+        }
+        return new NativeLong(command, true);
+    }
+
+    /**
+     * Debounce period is 32-bit member of attribute union, so on big endian it lives in upper half of 64-bit value
+     */
+    private static long toUnion(int id, long value) {
+        return BIG_ENDIAN && id == GpioV2LineConfig.GPIO_V2_LINE_ATTR_ID_DEBOUNCE ? value << 32 : value;
+    }
+
+    private static long fromUnion(int id, long value) {
+        if (id == GpioV2LineConfig.GPIO_V2_LINE_ATTR_ID_DEBOUNCE) {
+            return BIG_ENDIAN ? value >>> 32 : value & 0xFFFFFFFFL;
+        }
+        return value;
+    }
+
     @Structure.FieldOrder("values")
     public static class gpiohandle_data extends Structure {
         public byte[] values = new byte[GPIOHANDLES_MAX];
@@ -279,6 +405,27 @@ public class IoctlJna extends Ioctl {
         }
     }
 
+    @Structure.FieldOrder({ "lineoffset", "handleflags", "eventflags", "consumer_label", "fd" })
+    public static class gpioevent_request extends Structure {
+        public int lineoffset;
+        public int handleflags;
+        public int eventflags;
+        public byte[] consumer_label = new byte[32];
+        public int fd;
+
+        public gpioevent_request(GpioEventRequest request) {
+            this.lineoffset = request.getLineOffset();
+            this.handleflags = request.getHandleFlags();
+            this.eventflags = request.getEventFlags();
+
+            byte[] label = request.getConsumerLabel();
+            if (label != null) {
+                int length = Math.min(label.length, consumer_label.length);
+                System.arraycopy(label, 0, consumer_label, 0, length);
+            }
+        }
+    }
+
     @Structure.FieldOrder({ "line_offset", "flags", "name", "consumer" })
     public static class gpioline_info extends Structure {
         public int line_offset;
@@ -303,6 +450,78 @@ public class IoctlJna extends Ioctl {
         }
     }
 
+    @Structure.FieldOrder({ "id", "padding", "value" })
+    public static class gpio_v2_line_attribute extends Structure {
+        public int id;
+        public int padding;
+        public long value;
+    }
+
+    @Structure.FieldOrder({ "attr", "mask" })
+    public static class gpio_v2_line_config_attribute extends Structure {
+        public gpio_v2_line_attribute attr = new gpio_v2_line_attribute();
+        public long mask;
+    }
+
+    @Structure.FieldOrder({ "flags", "num_attrs", "padding", "attrs" })
+    public static class gpio_v2_line_config extends Structure {
+        public long flags;
+        public int num_attrs;
+        public int[] padding = new int[5];
+        public gpio_v2_line_config_attribute[] attrs = new gpio_v2_line_config_attribute[GpioV2LineConfig.NUM_ATTRS_MAX];
+
+        public gpio_v2_line_config() {
+            for (int i = 0; i < attrs.length; i++) {
+                attrs[i] = new gpio_v2_line_config_attribute();
+            }
+        }
+
+        void set(GpioV2LineConfig config) {
+            flags = config.getFlags();
+            num_attrs = config.getNumAttrs();
+            for (int i = 0; i < num_attrs; i++) {
+                int id = config.getAttributeId(i);
+                attrs[i].attr.id = id;
+                attrs[i].attr.value = toUnion(id, config.getAttributeValue(i));
+                attrs[i].mask = config.getAttributeMask(i);
+            }
+        }
+    }
+
+    @Structure.FieldOrder({ "offsets", "consumer", "config", "num_lines", "event_buffer_size", "padding", "fd" })
+    public static class gpio_v2_line_request extends Structure {
+        public int[] offsets = new int[GpioV2LineRequest.LINES_MAX];
+        public byte[] consumer = new byte[32];
+        public gpio_v2_line_config config = new gpio_v2_line_config();
+        public int num_lines;
+        public int event_buffer_size;
+        public int[] padding = new int[5];
+        public int fd;
+    }
+
+    @Structure.FieldOrder({ "name", "consumer", "offset", "num_attrs", "flags", "attrs", "padding" })
+    public static class gpio_v2_line_info extends Structure {
+        public byte[] name = new byte[32];
+        public byte[] consumer = new byte[32];
+        public int offset;
+        public int num_attrs;
+        public long flags;
+        public gpio_v2_line_attribute[] attrs = new gpio_v2_line_attribute[GpioV2LineConfig.NUM_ATTRS_MAX];
+        public int[] padding = new int[4];
+
+        public gpio_v2_line_info() {
+            for (int i = 0; i < attrs.length; i++) {
+                attrs[i] = new gpio_v2_line_attribute();
+            }
+        }
+    }
+
+    @Structure.FieldOrder({ "bits", "mask" })
+    public static class gpio_v2_line_values extends Structure {
+        public long bits;
+        public long mask;
+    }
+
     @Structure.FieldOrder({ "name", "label", "lines" })
     public static class gpiochip_info extends Structure {
         public byte[] name = new byte[32];
@@ -336,7 +555,7 @@ public class IoctlJna extends Ioctl {
         public byte rxNBits;
         public short pad;
 
-        SpiIOCTransfer() {
+        public SpiIOCTransfer() {
         }
 
         public SpiIOCTransfer(Memory txRxMemory, SpiIocTransfer ptr) {
@@ -0,0 +1,210 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.core.jna;
+
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.io.FileHandle;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.types.SpiIocTransfer;
+
+/**
+ * Reusable native memory of one SPI descriptor. Holds array of {@code struct spi_ioc_transfer} and page aligned
+ * staging area for heap buffers. Direct buffers are passed to kernel by address without copying, so cost of
+ * transfer does not depend on payload size.
+ * <p>
+ * Each {@link SpiIocTransfer} is submitted as write-only segment followed by read-only segment (only non-empty ones).
+ * Bytes clocked in while transmitting are dropped anyway, so device observes the same sequence.
+ * <p>
+ * Arena is attached to {@link FileHandle}, so calls for one descriptor must be serialized by caller.
+ */
+final class SpiTransferArena {
+    private static final int PAGE_SIZE = 4096;
+
+    // offsets of struct spi_ioc_transfer fields
+    private static final int TRANSFER_SIZE = 32;
+    private static final int TX_BUF = 0;
+    private static final int RX_BUF = 8;
+    private static final int LEN = 16;
+    private static final int SPEED_HZ = 20;
+    private static final int DELAY_USECS = 24;
+    private static final int BITS_PER_WORD = 26;
+    private static final int CS_CHANGE = 27;
+    private static final int TX_NBITS = 28;
+    private static final int RX_NBITS = 29;
+    private static final int WORD_DELAY_USECS = 30;
+    private static final int PAD = 31;
+
+    private static final int KNOWN_BUFFERS = 4;
+
+    final SpiIocTransfer[] single = new SpiIocTransfer[1];
+
+    private Memory transfers;
+    private int transfersCapacity;
+
+    private Memory staging;
+    private ByteBuffer stagingView;
+    private int stagingCapacity;
+
+    // weakly held, cache must not keep caller's direct memory alive after caller dropped buffer
+    @SuppressWarnings("unchecked")
+    private final WeakReference<ByteBuffer>[] knownBuffers = new WeakReference[KNOWN_BUFFERS];
+    private final long[] knownAddresses = new long[KNOWN_BUFFERS];
+    private int nextKnown;
+
+    private NativeLong request;
+    private int requestSize = -1;
+
+    static SpiTransferArena of(FileHandle fd) {
+        Object attachment = fd.attachment();
+        if (attachment instanceof SpiTransferArena) {
+            return (SpiTransferArena) attachment;
+        }
+        SpiTransferArena arena = new SpiTransferArena();
+        fd.attach(arena);
+        return arena;
+    }
+
+    /**
+     * Fills native transfers for segments and stages heap tx buffers
+     *
+     * @return amount of native transfers
+     */
+    int prepare(SpiIocTransfer[] segments, int count) {
+        int staged = 0;
+        for (int i = 0; i < count; i++) {
+            ByteBuffer tx = segments[i].getTxBuffer();
+            ByteBuffer rx = segments[i].getRxBuffer();
+            if (!tx.isDirect()) {
+                staged += tx.remaining();
+            }
+            if (!rx.isDirect()) {
+                staged += rx.remaining();
+            }
+        }
+        ensureTransfers(count * 2);
+        ensureStaging(staged);
+
+        int n = 0;
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            SpiIocTransfer segment = segments[i];
+            ByteBuffer tx = segment.getTxBuffer();
+            ByteBuffer rx = segment.getRxBuffer();
+            int txSize = tx.remaining();
+            int rxSize = rx.remaining();
+
+            if (txSize > 0) {
+                long address;
+                if (tx.isDirect()) {
+                    address = addressOf(tx) + tx.position();
+                } else {
+                    address = Pointer.nativeValue(staging) + offset;
+                    int position = tx.position();
+                    stagingView.clear().position(offset);
+                    stagingView.put(tx);
+                    tx.position(position);
+                    offset += txSize;
+                }
+                fill(n++, address, 0, txSize, segment, rxSize == 0);
+            }
+            if (rxSize > 0) {
+                long address;
+                if (rx.isDirect()) {
+                    address = addressOf(rx) + rx.position();
+                } else {
+                    address = Pointer.nativeValue(staging) + offset;
+                    offset += rxSize;
+                }
+                fill(n++, 0, address, rxSize, segment, true);
+            }
+            if (txSize == 0 && rxSize == 0) {
+                fill(n++, 0, 0, 0, segment, true);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Copies staged bytes into heap rx buffers after successful ioctl
+     */
+    void complete(SpiIocTransfer[] segments, int count) {
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            ByteBuffer tx = segments[i].getTxBuffer();
+            ByteBuffer rx = segments[i].getRxBuffer();
+            if (!tx.isDirect()) {
+                offset += tx.remaining();
+            }
+            if (!rx.isDirect() && rx.hasRemaining()) {
+                int rxSize = rx.remaining();
+                int position = rx.position();
+                stagingView.clear().position(offset);
+                stagingView.limit(offset + rxSize);
+                rx.put(stagingView);
+                rx.position(position);
+                offset += rxSize;
+            }
+        }
+    }
+
+    long address() {
+        return Pointer.nativeValue(transfers);
+    }
+
+    NativeLong request(long message, int size) {
+        if (size != requestSize) {
+            request = new NativeLong(message, true);
+            requestSize = size;
+        }
+        return request;
+    }
+
+    private void fill(int index, long txBuf, long rxBuf, int length, SpiIocTransfer segment, boolean last) {
+        long base = (long) index * TRANSFER_SIZE;
+        transfers.setLong(base + TX_BUF, txBuf);
+        transfers.setLong(base + RX_BUF, rxBuf);
+        transfers.setInt(base + LEN, length);
+        transfers.setInt(base + SPEED_HZ, segment.getSpeed());
+        transfers.setShort(base + DELAY_USECS, last ? segment.getDelay() : 0);
+        transfers.setByte(base + BITS_PER_WORD, segment.getBitsPerWord());
+        transfers.setByte(base + CS_CHANGE, last ? segment.getCsChange() : 0);
+        transfers.setByte(base + TX_NBITS, txBuf != 0 ? segment.getTxNbits() : 0);
+        transfers.setByte(base + RX_NBITS, rxBuf != 0 ? segment.getRxNbits() : 0);
+        transfers.setByte(base + WORD_DELAY_USECS, (byte) 0);
+        transfers.setByte(base + PAD, (byte) 0);
+    }
+
+    private long addressOf(ByteBuffer buffer) {
+        for (int i = 0; i < KNOWN_BUFFERS; i++) {
+            WeakReference<ByteBuffer> known = knownBuffers[i];
+            if (known != null && known.get() == buffer) {
+                return knownAddresses[i];
+            }
+        }
+        long address = Pointer.nativeValue(Native.getDirectBufferPointer(buffer));
+        knownBuffers[nextKnown] = new WeakReference<>(buffer);
+        knownAddresses[nextKnown] = address;
+        nextKnown = (nextKnown + 1) % KNOWN_BUFFERS;
+        return address;
+    }
+
+    private void ensureTransfers(int capacity) {
+        if (capacity > transfersCapacity) {
+            transfersCapacity = Math.max(capacity, transfersCapacity * 2);
+            transfers = new Memory((long) transfersCapacity * TRANSFER_SIZE);
+        }
+    }
+
+    private void ensureStaging(int size) {
+        if (size > stagingCapacity) {
+            int capacity = (Math.max(size, stagingCapacity * 2) + PAGE_SIZE - 1) & -PAGE_SIZE;
+            staging = new Memory(capacity + PAGE_SIZE).align(PAGE_SIZE);
+            stagingView = staging.getByteBuffer(0, capacity);
+            stagingCapacity = capacity;
+        }
+    }
+}
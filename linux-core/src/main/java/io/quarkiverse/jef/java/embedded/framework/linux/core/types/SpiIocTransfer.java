@@ -1,19 +1,31 @@
-
 package io.quarkiverse.jef.java.embedded.framework.linux.core.types;
 
 import java.nio.ByteBuffer;
 
+/**
+ * Java side representation of {@code struct spi_ioc_transfer}.
+ * <p>
+ * Bytes between position and limit of {@link #getTxBuffer()} are transmitted first and then
+ * {@link #getRxBuffer()} remaining bytes are clocked in. Backends must not change positions of both buffers.
+ * Instance is mutable so callers may keep one per bus and reuse it for every transfer.
+ */
 @SuppressWarnings("unused")
 public class SpiIocTransfer {
-    private final ByteBuffer txBuffer;
-    private final ByteBuffer rxBuffer;
+    private ByteBuffer txBuffer;
+    private ByteBuffer rxBuffer;
+
+    private int length;
+    private int speed;
+    private short delay;
+    private byte bitsPerWord;
+    private byte csChange;
+    private byte txNbits;
+    private byte rxNbits;
+    private byte pad;
 
-    private final int length;
-    private final int speed;
-    private final short delay;
-    private final byte bitsPerWord;
-    private final byte csChange;
-    private final byte pad;
+    public SpiIocTransfer() {
+        this(null, null, 0, 0, (short) 0, (byte) 0, (byte) 0, (byte) 0);
+    }
 
     public SpiIocTransfer(ByteBuffer txBuffer, ByteBuffer rxBuffer, int length, int speed, short delay, byte bitsPerWord) {
         this(txBuffer, rxBuffer, length, speed, delay, bitsPerWord, (byte) -1, (byte) -1);
@@ -31,34 +43,108 @@ public class SpiIocTransfer {
         this.pad = pad;
     }
 
+    /**
+     * Refills transfer for next ioctl call without allocation
+     *
+     * @param txBuffer bytes to transmit
+     * @param rxBuffer buffer for received bytes
+     * @param speed clock frequency
+     * @param bitsPerWord word length
+     * @return this transfer
+     */
+    public SpiIocTransfer set(ByteBuffer txBuffer, ByteBuffer rxBuffer, int speed, byte bitsPerWord) {
+        this.txBuffer = txBuffer;
+        this.rxBuffer = rxBuffer;
+        this.length = txBuffer.remaining() + rxBuffer.remaining();
+        this.speed = speed;
+        this.bitsPerWord = bitsPerWord;
+        return this;
+    }
+
     public ByteBuffer getTxBuffer() {
         return txBuffer;
     }
 
+    public void setTxBuffer(ByteBuffer txBuffer) {
+        this.txBuffer = txBuffer;
+    }
+
     public ByteBuffer getRxBuffer() {
         return rxBuffer;
     }
 
+    public void setRxBuffer(ByteBuffer rxBuffer) {
+        this.rxBuffer = rxBuffer;
+    }
+
     public int getLength() {
         return length;
     }
 
+    public void setLength(int length) {
+        this.length = length;
+    }
+
     public int getSpeed() {
         return speed;
     }
 
+    public void setSpeed(int speed) {
+        this.speed = speed;
+    }
+
     public short getDelay() {
         return delay;
     }
 
+    public void setDelay(short delay) {
+        this.delay = delay;
+    }
+
     public byte getBitsPerWord() {
         return bitsPerWord;
     }
 
+    public void setBitsPerWord(byte bitsPerWord) {
+        this.bitsPerWord = bitsPerWord;
+    }
+
     public byte getCsChange() {
         return csChange;
     }
 
+    public void setCsChange(byte csChange) {
+        this.csChange = csChange;
+    }
+
+    public byte getTxNbits() {
+        return txNbits;
+    }
+
+    /**
+     * Amount of data lines used for transmitting: 0 or 1 - single, 2 - dual, 4 - quad.
+     * Requires {@code SPI_TX_DUAL} or {@code SPI_TX_QUAD} mode of device.
+     *
+     * @param txNbits bus width
+     */
+    public void setTxNbits(byte txNbits) {
+        this.txNbits = txNbits;
+    }
+
+    public byte getRxNbits() {
+        return rxNbits;
+    }
+
+    /**
+     * Amount of data lines used for receiving: 0 or 1 - single, 2 - dual, 4 - quad.
+     * Requires {@code SPI_RX_DUAL} or {@code SPI_RX_QUAD} mode of device.
+     *
+     * @param rxNbits bus width
+     */
+    public void setRxNbits(byte rxNbits) {
+        this.rxNbits = rxNbits;
+    }
+
     public byte getPad() {
         return pad;
     }
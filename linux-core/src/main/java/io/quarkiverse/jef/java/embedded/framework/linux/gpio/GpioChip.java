@@ -0,0 +1,255 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import static io.quarkiverse.jef.java.embedded.framework.linux.core.IOFlags.O_CLOEXEC;
+import static io.quarkiverse.jef.java.embedded.framework.linux.core.IOFlags.O_RDONLY;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.Fcntl;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.Ioctl;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.io.FileHandle;
+
+/**
+ * GPIO chip ({@code /dev/gpiochipN}) with descriptor kept open for its whole life. Lines are requested through
+ * this descriptor, so opening many pins or switching directions in loop doesn't open and close chip file.
+ * Chip information and line information are read once and cached.
+ * <p>
+ * Chip also holds its pins. Pins are looked up without global lock, lock of chip is taken only when new pin is
+ * created. Instances are obtained from {@link GpioManager#getChip(String)}.
+ */
+@SuppressWarnings("unused")
+public class GpioChip implements AutoCloseable {
+    private static final Logger log = Logger.getLogger(GpioChip.class.getName());
+
+    private final String path;
+    private final FileHandle fd;
+    private final GpioChipInfo info;
+    private final boolean v2;
+    private final ConcurrentMap<Integer, GpioLineInfo> lines = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, GpioPin> pins = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    GpioChip(String path) throws NativeIOException {
+        this.path = path;
+        this.fd = Fcntl.getInstance().open(path, EnumSet.of(O_RDONLY, O_CLOEXEC));
+        try {
+            this.info = new GpioChipInfo();
+            Ioctl.getInstance().ioctl(fd, Ioctl.getGpioGetChipInfoIoctl(), info);
+            this.v2 = probeV2();
+        } catch (NativeIOException e) {
+            fd.close();
+            throw e;
+        }
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Chip information read when chip was opened
+     *
+     * @return chip information
+     */
+    public GpioChipInfo getInfo() {
+        return info;
+    }
+
+    /**
+     * Checks if lines are requested through GPIO v2 interface
+     *
+     * @return {@code true} for v2 interface, {@code false} for v1 line handles
+     */
+    public boolean isV2() {
+        return v2;
+    }
+
+    /**
+     * Information about line. Information is read on first request and cached, consumer and flags reflect the
+     * moment it was read.
+     *
+     * @param offset line offset
+     * @return line information, instance is shared and should not be modified
+     * @throws NativeIOException if kernel rejects request
+     */
+    public GpioLineInfo getLineInfo(int offset) throws NativeIOException {
+        GpioLineInfo line = lines.get(offset);
+        if (line == null) {
+            line = refreshLineInfo(offset);
+        }
+        return line;
+    }
+
+    /**
+     * Reads information about line again and replaces cached one
+     *
+     * @param offset line offset
+     * @return line information
+     * @throws NativeIOException if kernel rejects request
+     */
+    public GpioLineInfo refreshLineInfo(int offset) throws NativeIOException {
+        checkClosed();
+        GpioLineInfo line = new GpioLineInfo();
+        line.setOffset(offset);
+        Ioctl ioctl = Ioctl.getInstance();
+        if (v2) {
+            GpioV2LineInfo v2line = new GpioV2LineInfo();
+            v2line.setOffset(offset);
+            ioctl.ioctl(fd, ioctl.getGpioV2GetLineInfoIoctl(), v2line);
+            line.setFlags(v2line.getLegacyFlags());
+            line.setName(v2line.getName());
+            line.setConsumer(v2line.getConsumer());
+        } else {
+            ioctl.ioctl(fd, Ioctl.getGpioGetLineInfoIoctl(), line);
+        }
+        lines.put(offset, line);
+        return line;
+    }
+
+    /**
+     * Returns pin of line, pin is created on first request from freshly read line information
+     *
+     * @param offset line offset
+     * @return pin
+     * @throws NativeIOException if line information can't be read
+     */
+    public GpioPin getPin(int offset) throws NativeIOException {
+        GpioPin pin = pins.get(offset);
+        if (pin != null) {
+            return pin;
+        }
+        synchronized (pins) {
+            checkClosed();
+            pin = pins.get(offset);
+            if (pin == null) {
+                // cached information may be stale, line held by other consumer at that time would stay locked
+                GpioLineInfo line = refreshLineInfo(offset);
+                pin = v2 ? new GpioPinV2Impl(this, offset, line) : new GpioPinImpl(this, offset, line);
+                pins.put(offset, pin);
+            }
+            return pin;
+        }
+    }
+
+    /**
+     * Checks if pin of line is open
+     *
+     * @param offset line offset
+     * @return {@code true} if pin exists
+     */
+    public boolean isUsed(int offset) {
+        return pins.containsKey(offset);
+    }
+
+    /**
+     * Open pins of chip
+     *
+     * @return unmodifiable view of pins
+     */
+    public Collection<GpioPin> getPins() {
+        return Collections.unmodifiableCollection(pins.values());
+    }
+
+    /**
+     * Closes all pins and chip descriptor
+     */
+    @Override
+    public void close() {
+        synchronized (pins) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        for (GpioPin pin : new ArrayList<>(pins.values())) {
+            try {
+                pin.close();
+            } catch (Exception e) {
+                log.log(Level.WARNING, e, () -> String.format("Unable to close GPIO pin of '%s'", path));
+            }
+        }
+        fd.close();
+        GpioManager.closeChip(this);
+    }
+
+    @Override
+    public String toString() {
+        return "GpioChip{" +
+                "path='" + path + '\'' +
+                ", name='" + info.getName() + '\'' +
+                ", lines=" + info.getLines() +
+                ", v2=" + v2 +
+                '}';
+    }
+
+    /**
+     * Checks if chip descriptor still refers to chip present under its path. Descriptor of unplugged chip fails
+     * with {@code ENODEV}, and chip plugged later under the same path, or another chip taking the freed number,
+     * is a new device which has to be opened again.
+     *
+     * @return {@code false} if chip was removed or path now belongs to different chip
+     */
+    boolean isPresent() {
+        if (closed) {
+            return false;
+        }
+        Ioctl ioctl = Ioctl.getInstance();
+        GpioChipInfo own = new GpioChipInfo();
+        GpioChipInfo current = new GpioChipInfo();
+        try (FileHandle handle = Fcntl.getInstance().open(path, EnumSet.of(O_RDONLY, O_CLOEXEC))) {
+            ioctl.ioctl(fd, Ioctl.getGpioGetChipInfoIoctl(), own);
+            ioctl.ioctl(handle, Ioctl.getGpioGetChipInfoIoctl(), current);
+        } catch (NativeIOException e) {
+            log.log(Level.FINE, e, () -> String.format("GPIO chip '%s' is gone", path));
+            return false;
+        }
+        return isSame(own) && isSame(current);
+    }
+
+    /**
+     * Descriptor of chip used for line requests. Descriptor is owned by chip and must not be closed.
+     */
+    FileHandle getHandle() {
+        return fd;
+    }
+
+    void release(int offset, GpioPin pin) {
+        pins.remove(offset, pin);
+    }
+
+    /**
+     * Kernels before 5.10 reject v2 requests, their lines are served by v1 line handles
+     */
+    private boolean probeV2() {
+        GpioV2LineInfo line = new GpioV2LineInfo();
+        Ioctl ioctl = Ioctl.getInstance();
+        try {
+            ioctl.ioctl(fd, ioctl.getGpioV2GetLineInfoIoctl(), line);
+            return true;
+        } catch (NativeIOException e) {
+            log.log(Level.FINE, e, () -> String.format("GPIO v2 interface is not available for '%s'", path));
+            return false;
+        }
+    }
+
+    private boolean isSame(GpioChipInfo other) {
+        return Objects.equals(info.getName(), other.getName())
+                && Objects.equals(info.getLabel(), other.getLabel())
+                && info.getLines() == other.getLines();
+    }
+
+    private void checkClosed() throws NativeIOException {
+        if (closed) {
+            throw new NativeIOException("GPIO chip '" + path + "' is closed");
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
+
+/**
+ * Builds index of named GPIO lines of all chips. Every chip is asked for chip information and information about
+ * every line once, chips are taken from {@link GpioManager}, so later pins reuse opened descriptors and cached
+ * line information.
+ * <p>
+ * Index is rebuilt only when set of chips changes or chip under known path is replaced by another device. Caller
+ * may check it with {@link #refreshIfChanged()} or let discovery watch {@code /dev} for added and removed chips
+ * with {@link #watch()}.
+ */
+@SuppressWarnings("unused")
+public class GpioDiscovery implements AutoCloseable {
+    private static final Logger log = Logger.getLogger(GpioDiscovery.class.getName());
+    private static final Pattern CHIP = Pattern.compile("gpiochip(\\d+)");
+
+    private final List<String> paths;
+    private volatile GpioLineIndex index;
+    private WatchService watcher;
+
+    /**
+     * Creates discovery of all {@code /dev/gpiochip*} chips, list of chips is read again on refresh
+     */
+    public GpioDiscovery() {
+        this(null);
+    }
+
+    /**
+     * Creates discovery of fixed chips
+     *
+     * @param paths paths to GPIO chips or {@code null} for all {@code /dev/gpiochip*} chips
+     */
+    public GpioDiscovery(Collection<String> paths) {
+        this.paths = paths != null ? List.copyOf(new LinkedHashSet<>(paths)) : null;
+    }
+
+    /**
+     * Lists GPIO chips of system
+     *
+     * @return paths of {@code /dev/gpiochip*} devices ordered by chip number
+     * @throws IOException if {@code /dev} can't be listed
+     */
+    public static List<String> findChips() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get("/dev"))) {
+            return files
+                    .map(p -> p.getFileName().toString())
+                    .filter(name -> CHIP.matcher(name).matches())
+                    .sorted(Comparator.comparingInt(name -> Integer.parseInt(name.substring(8))))
+                    .map(name -> "/dev/" + name)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Returns index, chips are scanned on first call
+     *
+     * @return index of named lines
+     */
+    public GpioLineIndex getIndex() {
+        GpioLineIndex result = index;
+        if (result == null) {
+            synchronized (this) {
+                result = index;
+                if (result == null) {
+                    result = scan();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds line by name
+     *
+     * @param name line name
+     * @return line or {@code null} if no chip has line with this name
+     */
+    public GpioLineIndex.Line find(String name) {
+        return getIndex().find(name);
+    }
+
+    /**
+     * Scans all chips and replaces index
+     *
+     * @return new index
+     */
+    public synchronized GpioLineIndex scan() {
+        List<String> chips = listChips();
+        Map<String, GpioLineIndex.Line> lines = new LinkedHashMap<>();
+        for (String path : chips) {
+            try {
+                GpioChip chip = GpioManager.getChip(path);
+                int count = chip.getInfo().getLines();
+                for (int offset = 0; offset < count; offset++) {
+                    String name = chip.getLineInfo(offset).getName();
+                    if (name == null || name.isEmpty()) {
+                        continue;
+                    }
+                    GpioLineIndex.Line line = new GpioLineIndex.Line(name, path, offset);
+                    GpioLineIndex.Line previous = lines.putIfAbsent(name, line);
+                    if (previous != null) {
+                        log.log(Level.FINE, () -> String.format("GPIO line %s hidden by %s", line, previous));
+                    }
+                }
+            } catch (NativeIOException e) {
+                log.log(Level.WARNING, e, () -> String.format("GPIO chip '%s' is not available", path));
+            }
+        }
+        GpioLineIndex result = new GpioLineIndex(chips, lines);
+        log.log(Level.FINE, () -> String.format("GPIO discovery finished: %s", result));
+        index = result;
+        return result;
+    }
+
+    /**
+     * Scans chips again if chips were added, removed or replaced since last scan. Chip is replaced when its
+     * descriptor no longer answers or chip under its path reports different name, label or amount of lines.
+     *
+     * @return current index
+     */
+    public GpioLineIndex refreshIfChanged() {
+        return refresh(Set.of());
+    }
+
+    /**
+     * Chips of paths deleted in one batch of watcher events are opened again even if device with the same
+     * identity appeared under them
+     */
+    private synchronized GpioLineIndex refresh(Set<String> deleted) {
+        GpioLineIndex current = index;
+        List<String> chips = listChips();
+        boolean changed = current == null || !current.getChips().equals(chips);
+        // descriptor of unplugged chip is dead, chip plugged later under the same path has to be opened again
+        for (GpioChip chip : new ArrayList<>(GpioManager.getChips())) {
+            String path = chip.getPath();
+            boolean known = current != null && current.getChips().contains(path);
+            if (!known && !chips.contains(path)) {
+                continue;
+            }
+            if (!chips.contains(path)) {
+                log.log(Level.INFO, () -> String.format("GPIO chip '%s' was removed", path));
+                chip.close();
+                changed = true;
+            } else if (deleted.contains(path) || !chip.isPresent()) {
+                log.log(Level.INFO, () -> String.format("GPIO chip '%s' was replaced", path));
+                chip.close();
+                changed = true;
+            }
+        }
+        return changed ? scan() : current;
+    }
+
+    /**
+     * Starts daemon thread which refreshes index when {@code gpiochip} device appears or disappears in
+     * {@code /dev}
+     *
+     * @throws IOException if {@code /dev} can't be watched
+     */
+    public synchronized void watch() throws IOException {
+        if (watcher != null) {
+            return;
+        }
+        Path dev = Paths.get("/dev");
+        WatchService service = FileSystems.getDefault().newWatchService();
+        dev.register(service, ENTRY_CREATE, ENTRY_DELETE);
+        watcher = service;
+
+        Thread thread = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchKey key = service.take();
+                    boolean changed = false;
+                    Set<String> deleted = new HashSet<>();
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        Object context = event.context();
+                        if (context == null || !CHIP.matcher(context.toString()).matches()) {
+                            continue;
+                        }
+                        changed = true;
+                        if (ENTRY_DELETE.equals(event.kind())) {
+                            deleted.add(dev.resolve(context.toString()).toString());
+                        }
+                    }
+                    key.reset();
+                    if (changed) {
+                        refresh(deleted);
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            }
+        }, "jef-gpio-discovery");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching {@code /dev}
+     */
+    @Override
+    public synchronized void close() {
+        if (watcher != null) {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                log.log(Level.FINE, e, () -> "Unable to stop GPIO hotplug watcher");
+            }
+            watcher = null;
+        }
+    }
+
+    private List<String> listChips() {
+        if (paths != null) {
+            return paths;
+        }
+        try {
+            return findChips();
+        } catch (IOException e) {
+            log.log(Level.WARNING, e, () -> "Unable to list GPIO chips");
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioPin.Edge;
+
+/**
+ * Edge detected by kernel on input line ({@code struct gpioevent_data})
+ */
+@SuppressWarnings("unused")
+public final class GpioEvent {
+    public static final int GPIOEVENT_EVENT_RISING_EDGE = 0x01;
+    public static final int GPIOEVENT_EVENT_FALLING_EDGE = 0x02;
+
+    private final long timestamp;
+    private final Edge edge;
+
+    public GpioEvent(long timestamp, Edge edge) {
+        this.timestamp = timestamp;
+        this.edge = edge;
+    }
+
+    /**
+     * Kernel timestamp of event in nanoseconds ({@code CLOCK_MONOTONIC} on recent kernels)
+     *
+     * @return timestamp in nanoseconds
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Detected edge, {@link Edge#RISING} or {@link Edge#FALLING}
+     *
+     * @return edge
+     */
+    public Edge getEdge() {
+        return edge;
+    }
+
+    @Override
+    public String toString() {
+        return "GpioEvent{" +
+                "timestamp=" + timestamp +
+                ", edge=" + edge +
+                '}';
+    }
+}
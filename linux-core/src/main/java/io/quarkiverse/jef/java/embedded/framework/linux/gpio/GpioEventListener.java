@@ -0,0 +1,27 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import java.io.IOException;
+
+/**
+ * Receives edges of line registered by {@link GpioPin#onEdge(GpioPin.Edge, GpioEventListener)}. Methods are
+ * called by dispatcher thread of the line.
+ */
+@FunctionalInterface
+public interface GpioEventListener {
+    void onEvent(GpioEvent event);
+
+    /**
+     * Called once if reading of events failed, no events are delivered after it
+     *
+     * @param e failure
+     */
+    default void onFailure(IOException e) {
+    }
+
+    /**
+     * Called once when stream was closed by consumer or by pin, i.e. because line was requested again by another
+     * {@link GpioPin#events(GpioPin.Edge)} or direction was changed. No events are delivered after it.
+     */
+    default void onClose() {
+    }
+}
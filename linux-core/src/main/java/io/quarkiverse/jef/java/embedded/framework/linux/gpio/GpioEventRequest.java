@@ -0,0 +1,66 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+@SuppressWarnings("unused")
+public class GpioEventRequest {
+    public enum Flags {
+        GPIOEVENT_REQUEST_RISING_EDGE(1),
+        GPIOEVENT_REQUEST_FALLING_EDGE(1 << 1),
+        GPIOEVENT_REQUEST_BOTH_EDGES((1 << 1) | 1);
+
+        final int value;
+
+        Flags(int value) {
+            this.value = value;
+        }
+
+        public int getValue() {
+            return value;
+        }
+    }
+
+    private int lineoffset;
+    private int handleflags;
+    private int eventflags;
+    private byte[] consumer_label;
+    private int fd;
+
+    public int getLineOffset() {
+        return lineoffset;
+    }
+
+    public void setLineOffset(int lineoffset) {
+        this.lineoffset = lineoffset;
+    }
+
+    public int getHandleFlags() {
+        return handleflags;
+    }
+
+    public void setHandleFlags(int handleflags) {
+        this.handleflags = handleflags;
+    }
+
+    public int getEventFlags() {
+        return eventflags;
+    }
+
+    public void setEventFlags(int eventflags) {
+        this.eventflags = eventflags;
+    }
+
+    public void setConsumerLabel(String jef) {
+        consumer_label = jef.getBytes();
+    }
+
+    public byte[] getConsumerLabel() {
+        return consumer_label;
+    }
+
+    public int getFd() {
+        return fd;
+    }
+
+    public void setFd(int fd) {
+        this.fd = fd;
+    }
+}
@@ -0,0 +1,211 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import static io.quarkiverse.jef.java.embedded.framework.linux.core.Fcntl.POLLIN;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.Fcntl;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.io.FileHandle;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioPin.Edge;
+
+/**
+ * Stream of edges of input line backed by line event descriptor ({@code GPIO_GET_LINEEVENT_IOCTL}) or by v2 line
+ * descriptor with edge detection. Kernel queues events with timestamps taken in interrupt handler, stream reads
+ * them in batches of {@code struct gpioevent_data} or {@code struct gpio_v2_line_event} records, so consumer
+ * sleeps in {@code poll} instead of reading line in loop.
+ * <p>
+ * Pull-style consumer calls {@link #poll(long, TimeUnit)} or {@link #take()} from one thread. Alternatively
+ * events are pushed to listener by {@link GpioPin#onEdge(Edge, GpioEventListener)}. Closing the stream releases
+ * the line; waiting consumer notices it within 100 milliseconds.
+ */
+@SuppressWarnings("unused")
+public class GpioEventStream implements AutoCloseable {
+    private static final Logger log = Logger.getLogger(GpioEventStream.class.getName());
+
+    /**
+     * Size of {@code struct gpioevent_data}: 64-bit timestamp, 32-bit id and padding
+     */
+    static final int EVENT_SIZE = 16;
+    /**
+     * Size of {@code struct gpio_v2_line_event}: timestamp and id at same positions, offset, sequence numbers
+     * and padding
+     */
+    static final int V2_EVENT_SIZE = 48;
+    private static final int BATCH = 16;
+    private static final int POLL_INTERVAL = 100;
+
+    private final String name;
+    private final FileHandle fd;
+    private final int eventSize;
+    private final Consumer<GpioEventStream> onClose;
+    private final byte[] buffer;
+    private final ByteBuffer view;
+    private final LongAdder received = new LongAdder();
+    private int position;
+    private int limit;
+    private volatile boolean closed;
+    private boolean released;
+
+    GpioEventStream(String name, FileHandle fd, Consumer<GpioEventStream> onClose) {
+        this(name, fd, EVENT_SIZE, onClose);
+    }
+
+    /**
+     * Descriptor belongs to pin, stream never closes it. {@code onClose} is called once, without lock of stream,
+     * and releases descriptor under lock of pin, so pin can't use descriptor number after it was closed.
+     *
+     * @param eventSize size of event record
+     */
+    GpioEventStream(String name, FileHandle fd, int eventSize, Consumer<GpioEventStream> onClose) {
+        this.name = name;
+        this.fd = fd;
+        this.eventSize = eventSize;
+        this.onClose = onClose;
+        this.buffer = new byte[eventSize * BATCH];
+        this.view = ByteBuffer.wrap(buffer).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Waits for next event
+     *
+     * @param timeout maximal time to wait
+     * @param unit unit of timeout
+     * @return event or {@code null} if timeout elapsed
+     * @throws IOException if stream is closed or event descriptor can't be read
+     */
+    public synchronized GpioEvent poll(long timeout, TimeUnit unit) throws IOException {
+        long remaining = unit.toMillis(timeout);
+        while (position == limit) {
+            checkClosed();
+            int slice = (int) Math.min(POLL_INTERVAL, Math.max(remaining, 0));
+            if (Fcntl.getInstance().poll(fd, POLLIN, slice) != 0) {
+                fill();
+            } else {
+                remaining -= slice;
+                if (remaining <= 0) {
+                    return null;
+                }
+            }
+        }
+        return next();
+    }
+
+    /**
+     * Waits for next event until stream is closed
+     *
+     * @return event
+     * @throws IOException if stream is closed or event descriptor can't be read
+     */
+    public GpioEvent take() throws IOException {
+        GpioEvent event;
+        do {
+            event = poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+        } while (event == null);
+        return event;
+    }
+
+    /**
+     * Amount of events read from kernel
+     *
+     * @return amount of events
+     */
+    public long getReceived() {
+        return received.sum();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Stops stream and releases line. Waits until consumer leaves {@link #poll(long, TimeUnit)}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            if (released) {
+                return;
+            }
+            released = true;
+        }
+        // pin may be closing this stream while holding its own lock, callback must not run under lock of stream
+        onClose.accept(this);
+    }
+
+    /**
+     * Starts dispatcher thread which delivers events to listener until stream is closed
+     */
+    GpioEventStream dispatch(GpioEventListener listener) {
+        Thread thread = new Thread(() -> {
+            try {
+                while (!closed) {
+                    GpioEvent event = poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                    if (event != null) {
+                        deliver(listener, event);
+                    }
+                }
+            } catch (IOException e) {
+                if (!closed) {
+                    log.log(Level.WARNING, e, () -> String.format("Reading events of GPIO line '%s' failed", name));
+                    close();
+                    listener.onFailure(e);
+                    return;
+                }
+            }
+            // stream may be closed by pin on behalf of another request, listener has to learn it ended
+            try {
+                listener.onClose();
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, e, () -> String.format("Listener of GPIO line '%s' failed", name));
+            }
+        }, "jef-gpio-events " + name);
+        thread.setDaemon(true);
+        thread.start();
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "GpioEventStream{" +
+                "name='" + name + '\'' +
+                ", received=" + getReceived() +
+                ", closed=" + closed +
+                '}';
+    }
+
+    private void fill() throws IOException {
+        int size = Fcntl.getInstance().read(fd, buffer, buffer.length);
+        position = 0;
+        limit = size - size % eventSize;
+        received.add(limit / eventSize);
+    }
+
+    private GpioEvent next() {
+        long timestamp = view.getLong(position);
+        int id = view.getInt(position + 8);
+        position += eventSize;
+        return new GpioEvent(timestamp, id == GpioEvent.GPIOEVENT_EVENT_RISING_EDGE ? Edge.RISING : Edge.FALLING);
+    }
+
+    private void checkClosed() throws IOException {
+        if (closed) {
+            throw new IOException("Event stream of GPIO line '" + name + "' is closed");
+        }
+    }
+
+    private void deliver(GpioEventListener listener, GpioEvent event) {
+        try {
+            listener.onEvent(event);
+        } catch (RuntimeException e) {
+            log.log(Level.WARNING, e, () -> String.format("Listener of GPIO line '%s' failed", name));
+        }
+    }
+}
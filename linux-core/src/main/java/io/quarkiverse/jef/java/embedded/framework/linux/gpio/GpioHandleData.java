@@ -1,10 +1,10 @@
-
 package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
 
 import java.util.Objects;
 
 public class GpioHandleData {
     private final byte[] values;
+    private Object attachment;
 
     public GpioHandleData(byte[] values) {
         Objects.requireNonNull(values);
@@ -15,4 +15,22 @@ public class GpioHandleData {
         return values;
     }
 
+    /**
+     * Attaches backend specific native copy of values, so instance kept by line handle is passed to kernel
+     * without new allocation on every read or write
+     *
+     * @param attachment object to attach or {@code null} to discard
+     */
+    public void attach(Object attachment) {
+        this.attachment = attachment;
+    }
+
+    /**
+     * Retrieves current attachment
+     *
+     * @return attached object or {@code null}
+     */
+    public Object attachment() {
+        return attachment;
+    }
 }
@@ -8,7 +8,10 @@ public class GpioHandleRequest {
         GPIOHANDLE_REQUEST_OUTPUT(1 << 1),
         GPIOHANDLE_REQUEST_ACTIVE_LOW(1 << 2),
         GPIOHANDLE_REQUEST_OPEN_DRAIN(1 << 3),
-        GPIOHANDLE_REQUEST_OPEN_SOURCE(1 << 4);
+        GPIOHANDLE_REQUEST_OPEN_SOURCE(1 << 4),
+        GPIOHANDLE_REQUEST_BIAS_PULL_UP(1 << 5),
+        GPIOHANDLE_REQUEST_BIAS_PULL_DOWN(1 << 6),
+        GPIOHANDLE_REQUEST_BIAS_DISABLE(1 << 7);
 
         final int value;
 
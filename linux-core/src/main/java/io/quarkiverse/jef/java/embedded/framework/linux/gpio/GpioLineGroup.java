@@ -0,0 +1,218 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import java.io.IOException;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.Fcntl;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.Ioctl;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.io.FileHandle;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioPin.Direction;
+
+/**
+ * Several lines of one chip requested on single line handle. Values are read and written together as bitmask
+ * where bit {@code i} is line {@code offsets[i]}, so update of parallel bus or row of relays is one atomic
+ * {@code ioctl} and holds one descriptor instead of one per line.
+ *
+ * <pre>
+ * try (GpioLineGroup bus = new GpioLineGroup("/dev/gpiochip0", Direction.OUTPUT, 5, 6, 13, 19, 26, 16, 20, 21)) {
+ *     bus.write(0xA5);
+ * }
+ * </pre>
+ *
+ * Instance is not thread safe.
+ */
+@SuppressWarnings("unused")
+public class GpioLineGroup implements AutoCloseable {
+    /**
+     * Maximal amount of lines in one handle ({@code GPIOHANDLES_MAX})
+     */
+    public static final int MAX_LINES = 64;
+
+    private final String path;
+    private final int[] offsets;
+    private final GpioHandleData data;
+    private final long lines;
+    private Direction direction;
+    private long values;
+    private int handle;
+    private boolean closed;
+
+    /**
+     * Requests lines, outputs are driven low
+     *
+     * @param path path to GPIO chip
+     * @param direction direction of all lines
+     * @param offsets line offsets, bit {@code i} of values is {@code offsets[i]}
+     * @throws IOException if lines can't be requested
+     */
+    public GpioLineGroup(String path, Direction direction, int... offsets) throws IOException {
+        this(path, offsets, direction, 0);
+    }
+
+    /**
+     * Requests lines
+     *
+     * @param path path to GPIO chip
+     * @param offsets line offsets, bit {@code i} of values is {@code offsets[i]}
+     * @param direction direction of all lines
+     * @param initial initial values of output lines
+     * @throws IOException if lines can't be requested
+     */
+    public GpioLineGroup(String path, int[] offsets, Direction direction, long initial) throws IOException {
+        if (offsets.length < 1 || offsets.length > MAX_LINES) {
+            throw new IllegalArgumentException("Amount of lines should be in range 1.." + MAX_LINES);
+        }
+        this.path = path;
+        this.offsets = offsets.clone();
+        this.data = new GpioHandleData(new byte[offsets.length]);
+        this.lines = offsets.length == MAX_LINES ? -1L : (1L << offsets.length) - 1;
+        request(direction, initial);
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int[] getOffsets() {
+        return offsets.clone();
+    }
+
+    public int size() {
+        return offsets.length;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Reads all lines
+     *
+     * @return bitmask of line values
+     * @throws IOException if lines can't be read
+     */
+    public long read() throws IOException {
+        checkClosed();
+        Ioctl ioctl = Ioctl.getInstance();
+        ioctl.ioctl(handle, ioctl.getGpioHandleGetLineValuesIoctl(), data);
+
+        byte[] bytes = data.getValues();
+        long result = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != 0) {
+                result |= 1L << i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes all output lines at once
+     *
+     * @param values bitmask of line values
+     * @throws IOException if group is input or lines can't be written
+     */
+    public void write(long values) throws IOException {
+        checkClosed();
+        if (Direction.INPUT.equals(direction)) {
+            throw new IOException("Can't write to input lines of " + path);
+        }
+        byte[] bytes = data.getValues();
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) ((values >>> i) & 1);
+        }
+        Ioctl ioctl = Ioctl.getInstance();
+        ioctl.ioctl(handle, ioctl.getGpioHandleSetLineValuesIoctl(), data);
+        this.values = values & lines;
+    }
+
+    /**
+     * Changes lines selected by mask, other lines keep last written values
+     *
+     * @param mask bitmask of lines to change
+     * @param values new values of selected lines
+     * @throws IOException if group is input or lines can't be written
+     */
+    public void write(long mask, long values) throws IOException {
+        write((this.values & ~mask) | (values & mask));
+    }
+
+    /**
+     * Last values written to output lines
+     *
+     * @return bitmask of line values
+     */
+    public long getValues() {
+        return values;
+    }
+
+    /**
+     * Changes direction of all lines. Lines are requested again, outputs start from last written values.
+     *
+     * @param direction new direction
+     * @throws IOException if lines can't be requested
+     */
+    public void setDirection(Direction direction) throws IOException {
+        checkClosed();
+        if (!direction.equals(this.direction)) {
+            request(direction, values);
+        }
+    }
+
+    @Override
+    public void close() throws NativeIOException {
+        if (!closed) {
+            closed = true;
+            freeHandle();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GpioLineGroup{" +
+                "path='" + path + '\'' +
+                ", lines=" + offsets.length +
+                ", direction=" + direction +
+                '}';
+    }
+
+    private void request(Direction direction, long initial) throws IOException {
+        FileHandle fd = GpioManager.getChip(path).getHandle();
+        freeHandle();
+
+        int mode = Direction.INPUT.equals(direction) ? GpioHandleRequest.Flags.GPIOHANDLE_REQUEST_INPUT.value
+                : GpioHandleRequest.Flags.GPIOHANDLE_REQUEST_OUTPUT.value;
+        byte[] defaults = new byte[offsets.length];
+        for (int i = 0; i < defaults.length; i++) {
+            defaults[i] = (byte) ((initial >>> i) & 1);
+        }
+
+        GpioHandleRequest request = new GpioHandleRequest();
+        request.setLinesOffset(offsets);
+        request.setFlags(mode);
+        request.setDefaultValues(defaults);
+        request.setConsumerLabel("jef-gpio-manager");
+        request.setLines(offsets.length);
+        Ioctl ioctl = Ioctl.getInstance();
+
+        ioctl.ioctl(fd, ioctl.getGpioGetLineHandleIoctl(), request);
+        this.handle = request.getFd();
+        this.direction = direction;
+        if (Direction.OUTPUT.equals(direction)) {
+            this.values = initial & lines;
+        }
+    }
+
+    private void freeHandle() throws NativeIOException {
+        if (handle > 0) {
+            Fcntl.getInstance().close(handle);
+            handle = 0;
+        }
+    }
+
+    private void checkClosed() throws IOException {
+        if (closed) {
+            throw new IOException("Gpio line group of '" + path + "' is closed");
+        }
+    }
+}
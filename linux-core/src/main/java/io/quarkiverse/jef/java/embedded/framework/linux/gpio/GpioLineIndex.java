@@ -0,0 +1,144 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable result of {@link GpioDiscovery}: named lines of all scanned chips. Lines are looked up by name given
+ * by device tree or ACPI (e.g. {@code GPIO17} or {@code RELAY_1}), so application doesn't hard-code chip paths
+ * and offsets. If several chips have line with the same name, line of the first chip wins.
+ */
+@SuppressWarnings("unused")
+public final class GpioLineIndex {
+    private final List<String> chips;
+    private final Map<String, Line> lines;
+
+    GpioLineIndex(List<String> chips, Map<String, Line> lines) {
+        this.chips = List.copyOf(chips);
+        this.lines = Collections.unmodifiableMap(new LinkedHashMap<>(lines));
+    }
+
+    /**
+     * Paths of scanned chips
+     *
+     * @return list of chip paths
+     */
+    public List<String> getChips() {
+        return chips;
+    }
+
+    /**
+     * Names of all indexed lines
+     *
+     * @return set of names
+     */
+    public Set<String> getNames() {
+        return lines.keySet();
+    }
+
+    /**
+     * All indexed lines
+     *
+     * @return collection of lines
+     */
+    public Collection<Line> getLines() {
+        return lines.values();
+    }
+
+    /**
+     * Finds line by name
+     *
+     * @param name line name
+     * @return line or {@code null} if no chip has line with this name
+     */
+    public Line find(String name) {
+        return lines.get(name);
+    }
+
+    public boolean contains(String name) {
+        return lines.containsKey(name);
+    }
+
+    /**
+     * Returns pin of named line
+     *
+     * @param name line name
+     * @return pin
+     * @throws IOException if line is unknown or chip is not available
+     */
+    public GpioPin getPin(String name) throws IOException {
+        Line line = lines.get(name);
+        if (line == null) {
+            throw new IOException("GPIO line '" + name + "' not found");
+        }
+        return GpioManager.getPin(line.getPath(), line.getOffset());
+    }
+
+    @Override
+    public String toString() {
+        return "GpioLineIndex{" +
+                "chips=" + chips +
+                ", lines=" + lines.size() +
+                '}';
+    }
+
+    /**
+     * Position of named line
+     */
+    public static final class Line {
+        private final String name;
+        private final String path;
+        private final int offset;
+
+        Line(String name, String path, int offset) {
+            this.name = name;
+            this.path = path;
+            this.offset = offset;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Path of chip which owns line
+         *
+         * @return chip path
+         */
+        public String getPath() {
+            return path;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Line line = (Line) o;
+            return offset == line.offset && name.equals(line.name) && path.equals(line.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, path, offset);
+        }
+
+        @Override
+        public String toString() {
+            return name + "=" + path + "-" + offset;
+        }
+    }
+}
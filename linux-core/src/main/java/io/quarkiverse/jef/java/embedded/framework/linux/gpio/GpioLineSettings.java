@@ -0,0 +1,136 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioPin.Bias;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioPin.Drive;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioPin.EventClock;
+
+/**
+ * Electrical settings of line applied by {@link GpioPin#configure(GpioLineSettings)}. Defaults keep line as
+ * kernel set it: active high, bias untouched, push-pull output, no debounce and monotonic event timestamps.
+ */
+@SuppressWarnings("unused")
+public class GpioLineSettings {
+    private boolean activeLow;
+    private Bias bias = Bias.AS_IS;
+    private Drive drive = Drive.PUSH_PULL;
+    private EventClock eventClock = EventClock.MONOTONIC;
+    private int debouncePeriod;
+
+    public GpioLineSettings() {
+    }
+
+    public GpioLineSettings(GpioLineSettings settings) {
+        this.activeLow = settings.activeLow;
+        this.bias = settings.bias;
+        this.drive = settings.drive;
+        this.eventClock = settings.eventClock;
+        this.debouncePeriod = settings.debouncePeriod;
+    }
+
+    public boolean isActiveLow() {
+        return activeLow;
+    }
+
+    public GpioLineSettings setActiveLow(boolean activeLow) {
+        this.activeLow = activeLow;
+        return this;
+    }
+
+    public Bias getBias() {
+        return bias;
+    }
+
+    public GpioLineSettings setBias(Bias bias) {
+        this.bias = Objects.requireNonNull(bias);
+        return this;
+    }
+
+    /**
+     * Drive of output line, ignored for inputs
+     *
+     * @return drive
+     */
+    public Drive getDrive() {
+        return drive;
+    }
+
+    public GpioLineSettings setDrive(Drive drive) {
+        this.drive = Objects.requireNonNull(drive);
+        return this;
+    }
+
+    /**
+     * Clock used for timestamps of edge events
+     *
+     * @return event clock
+     */
+    public EventClock getEventClock() {
+        return eventClock;
+    }
+
+    public GpioLineSettings setEventClock(EventClock eventClock) {
+        this.eventClock = Objects.requireNonNull(eventClock);
+        return this;
+    }
+
+    /**
+     * Debounce period of input line in microseconds
+     *
+     * @return period or {@code 0} if line is not debounced
+     */
+    public int getDebouncePeriod() {
+        return debouncePeriod;
+    }
+
+    /**
+     * Sets period for which input has to be stable before kernel reports new value or edge. Debouncing is done
+     * by GPIO controller or by kernel, so no userspace thread is needed.
+     *
+     * @param period debounce period, {@code 0} disables debouncing
+     * @param unit unit of period
+     * @return this settings
+     */
+    public GpioLineSettings setDebouncePeriod(long period, TimeUnit unit) {
+        long micros = unit.toMicros(period);
+        if (micros < 0 || micros > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Debounce period is out of range: " + micros + "us");
+        }
+        this.debouncePeriod = (int) micros;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        GpioLineSettings that = (GpioLineSettings) o;
+        return activeLow == that.activeLow &&
+                debouncePeriod == that.debouncePeriod &&
+                bias == that.bias &&
+                drive == that.drive &&
+                eventClock == that.eventClock;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(activeLow, bias, drive, eventClock, debouncePeriod);
+    }
+
+    @Override
+    public String toString() {
+        return "GpioLineSettings{" +
+                "activeLow=" + activeLow +
+                ", bias=" + bias +
+                ", drive=" + drive +
+                ", eventClock=" + eventClock +
+                ", debouncePeriod=" + debouncePeriod +
+                '}';
+    }
+}
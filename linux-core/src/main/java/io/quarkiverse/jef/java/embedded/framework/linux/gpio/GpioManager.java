@@ -1,50 +1,61 @@
-
 package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
 
+/**
+ * Process wide registry of GPIO chips. Every chip is opened once and holds its pins, see {@link GpioChip}.
+ */
 @SuppressWarnings("unused")
 public class GpioManager {
-    private final static Map<String, GpioPin> pinsets = new HashMap<>();
-
-    public static GpioPin getPin(String path, int number) throws IOException {
-        synchronized (GpioManager.class) {
-            GpioPin pin;
-            String key = getKey(path, number);
-            if ((pin = getCachedKey(key)) != null) {
-                return pin;
+    private static final ConcurrentMap<String, GpioChip> chips = new ConcurrentHashMap<>();
+
+    /**
+     * Returns chip opening it on first request
+     *
+     * @param path path to GPIO chip
+     * @return shared chip
+     * @throws NativeIOException if chip is not available
+     */
+    public static GpioChip getChip(String path) throws NativeIOException {
+        GpioChip chip = chips.get(path);
+        if (chip != null) {
+            return chip;
+        }
+        synchronized (chips) {
+            chip = chips.get(path);
+            if (chip == null) {
+                chip = new GpioChip(path);
+                chips.put(path, chip);
             }
-            pin = new GpioPinImpl(key, path, number);
-            pinsets.put(key, pin);
-            return pin;
+            return chip;
         }
-        //return getPin(path, number, null);
     }
 
-    public static boolean isUsed(String path, int number) {
-        synchronized (GpioManager.class) {
-            return getCachedKey(getKey(path, number)) != null;
-        }
+    /**
+     * Chips opened by registry
+     *
+     * @return unmodifiable view of chips
+     */
+    public static Collection<GpioChip> getChips() {
+        return Collections.unmodifiableCollection(chips.values());
     }
 
-    private static String getKey(String path, int number) {
-        return path + "-" + number;
+    public static GpioPin getPin(String path, int number) throws IOException {
+        return getChip(path).getPin(number);
     }
 
-    private static GpioPin getCachedKey(String cacheKey) {
-        return pinsets.get(cacheKey);
+    public static boolean isUsed(String path, int number) {
+        GpioChip chip = chips.get(path);
+        return chip != null && chip.isUsed(number);
     }
 
-    @SuppressWarnings("EmptyTryBlock")
-    static void closePin(String key) {
-        synchronized (GpioManager.class) {
-            try (GpioPin remove = pinsets.remove(key)) {
-
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        }
+    static void closeChip(GpioChip chip) {
+        chips.remove(chip.getPath(), chip);
     }
 }
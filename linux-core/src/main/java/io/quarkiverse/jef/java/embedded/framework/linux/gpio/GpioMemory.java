@@ -0,0 +1,200 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import static io.quarkiverse.jef.java.embedded.framework.linux.core.IOFlags.O_CLOEXEC;
+import static io.quarkiverse.jef.java.embedded.framework.linux.core.IOFlags.O_RDWR;
+import static io.quarkiverse.jef.java.embedded.framework.linux.core.IOFlags.O_SYNC;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.Fcntl;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.Mmap;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.io.FileHandle;
+
+/**
+ * GPIO register block of Broadcom SoCs (BCM2835 .. BCM2711) mapped from {@code /dev/gpiomem}. Lines are set and
+ * cleared by plain memory writes to {@code GPSETn}/{@code GPCLRn} registers, so toggling line costs no system
+ * call. Writes bypass GPIO chip driver: line requested by kernel or other consumer is not protected, and edge
+ * events are not available.
+ * <p>
+ * Regular file of at least {@link #SIZE} bytes may stand in for register block, i.e. in tests. Register block is
+ * mapped once per path and stays mapped for life of application.
+ *
+ * <pre>
+ * GpioPin pin = GpioMemory.open().getPin(17);
+ * pin.setDirection(Direction.OUTPUT);
+ * while (running) {
+ *     pin.write(true);
+ *     pin.write(false);
+ * }
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public class GpioMemory {
+    public static final String GPIOMEM = "/dev/gpiomem";
+
+    /**
+     * Amount of GPIO lines of register block
+     */
+    public static final int LINES = 54;
+
+    /**
+     * Size of mapped register block in bytes
+     */
+    public static final int SIZE = 0xF4;
+
+    static final int GPFSEL0 = 0x00;
+    static final int GPSET0 = 0x1C;
+    static final int GPCLR0 = 0x28;
+    static final int GPLEV0 = 0x34;
+
+    static final int FUNCTION_INPUT = 0b000;
+    static final int FUNCTION_OUTPUT = 0b001;
+
+    private static final ConcurrentMap<String, GpioMemory> blocks = new ConcurrentHashMap<>();
+
+    private final String path;
+    private final ByteBuffer registers;
+    private final ConcurrentMap<Integer, GpioPin> pins = new ConcurrentHashMap<>();
+
+    private GpioMemory(String path, ByteBuffer registers) {
+        this.path = path;
+        this.registers = registers.order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Maps {@link #GPIOMEM}
+     *
+     * @return register block
+     * @throws IOException if device can't be mapped
+     */
+    public static GpioMemory open() throws IOException {
+        return open(GPIOMEM);
+    }
+
+    /**
+     * Maps register block, every path is mapped once
+     *
+     * @param path path to {@code /dev/gpiomem} or regular file standing in for it
+     * @return register block
+     * @throws IOException if file can't be mapped
+     */
+    public static GpioMemory open(String path) throws IOException {
+        GpioMemory memory = blocks.get(path);
+        if (memory != null) {
+            return memory;
+        }
+        synchronized (blocks) {
+            memory = blocks.get(path);
+            if (memory == null) {
+                memory = new GpioMemory(path, map(path));
+                blocks.put(path, memory);
+            }
+            return memory;
+        }
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Returns pin of line, pin is created on first request
+     *
+     * @param number BCM number of line
+     * @return pin
+     */
+    public GpioPin getPin(int number) {
+        if (number < 0 || number >= LINES) {
+            throw new IllegalArgumentException("GPIO line should be in range 0.." + (LINES - 1));
+        }
+        return pins.computeIfAbsent(number, n -> new GpioMemoryPin(this, n));
+    }
+
+    /**
+     * Sets lines of bank at once
+     *
+     * @param bank bank {@code 0} for lines 0..31, {@code 1} for lines 32..53
+     * @param mask bitmask of lines to drive high
+     */
+    public void set(int bank, int mask) {
+        registers.putInt(GPSET0 + bank * 4, mask);
+    }
+
+    /**
+     * Clears lines of bank at once
+     *
+     * @param bank bank {@code 0} for lines 0..31, {@code 1} for lines 32..53
+     * @param mask bitmask of lines to drive low
+     */
+    public void clear(int bank, int mask) {
+        registers.putInt(GPCLR0 + bank * 4, mask);
+    }
+
+    /**
+     * Reads levels of all lines of bank
+     *
+     * @param bank bank {@code 0} for lines 0..31, {@code 1} for lines 32..53
+     * @return bitmask of levels
+     */
+    public int levels(int bank) {
+        return registers.getInt(GPLEV0 + bank * 4);
+    }
+
+    @Override
+    public String toString() {
+        return "GpioMemory{" +
+                "path='" + path + '\'' +
+                '}';
+    }
+
+    ByteBuffer getRegisters() {
+        return registers;
+    }
+
+    /**
+     * Function of line from {@code GPFSELn}, 3 bits per line and 10 lines per register
+     */
+    synchronized int getFunction(int number) {
+        int offset = GPFSEL0 + (number / 10) * 4;
+        int shift = (number % 10) * 3;
+        return (registers.getInt(offset) >>> shift) & 0b111;
+    }
+
+    /**
+     * Register is shared by 10 lines, read-modify-write is done under lock of block
+     */
+    synchronized void setFunction(int number, int function) {
+        int offset = GPFSEL0 + (number / 10) * 4;
+        int shift = (number % 10) * 3;
+        int value = registers.getInt(offset);
+        registers.putInt(offset, (value & ~(0b111 << shift)) | (function << shift));
+    }
+
+    void release(int number, GpioPin pin) {
+        pins.remove(number, pin);
+    }
+
+    private static ByteBuffer map(String path) throws IOException {
+        Path file = Paths.get(path);
+        if (Files.isRegularFile(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, SIZE);
+            }
+        }
+        // mapping outlives descriptor
+        try (FileHandle fd = Fcntl.getInstance().open(path, EnumSet.of(O_RDWR, O_SYNC, O_CLOEXEC))) {
+            return Mmap.getInstance().mmap(fd, Mmap.MemoryProtection.PROT_READ_WRITE, Mmap.MemoryFlag.MAP_SHARED, 0,
+                    SIZE);
+        }
+    }
+}
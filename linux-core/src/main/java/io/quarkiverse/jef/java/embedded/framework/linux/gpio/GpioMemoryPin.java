@@ -0,0 +1,159 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Pin driven through registers of {@link GpioMemory}. Direction and value are written to registers directly, only
+ * active low setting is supported, edge events require pin of {@link GpioChip}.
+ */
+class GpioMemoryPin implements GpioPin {
+    private final GpioMemory memory;
+    private final ByteBuffer registers;
+    private final int number;
+    private final String key;
+    private final int mask;
+    private final int set;
+    private final int clear;
+    private final int level;
+
+    private volatile GpioLineSettings settings = new GpioLineSettings();
+    private volatile boolean activeLow;
+    private volatile boolean output;
+    private volatile boolean closed;
+
+    GpioMemoryPin(GpioMemory memory, int number) {
+        this.memory = memory;
+        this.registers = memory.getRegisters();
+        this.number = number;
+        this.key = memory.getPath() + "-" + number;
+        this.mask = 1 << (number % 32);
+        this.set = GpioMemory.GPSET0 + (number / 32) * 4;
+        this.clear = GpioMemory.GPCLR0 + (number / 32) * 4;
+        this.level = GpioMemory.GPLEV0 + (number / 32) * 4;
+        this.output = memory.getFunction(number) == GpioMemory.FUNCTION_OUTPUT;
+    }
+
+    @Override
+    public int getPinNumber() {
+        return number;
+    }
+
+    @Override
+    public String getName() {
+        return "GPIO" + number;
+    }
+
+    @Override
+    public String getConsumer() {
+        return null;
+    }
+
+    /**
+     * Direction read from function select register
+     *
+     * @return direction or {@code null} if line is set to alternate function
+     */
+    @Override
+    public Direction getDirection() {
+        switch (memory.getFunction(number)) {
+            case GpioMemory.FUNCTION_INPUT:
+                return Direction.INPUT;
+            case GpioMemory.FUNCTION_OUTPUT:
+                return Direction.OUTPUT;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public int getFlags() {
+        int flags = 0;
+        if (Direction.OUTPUT.equals(getDirection())) {
+            flags |= GpioLineInfo.Flags.GPIOLINE_FLAG_IS_OUT.value;
+        }
+        if (activeLow) {
+            flags |= GpioLineInfo.Flags.GPIOLINE_FLAG_ACTIVE_LOW.value;
+        }
+        return flags;
+    }
+
+    @Override
+    public State read() throws IOException {
+        return readRaw() ? State.HIGH : State.LOW;
+    }
+
+    /**
+     * Reads level register, level of output line is value being driven
+     */
+    @Override
+    public boolean readRaw() throws IOException {
+        checkClosed();
+        return ((registers.getInt(level) & mask) != 0) != activeLow;
+    }
+
+    @Override
+    public void write(State state) throws IOException {
+        write(state == State.HIGH);
+    }
+
+    @Override
+    public void write(boolean active) throws IOException {
+        if (closed || !output) {
+            checkClosed();
+            throw new IOException("Can't write to input pin " + key);
+        }
+        registers.putInt(active != activeLow ? set : clear, mask);
+    }
+
+    @Override
+    public void setDirection(Direction direction) throws IOException {
+        checkClosed();
+        boolean output = Direction.OUTPUT.equals(direction);
+        memory.setFunction(number, output ? GpioMemory.FUNCTION_OUTPUT : GpioMemory.FUNCTION_INPUT);
+        this.output = output;
+    }
+
+    @Override
+    public void configure(GpioLineSettings settings) throws IOException {
+        checkClosed();
+        if (settings.getBias() != Bias.AS_IS || settings.getDrive() != Drive.PUSH_PULL
+                || settings.getDebouncePeriod() != 0 || settings.getEventClock() != EventClock.MONOTONIC) {
+            throw new IOException("Memory mapped GPIO supports only active low setting");
+        }
+        this.settings = new GpioLineSettings(settings);
+        this.activeLow = settings.isActiveLow();
+    }
+
+    @Override
+    public GpioLineSettings getSettings() {
+        return new GpioLineSettings(settings);
+    }
+
+    @Override
+    public GpioEventStream events(Edge edge) throws IOException {
+        throw new IOException("Edge events of memory mapped GPIO are not supported");
+    }
+
+    /**
+     * Line keeps its direction and value
+     */
+    @Override
+    public void close() {
+        closed = true;
+        memory.release(number, this);
+    }
+
+    @Override
+    public String toString() {
+        return "GpioMemoryPin{" +
+                "key='" + key + '\'' +
+                '}';
+    }
+
+    private void checkClosed() throws IOException {
+        if (closed) {
+            throw new IOException("Gpio Pin '" + key + "' is closed");
+        }
+    }
+}
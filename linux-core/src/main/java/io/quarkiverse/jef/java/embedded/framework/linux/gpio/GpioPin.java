@@ -19,8 +19,64 @@ public interface GpioPin extends AutoCloseable {
 
     void write(State state) throws IOException;
 
+    /**
+     * Reads input line without mapping value to {@link State}
+     *
+     * @return {@code true} if line is active
+     * @throws IOException if line can't be read
+     */
+    boolean readRaw() throws IOException;
+
+    /**
+     * Writes output line without mapping value from {@link State}. Together with {@link #readRaw()} it's the
+     * allocation free path for toggling lines at high rate.
+     *
+     * @param active {@code true} to make line active
+     * @throws IOException if line can't be written
+     */
+    void write(boolean active) throws IOException;
+
     void setDirection(Direction direction) throws IOException;
 
+    /**
+     * Applies electrical settings. Line requested through GPIO v2 interface is reconfigured in place, without
+     * releasing it. Lines requested through v1 interface are requested again and don't support debounce period
+     * and event clock.
+     *
+     * @param settings new settings
+     * @throws IOException if kernel rejects settings or settings are not supported by kernel interface
+     */
+    void configure(GpioLineSettings settings) throws IOException;
+
+    /**
+     * Settings applied by last {@link #configure(GpioLineSettings)}
+     *
+     * @return copy of settings
+     */
+    GpioLineSettings getSettings();
+
+    /**
+     * Requests edge detection on line. Line becomes input, {@link #read()} keeps working while stream is open.
+     * Closing stream or changing direction releases detection.
+     *
+     * @param edge edges to report
+     * @return stream of events
+     * @throws IOException if line can't be requested
+     */
+    GpioEventStream events(Edge edge) throws IOException;
+
+    /**
+     * Requests edge detection and delivers events to listener from dedicated thread
+     *
+     * @param edge edges to report
+     * @param listener receiver of events
+     * @return stream to close when events are not needed anymore
+     * @throws IOException if line can't be requested
+     */
+    default GpioEventStream onEdge(Edge edge, GpioEventListener listener) throws IOException {
+        return events(edge).dispatch(listener);
+    }
+
     public enum State {
         LOW(0),
         HIGH(1);
@@ -49,4 +105,45 @@ public interface GpioPin extends AutoCloseable {
         INPUT,
         OUTPUT
     }
+
+    public enum Bias {
+        /**
+         * Bias is not changed
+         */
+        AS_IS,
+        PULL_UP,
+        PULL_DOWN,
+        DISABLED
+    }
+
+    public enum Drive {
+        PUSH_PULL,
+        OPEN_DRAIN,
+        OPEN_SOURCE
+    }
+
+    public enum EventClock {
+        MONOTONIC,
+        REALTIME,
+        /**
+         * Hardware timestamp engine
+         */
+        HTE
+    }
+
+    public enum Edge {
+        RISING(GpioEventRequest.Flags.GPIOEVENT_REQUEST_RISING_EDGE),
+        FALLING(GpioEventRequest.Flags.GPIOEVENT_REQUEST_FALLING_EDGE),
+        BOTH(GpioEventRequest.Flags.GPIOEVENT_REQUEST_BOTH_EDGES);
+
+        private final GpioEventRequest.Flags flags;
+
+        Edge(GpioEventRequest.Flags flags) {
+            this.flags = flags;
+        }
+
+        public int getEventFlags() {
+            return flags.value;
+        }
+    }
 }
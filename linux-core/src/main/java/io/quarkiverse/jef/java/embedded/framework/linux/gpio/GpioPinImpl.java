@@ -1,17 +1,22 @@
 package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
 
-import static io.quarkiverse.jef.java.embedded.framework.linux.core.IOFlags.O_CLOEXEC;
-import static io.quarkiverse.jef.java.embedded.framework.linux.core.IOFlags.O_RDONLY;
-
 import java.io.IOException;
-import java.util.EnumSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import io.quarkiverse.jef.java.embedded.framework.linux.core.Fcntl;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.Ioctl;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.io.FileHandle;
 
+/**
+ * Pin backed by GPIO character device v1 interface. State of pin is guarded by lock of pin, event stream closed
+ * from another thread releases line descriptor under the same lock.
+ */
 public class GpioPinImpl implements GpioPin {
+    private static final Logger log = Logger.getLogger(GpioPinImpl.class.getName());
+
+    private final GpioChip chip;
     private final int flags;
     private final String key;
     private final String path;
@@ -19,30 +24,24 @@ public class GpioPinImpl implements GpioPin {
     private final String name;
     private final String consumer;
     private final boolean locked;
+    private final GpioHandleData data = new GpioHandleData(new byte[1]);
 
+    private GpioLineSettings settings = new GpioLineSettings();
     private Direction direction;
     private int handle;
     private boolean closed;
+    private GpioEventStream events;
 
-    GpioPinImpl(String key, String path, int number) throws NativeIOException {
-        this.path = path;
+    GpioPinImpl(GpioChip chip, int number, GpioLineInfo line) {
+        this.chip = chip;
+        this.path = chip.getPath();
         this.number = number;
-        this.key = key;
+        this.key = path + "-" + number;
         this.closed = false;
-
-        try (FileHandle handle = openHandle(path)) {
-            GpioLineInfo line = new GpioLineInfo();
-            line.setOffset(number);
-            Ioctl ioctl = Ioctl.getInstance();
-            ioctl.ioctl(handle, Ioctl.getGpioGetLineInfoIoctl(), line);
-
-            this.flags = line.getFlags();
-            this.name = line.getName();
-            this.consumer = line.getConsumer();
-
-            this.locked = (flags & GpioLineInfo.Flags.GPIOLINE_FLAG_KERNEL.value) > 0;
-        }
-
+        this.flags = line.getFlags();
+        this.name = line.getName();
+        this.consumer = line.getConsumer();
+        this.locked = (flags & GpioLineInfo.Flags.GPIOLINE_FLAG_KERNEL.value) > 0;
     }
 
     @Override
@@ -61,7 +60,7 @@ public class GpioPinImpl implements GpioPin {
     }
 
     @Override
-    public Direction getDirection() {
+    public synchronized Direction getDirection() {
         return direction;
     }
 
@@ -72,31 +71,31 @@ public class GpioPinImpl implements GpioPin {
 
     @Override
     public State read() throws IOException {
+        return readRaw() ? State.HIGH : State.LOW;
+    }
+
+    @Override
+    public synchronized boolean readRaw() throws IOException {
         checkClosed();
         checkLocked();
         checkDirection();
 
-        /*
-         * if(this.handle < 0) {
-         * return (flags & GpioLineInfo.Flags.GPIOLINE_FLAG_ACTIVE_LOW.value) != 0
-         * ? State.LOW : State.HIGH;
-         * }
-         */
-
         if (Direction.OUTPUT.equals(this.direction)) {
             throw new IOException("Can't read from output pin " + path + "-" + number);
         }
 
-        GpioHandleData data = new GpioHandleData(new byte[1]);
         Ioctl ioctl = Ioctl.getInstance();
         ioctl.ioctl(handle, ioctl.getGpioHandleGetLineValuesIoctl(), data);
-
-        byte value = data.getValues()[0];
-        return value == 0 ? State.LOW : State.HIGH;
+        return data.getValues()[0] != 0;
     }
 
     @Override
     public void write(State state) throws IOException {
+        write(state == State.HIGH);
+    }
+
+    @Override
+    public synchronized void write(boolean active) throws IOException {
         checkClosed();
         checkLocked();
         checkDirection();
@@ -104,38 +103,61 @@ public class GpioPinImpl implements GpioPin {
             throw new IOException("Can't write to input pin " + path + "-" + number);
         }
 
-        byte value = (byte) (state == State.HIGH ? 1 : 0);
-        GpioHandleData data = new GpioHandleData(new byte[] { value });
-
+        data.getValues()[0] = (byte) (active ? 1 : 0);
         Ioctl ioctl = Ioctl.getInstance();
         ioctl.ioctl(handle, ioctl.getGpioHandleSetLineValuesIoctl(), data);
     }
 
-    public void setDirection(Direction direction) throws IOException {
+    public synchronized void setDirection(Direction direction) throws IOException {
         checkClosed();
         checkLocked();
-        if (this.handle > 0 && this.direction.equals(direction)) {
+        if (this.handle > 0 && direction.equals(this.direction)) {
             return;
         }
-        try (FileHandle fd = openHandle(this.path)) {
-            freeHandle();
-
-            int mode = Direction.INPUT.equals(direction) ? GpioHandleRequest.Flags.GPIOHANDLE_REQUEST_INPUT.value
-                    : GpioHandleRequest.Flags.GPIOHANDLE_REQUEST_OUTPUT.value;
-
-            GpioHandleRequest request = new GpioHandleRequest();
-            request.setLinesOffset(new int[] { number });
-            request.setFlags(mode);
-            request.setConsumerLabel("jef-gpio-manager");
-            request.setLines(1);
-            Ioctl ioctl = Ioctl.getInstance();
-
-            ioctl.ioctl(fd, ioctl.getGpioGetLineHandleIoctl(), request);
-            this.handle = request.getFd();
-            this.direction = direction;
+        request(direction);
+    }
+
+    @Override
+    public synchronized void configure(GpioLineSettings settings) throws IOException {
+        checkClosed();
+        checkLocked();
+        if (settings.getDebouncePeriod() != 0 || settings.getEventClock() != EventClock.MONOTONIC) {
+            throw new IOException("Debounce and event clock require GPIO v2 interface");
+        }
+        this.settings = new GpioLineSettings(settings);
+        // v1 handle can't be reconfigured, active event stream gets new settings on next request
+        if (handle > 0 && events == null) {
+            request(direction);
         }
     }
 
+    @Override
+    public synchronized GpioLineSettings getSettings() {
+        return new GpioLineSettings(settings);
+    }
+
+    @Override
+    public synchronized GpioEventStream events(Edge edge) throws IOException {
+        checkClosed();
+        checkLocked();
+        freeHandle();
+        this.direction = null;
+
+        GpioEventRequest request = new GpioEventRequest();
+        request.setLineOffset(number);
+        request.setHandleFlags(handleFlags(Direction.INPUT));
+        request.setEventFlags(edge.getEventFlags());
+        request.setConsumerLabel("jef-gpio-manager");
+        Ioctl ioctl = Ioctl.getInstance();
+
+        ioctl.ioctl(chip.getHandle(), ioctl.getGpioGetLineeventIoctl(), request);
+        this.handle = request.getFd();
+        this.direction = Direction.INPUT;
+
+        this.events = new GpioEventStream(key, new FileHandle(handle), this::release);
+        return events;
+    }
+
     @Override
     public boolean equals(Object obj) {
         return super.equals(obj);
@@ -147,12 +169,58 @@ public class GpioPinImpl implements GpioPin {
     }
 
     @Override
-    public void close() throws Exception {
+    public synchronized void close() throws Exception {
         freeHandle();
-        GpioManager.closePin(key);
+        chip.release(number, this);
         closed = true;
     }
 
+    private void request(Direction direction) throws IOException {
+        freeHandle();
+
+        GpioHandleRequest request = new GpioHandleRequest();
+        request.setLinesOffset(new int[] { number });
+        request.setFlags(handleFlags(direction));
+        request.setConsumerLabel("jef-gpio-manager");
+        request.setLines(1);
+        Ioctl ioctl = Ioctl.getInstance();
+
+        ioctl.ioctl(chip.getHandle(), ioctl.getGpioGetLineHandleIoctl(), request);
+        this.handle = request.getFd();
+        this.direction = direction;
+    }
+
+    private int handleFlags(Direction direction) {
+        int result;
+        if (Direction.INPUT.equals(direction)) {
+            result = GpioHandleRequest.Flags.GPIOHANDLE_REQUEST_INPUT.value;
+        } else {
+            result = GpioHandleRequest.Flags.GPIOHANDLE_REQUEST_OUTPUT.value;
+            if (settings.getDrive() == Drive.OPEN_DRAIN) {
+                result |= GpioHandleRequest.Flags.GPIOHANDLE_REQUEST_OPEN_DRAIN.value;
+            } else if (settings.getDrive() == Drive.OPEN_SOURCE) {
+                result |= GpioHandleRequest.Flags.GPIOHANDLE_REQUEST_OPEN_SOURCE.value;
+            }
+        }
+        if (settings.isActiveLow()) {
+            result |= GpioHandleRequest.Flags.GPIOHANDLE_REQUEST_ACTIVE_LOW.value;
+        }
+        switch (settings.getBias()) {
+            case PULL_UP:
+                result |= GpioHandleRequest.Flags.GPIOHANDLE_REQUEST_BIAS_PULL_UP.value;
+                break;
+            case PULL_DOWN:
+                result |= GpioHandleRequest.Flags.GPIOHANDLE_REQUEST_BIAS_PULL_DOWN.value;
+                break;
+            case DISABLED:
+                result |= GpioHandleRequest.Flags.GPIOHANDLE_REQUEST_BIAS_DISABLE.value;
+                break;
+            default:
+                break;
+        }
+        return result;
+    }
+
     private void checkDirection() throws IOException {
         if (direction == null) {
             throw new IOException("Gpio Pin direction not established");
@@ -171,13 +239,32 @@ public class GpioPinImpl implements GpioPin {
         }
     }
 
-    private FileHandle openHandle(String path) throws NativeIOException {
-        return Fcntl.getInstance().open(path, EnumSet.of(O_RDONLY, O_CLOEXEC));
-    }
-
     private void freeHandle() throws NativeIOException {
+        if (events != null) {
+            GpioEventStream stream = events;
+            events = null;
+            stream.close();
+        }
         if (handle > 0) {
             Fcntl.getInstance().close(handle);
         }
+        handle = 0;
+    }
+
+    /**
+     * Stream was closed by consumer, possibly on another thread. Event descriptor is closed here, under lock of
+     * pin, so concurrent read or write can't reach descriptor number after it was released.
+     */
+    private synchronized void release(GpioEventStream stream) {
+        if (events == stream) {
+            events = null;
+            try {
+                Fcntl.getInstance().close(handle);
+            } catch (NativeIOException e) {
+                log.log(Level.WARNING, e, () -> String.format("Unable to release event descriptor of '%s'", key));
+            }
+            handle = 0;
+            direction = null;
+        }
     }
 }
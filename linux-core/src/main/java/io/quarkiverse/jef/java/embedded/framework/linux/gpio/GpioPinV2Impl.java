@@ -0,0 +1,287 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.Fcntl;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.Ioctl;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.io.FileHandle;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineConfig.Flags;
+
+/**
+ * Pin backed by GPIO character device v2 interface (Linux 5.10+). Line is requested once and changed in place by
+ * {@code GPIO_V2_LINE_SET_CONFIG_IOCTL}, so direction, bias, drive and debounce changes don't release it and edge
+ * events are read from the same descriptor.
+ * <p>
+ * Shared line config is filled and applied under lock of pin, including when event stream is closed from another
+ * thread.
+ */
+class GpioPinV2Impl implements GpioPin {
+    private static final Logger log = Logger.getLogger(GpioPinV2Impl.class.getName());
+
+    private final GpioChip chip;
+    private final int flags;
+    private final String key;
+    private final String path;
+    private final int number;
+    private final String name;
+    private final String consumer;
+    private final boolean locked;
+    private final GpioV2LineConfig config = new GpioV2LineConfig();
+    private final GpioV2LineValues values = new GpioV2LineValues();
+
+    private GpioLineSettings settings = new GpioLineSettings();
+    private Direction direction;
+    private Edge edge;
+    private boolean value;
+    private int line;
+    private boolean closed;
+    private GpioEventStream events;
+
+    GpioPinV2Impl(GpioChip chip, int number, GpioLineInfo line) {
+        this.chip = chip;
+        this.path = chip.getPath();
+        this.number = number;
+        this.key = path + "-" + number;
+        this.flags = line.getFlags();
+        this.name = line.getName();
+        this.consumer = line.getConsumer();
+        this.locked = (flags & GpioLineInfo.Flags.GPIOLINE_FLAG_KERNEL.value) != 0;
+        this.values.setMask(1);
+    }
+
+    @Override
+    public int getPinNumber() {
+        return number;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getConsumer() {
+        return consumer;
+    }
+
+    @Override
+    public synchronized Direction getDirection() {
+        return direction;
+    }
+
+    @Override
+    public int getFlags() {
+        return flags;
+    }
+
+    @Override
+    public State read() throws IOException {
+        return readRaw() ? State.HIGH : State.LOW;
+    }
+
+    @Override
+    public synchronized boolean readRaw() throws IOException {
+        checkClosed();
+        checkLocked();
+        checkDirection();
+        if (Direction.OUTPUT.equals(this.direction)) {
+            throw new IOException("Can't read from output pin " + path + "-" + number);
+        }
+
+        Ioctl ioctl = Ioctl.getInstance();
+        ioctl.ioctl(line, ioctl.getGpioV2LineGetValuesIoctl(), values);
+        return (values.getBits() & 1) != 0;
+    }
+
+    @Override
+    public void write(State state) throws IOException {
+        write(state == State.HIGH);
+    }
+
+    @Override
+    public synchronized void write(boolean active) throws IOException {
+        checkClosed();
+        checkLocked();
+        checkDirection();
+        if (Direction.INPUT.equals(this.direction)) {
+            throw new IOException("Can't write to input pin " + path + "-" + number);
+        }
+
+        values.setBits(active ? 1 : 0);
+        Ioctl ioctl = Ioctl.getInstance();
+        ioctl.ioctl(line, ioctl.getGpioV2LineSetValuesIoctl(), values);
+        value = active;
+    }
+
+    @Override
+    public synchronized void setDirection(Direction direction) throws IOException {
+        checkClosed();
+        checkLocked();
+        if (line > 0 && direction.equals(this.direction) && events == null) {
+            return;
+        }
+        detachEvents();
+        apply(direction, null);
+    }
+
+    @Override
+    public synchronized void configure(GpioLineSettings settings) throws IOException {
+        checkClosed();
+        checkLocked();
+        GpioLineSettings previous = this.settings;
+        this.settings = new GpioLineSettings(settings);
+        if (line > 0) {
+            try {
+                apply(direction, edge);
+            } catch (IOException e) {
+                this.settings = previous;
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public synchronized GpioLineSettings getSettings() {
+        return new GpioLineSettings(settings);
+    }
+
+    @Override
+    public synchronized GpioEventStream events(Edge edge) throws IOException {
+        checkClosed();
+        checkLocked();
+        detachEvents();
+        apply(Direction.INPUT, edge);
+
+        this.events = new GpioEventStream(key, new FileHandle(line), GpioEventStream.V2_EVENT_SIZE,
+                this::release);
+        return events;
+    }
+
+    @Override
+    public synchronized void close() throws Exception {
+        freeLine();
+        chip.release(number, this);
+        closed = true;
+    }
+
+    /**
+     * Requests line or changes configuration of requested line
+     */
+    private void apply(Direction direction, Edge edge) throws IOException {
+        fillConfig(direction, edge);
+        Ioctl ioctl = Ioctl.getInstance();
+        if (line > 0) {
+            ioctl.ioctl(line, ioctl.getGpioV2LineSetConfigIoctl(), config);
+        } else {
+            GpioV2LineRequest request = new GpioV2LineRequest();
+            request.setOffsets(new int[] { number });
+            request.setConsumer("jef-gpio-manager");
+            request.setConfig(config);
+            ioctl.ioctl(chip.getHandle(), ioctl.getGpioV2GetLineIoctl(), request);
+            this.line = request.getFd();
+        }
+        this.direction = direction;
+        this.edge = edge;
+    }
+
+    private void fillConfig(Direction direction, Edge edge) {
+        config.clear();
+        long result;
+        if (Direction.INPUT.equals(direction)) {
+            result = Flags.GPIO_V2_LINE_FLAG_INPUT.value;
+            if (edge == Edge.RISING || edge == Edge.BOTH) {
+                result |= Flags.GPIO_V2_LINE_FLAG_EDGE_RISING.value;
+            }
+            if (edge == Edge.FALLING || edge == Edge.BOTH) {
+                result |= Flags.GPIO_V2_LINE_FLAG_EDGE_FALLING.value;
+            }
+            if (edge != null && settings.getEventClock() == EventClock.REALTIME) {
+                result |= Flags.GPIO_V2_LINE_FLAG_EVENT_CLOCK_REALTIME.value;
+            } else if (edge != null && settings.getEventClock() == EventClock.HTE) {
+                result |= Flags.GPIO_V2_LINE_FLAG_EVENT_CLOCK_HTE.value;
+            }
+            if (settings.getDebouncePeriod() > 0) {
+                config.addAttribute(GpioV2LineConfig.GPIO_V2_LINE_ATTR_ID_DEBOUNCE, settings.getDebouncePeriod(), 1);
+            }
+        } else {
+            result = Flags.GPIO_V2_LINE_FLAG_OUTPUT.value;
+            if (settings.getDrive() == Drive.OPEN_DRAIN) {
+                result |= Flags.GPIO_V2_LINE_FLAG_OPEN_DRAIN.value;
+            } else if (settings.getDrive() == Drive.OPEN_SOURCE) {
+                result |= Flags.GPIO_V2_LINE_FLAG_OPEN_SOURCE.value;
+            }
+            // output starts from last written value instead of kernel default
+            config.addAttribute(GpioV2LineConfig.GPIO_V2_LINE_ATTR_ID_OUTPUT_VALUES, value ? 1 : 0, 1);
+        }
+        if (settings.isActiveLow()) {
+            result |= Flags.GPIO_V2_LINE_FLAG_ACTIVE_LOW.value;
+        }
+        switch (settings.getBias()) {
+            case PULL_UP:
+                result |= Flags.GPIO_V2_LINE_FLAG_BIAS_PULL_UP.value;
+                break;
+            case PULL_DOWN:
+                result |= Flags.GPIO_V2_LINE_FLAG_BIAS_PULL_DOWN.value;
+                break;
+            case DISABLED:
+                result |= Flags.GPIO_V2_LINE_FLAG_BIAS_DISABLED.value;
+                break;
+            default:
+                break;
+        }
+        config.setFlags(result);
+    }
+
+    private void checkDirection() throws IOException {
+        if (direction == null) {
+            throw new IOException("Gpio Pin direction not established");
+        }
+    }
+
+    private void checkClosed() throws IOException {
+        if (closed) {
+            throw new IOException("Gpio Pin '" + key + "' is closed");
+        }
+    }
+
+    private void checkLocked() throws IOException {
+        if (locked) {
+            throw new IOException("Gpio Pin '" + key + "' locked by kernel");
+        }
+    }
+
+    private void detachEvents() {
+        if (events != null) {
+            GpioEventStream stream = events;
+            events = null;
+            stream.close();
+        }
+    }
+
+    private void freeLine() throws NativeIOException {
+        detachEvents();
+        if (line > 0) {
+            Fcntl.getInstance().close(line);
+        }
+        line = 0;
+        edge = null;
+        direction = null;
+    }
+
+    /**
+     * Stream was closed by consumer, line stays requested as input without edge detection
+     */
+    private synchronized void release(GpioEventStream stream) {
+        if (events == stream) {
+            events = null;
+            try {
+                apply(Direction.INPUT, null);
+            } catch (IOException e) {
+                log.log(Level.WARNING, e, () -> String.format("Unable to disable edge detection of '%s'", key));
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+/**
+ * Configuration of lines requested by {@code GPIO_V2_GET_LINE_IOCTL} or changed by
+ * {@code GPIO_V2_LINE_SET_CONFIG_IOCTL} ({@code struct gpio_v2_line_config}). Flags apply to all lines, attributes
+ * override them for lines selected by mask.
+ */
+@SuppressWarnings("unused")
+public class GpioV2LineConfig {
+    /**
+     * Maximal amount of attributes ({@code GPIO_V2_LINE_NUM_ATTRS_MAX})
+     */
+    public static final int NUM_ATTRS_MAX = 10;
+
+    public static final int GPIO_V2_LINE_ATTR_ID_FLAGS = 1;
+    public static final int GPIO_V2_LINE_ATTR_ID_OUTPUT_VALUES = 2;
+    public static final int GPIO_V2_LINE_ATTR_ID_DEBOUNCE = 3;
+
+    public enum Flags {
+        GPIO_V2_LINE_FLAG_USED(1L),
+        GPIO_V2_LINE_FLAG_ACTIVE_LOW(1L << 1),
+        GPIO_V2_LINE_FLAG_INPUT(1L << 2),
+        GPIO_V2_LINE_FLAG_OUTPUT(1L << 3),
+        GPIO_V2_LINE_FLAG_EDGE_RISING(1L << 4),
+        GPIO_V2_LINE_FLAG_EDGE_FALLING(1L << 5),
+        GPIO_V2_LINE_FLAG_OPEN_DRAIN(1L << 6),
+        GPIO_V2_LINE_FLAG_OPEN_SOURCE(1L << 7),
+        GPIO_V2_LINE_FLAG_BIAS_PULL_UP(1L << 8),
+        GPIO_V2_LINE_FLAG_BIAS_PULL_DOWN(1L << 9),
+        GPIO_V2_LINE_FLAG_BIAS_DISABLED(1L << 10),
+        GPIO_V2_LINE_FLAG_EVENT_CLOCK_REALTIME(1L << 11),
+        GPIO_V2_LINE_FLAG_EVENT_CLOCK_HTE(1L << 12);
+
+        final long value;
+
+        Flags(long value) {
+            this.value = value;
+        }
+
+        public long getValue() {
+            return value;
+        }
+    }
+
+    private final int[] ids = new int[NUM_ATTRS_MAX];
+    private final long[] values = new long[NUM_ATTRS_MAX];
+    private final long[] masks = new long[NUM_ATTRS_MAX];
+    private long flags;
+    private int attrs;
+
+    public GpioV2LineConfig() {
+    }
+
+    public GpioV2LineConfig(GpioV2LineConfig config) {
+        this.flags = config.flags;
+        this.attrs = config.attrs;
+        System.arraycopy(config.ids, 0, ids, 0, attrs);
+        System.arraycopy(config.values, 0, values, 0, attrs);
+        System.arraycopy(config.masks, 0, masks, 0, attrs);
+    }
+
+    public long getFlags() {
+        return flags;
+    }
+
+    public void setFlags(long flags) {
+        this.flags = flags;
+    }
+
+    public int getNumAttrs() {
+        return attrs;
+    }
+
+    public int getAttributeId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Value of attribute: flags, output values or debounce period in microseconds depending on id
+     *
+     * @param index index of attribute
+     * @return attribute value
+     */
+    public long getAttributeValue(int index) {
+        return values[index];
+    }
+
+    public long getAttributeMask(int index) {
+        return masks[index];
+    }
+
+    /**
+     * Finds value of attribute which applies to line
+     *
+     * @param id attribute id
+     * @param line index of line in request
+     * @param defaultValue value returned if no attribute applies
+     * @return attribute value
+     */
+    public long getAttribute(int id, int line, long defaultValue) {
+        for (int i = 0; i < attrs; i++) {
+            if (ids[i] == id && (masks[i] & (1L << line)) != 0) {
+                return values[i];
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Adds attribute applied to lines selected by mask
+     *
+     * @param id attribute id
+     * @param value attribute value
+     * @param mask bitmask of lines, bit {@code i} is {@code i}-th line of request
+     */
+    public void addAttribute(int id, long value, long mask) {
+        if (attrs == NUM_ATTRS_MAX) {
+            throw new IllegalStateException("Line config can't have more than " + NUM_ATTRS_MAX + " attributes");
+        }
+        ids[attrs] = id;
+        values[attrs] = value;
+        masks[attrs] = mask;
+        attrs++;
+    }
+
+    /**
+     * Removes flags and all attributes, so instance can be filled again
+     */
+    public void clear() {
+        flags = 0;
+        attrs = 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("GpioV2LineConfig{flags=0x").append(Long.toHexString(flags));
+        for (int i = 0; i < attrs; i++) {
+            sb.append(", attr{id=").append(ids[i])
+                    .append(", value=").append(values[i])
+                    .append(", mask=0x").append(Long.toHexString(masks[i])).append('}');
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,98 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineConfig.Flags;
+
+/**
+ * Information about line returned by {@code GPIO_V2_GET_LINEINFO_IOCTL} ({@code struct gpio_v2_line_info})
+ */
+@SuppressWarnings("unused")
+public class GpioV2LineInfo {
+    private int offset;
+    private long flags;
+    private int debouncePeriod;
+    private String name;
+    private String consumer;
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public void setOffset(int offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * Line flags, combination of {@link Flags} values
+     *
+     * @return flags
+     */
+    public long getFlags() {
+        return flags;
+    }
+
+    public void setFlags(long flags) {
+        this.flags = flags;
+    }
+
+    /**
+     * Debounce period reported by {@code GPIO_V2_LINE_ATTR_ID_DEBOUNCE} attribute
+     *
+     * @return period in microseconds or {@code 0} if line is not debounced
+     */
+    public int getDebouncePeriod() {
+        return debouncePeriod;
+    }
+
+    public void setDebouncePeriod(int debouncePeriod) {
+        this.debouncePeriod = debouncePeriod;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getConsumer() {
+        return consumer;
+    }
+
+    public void setConsumer(String consumer) {
+        this.consumer = consumer;
+    }
+
+    /**
+     * Flags translated to {@link GpioLineInfo.Flags} values returned by {@link GpioPin#getFlags()}
+     *
+     * @return v1 line flags
+     */
+    public int getLegacyFlags() {
+        int result = 0;
+        result |= map(Flags.GPIO_V2_LINE_FLAG_USED, GpioLineInfo.Flags.GPIOLINE_FLAG_KERNEL);
+        result |= map(Flags.GPIO_V2_LINE_FLAG_OUTPUT, GpioLineInfo.Flags.GPIOLINE_FLAG_IS_OUT);
+        result |= map(Flags.GPIO_V2_LINE_FLAG_ACTIVE_LOW, GpioLineInfo.Flags.GPIOLINE_FLAG_ACTIVE_LOW);
+        result |= map(Flags.GPIO_V2_LINE_FLAG_OPEN_DRAIN, GpioLineInfo.Flags.GPIOLINE_FLAG_OPEN_DRAIN);
+        result |= map(Flags.GPIO_V2_LINE_FLAG_OPEN_SOURCE, GpioLineInfo.Flags.GPIOLINE_FLAG_OPEN_SOURCE);
+        result |= map(Flags.GPIO_V2_LINE_FLAG_BIAS_PULL_UP, GpioLineInfo.Flags.GPIOLINE_FLAG_BIAS_PULL_UP);
+        result |= map(Flags.GPIO_V2_LINE_FLAG_BIAS_PULL_DOWN, GpioLineInfo.Flags.GPIOLINE_FLAG_BIAS_PULL_DOWN);
+        result |= map(Flags.GPIO_V2_LINE_FLAG_BIAS_DISABLED, GpioLineInfo.Flags.GPIOLINE_FLAG_BIAS_DISABLE);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "GpioV2LineInfo{" +
+                "offset=" + offset +
+                ", flags=" + flags +
+                ", debouncePeriod=" + debouncePeriod +
+                ", name='" + name + '\'' +
+                ", consumer='" + consumer + '\'' +
+                '}';
+    }
+
+    private int map(Flags from, GpioLineInfo.Flags to) {
+        return (flags & from.value) != 0 ? to.value : 0;
+    }
+}
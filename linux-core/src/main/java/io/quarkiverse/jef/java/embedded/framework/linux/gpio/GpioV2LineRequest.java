@@ -0,0 +1,70 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+/**
+ * Request of lines by {@code GPIO_V2_GET_LINE_IOCTL} ({@code struct gpio_v2_line_request}). Kernel returns line
+ * descriptor which reads and writes values, accepts new configuration and delivers edge events.
+ */
+@SuppressWarnings("unused")
+public class GpioV2LineRequest {
+    /**
+     * Maximal amount of lines in one request ({@code GPIO_V2_LINES_MAX})
+     */
+    public static final int LINES_MAX = 64;
+
+    private int[] offsets;
+    private byte[] consumer;
+    private GpioV2LineConfig config = new GpioV2LineConfig();
+    private int lines;
+    private int eventBufferSize;
+    private int fd;
+
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public void setOffsets(int[] offsets) {
+        this.offsets = offsets;
+        this.lines = offsets.length;
+    }
+
+    public byte[] getConsumer() {
+        return consumer;
+    }
+
+    public void setConsumer(String consumer) {
+        this.consumer = consumer.getBytes();
+    }
+
+    public GpioV2LineConfig getConfig() {
+        return config;
+    }
+
+    public void setConfig(GpioV2LineConfig config) {
+        this.config = config;
+    }
+
+    public int getLines() {
+        return lines;
+    }
+
+    /**
+     * Size of kernel event queue, {@code 0} selects default of 16 events per line
+     *
+     * @return amount of events
+     */
+    public int getEventBufferSize() {
+        return eventBufferSize;
+    }
+
+    public void setEventBufferSize(int eventBufferSize) {
+        this.eventBufferSize = eventBufferSize;
+    }
+
+    public int getFd() {
+        return fd;
+    }
+
+    public void setFd(int fd) {
+        this.fd = fd;
+    }
+}
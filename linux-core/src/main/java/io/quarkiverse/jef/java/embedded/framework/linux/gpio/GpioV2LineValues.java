@@ -0,0 +1,47 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+/**
+ * Values of requested lines ({@code struct gpio_v2_line_values}). Bit {@code i} is {@code i}-th line of request,
+ * only lines selected by mask are read or written.
+ */
+@SuppressWarnings("unused")
+public class GpioV2LineValues {
+    private long bits;
+    private long mask;
+    private Object attachment;
+
+    public long getBits() {
+        return bits;
+    }
+
+    public void setBits(long bits) {
+        this.bits = bits;
+    }
+
+    public long getMask() {
+        return mask;
+    }
+
+    public void setMask(long mask) {
+        this.mask = mask;
+    }
+
+    /**
+     * Attaches backend specific native copy of values, so instance kept by line is passed to kernel without new
+     * allocation on every read or write
+     *
+     * @param attachment object to attach or {@code null} to discard
+     */
+    public void attach(Object attachment) {
+        this.attachment = attachment;
+    }
+
+    /**
+     * Retrieves current attachment
+     *
+     * @return attached object or {@code null}
+     */
+    public Object attachment() {
+        return attachment;
+    }
+}
@@ -0,0 +1,572 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.gpio;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioPin.Direction;
+
+/**
+ * Software PWM and pulse trains on lines of one {@link GpioLineGroup}. Every line of group is a {@link Channel}.
+ * Edges of all running channels are merged into one timeline, which is planned a few milliseconds ahead and
+ * played by single thread: the thread parks until shortly before next edge, spins until its deadline and writes
+ * all lines of group with one {@code ioctl}. Edges of several channels falling on the same instant are one write.
+ * <p>
+ * Period and duty of channel are read when its next period starts, so they may be changed at any time without
+ * glitches and without rebuilding timeline. Channels started together start in phase.
+ *
+ * <pre>
+ * try (GpioLineGroup group = new GpioLineGroup("/dev/gpiochip0", Direction.OUTPUT, 12, 13);
+ *         GpioWaveformScheduler pwm = new GpioWaveformScheduler(group)) {
+ *     pwm.getChannel(0).setFrequency(1000).setDuty(0.25).start();
+ *     pwm.getChannel(1).setPeriod(20, TimeUnit.MILLISECONDS).setDuty(0.075).start();
+ *     pwm.start();
+ *     ...
+ *     pwm.getChannel(1).setDuty(0.1);
+ * }
+ * </pre>
+ *
+ * Lines of group must not be written by anybody else while scheduler runs. Thread runs with
+ * {@link Thread#MAX_PRIORITY}, which is honoured by JVM on Linux only with {@code -XX:ThreadPriorityPolicy=1}
+ * and sufficient privileges.
+ */
+@SuppressWarnings("unused")
+public class GpioWaveformScheduler implements AutoCloseable {
+    private static final Logger log = Logger.getLogger(GpioWaveformScheduler.class.getName());
+
+    /**
+     * Shortest allowed period of channel in nanoseconds
+     */
+    public static final long MIN_PERIOD = 1_000;
+
+    private static final int PLAN_SIZE = 64;
+    private static final long PLAN_HORIZON = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long IDLE_PARK = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final GpioLineGroup group;
+    private final Channel[] channels;
+    private final long[] times = new long[PLAN_SIZE];
+    private final long[] values = new long[PLAN_SIZE];
+    private final Object statisticsLock = new Object();
+    private volatile long spinThreshold = TimeUnit.MICROSECONDS.toNanos(200);
+    private volatile boolean running;
+    private volatile Thread thread;
+    private long levels;
+    private int size;
+    private int index;
+
+    private long count;
+    private long overruns;
+    private long min;
+    private long max;
+    private double sum;
+    private double squares;
+
+    /**
+     * Creates scheduler of output group, lines keep their values until channels are started
+     *
+     * @param group output lines, one channel per line
+     */
+    public GpioWaveformScheduler(GpioLineGroup group) {
+        if (!Direction.OUTPUT.equals(group.getDirection())) {
+            throw new IllegalArgumentException("Lines of " + group.getPath() + " are not outputs");
+        }
+        this.group = group;
+        this.channels = new Channel[group.size()];
+        for (int i = 0; i < channels.length; i++) {
+            channels[i] = new Channel(i);
+        }
+        resetStatistics();
+    }
+
+    /**
+     * Channel driving line {@code index} of group
+     *
+     * @param index index of line in group
+     * @return channel
+     */
+    public Channel getChannel(int index) {
+        return channels[index];
+    }
+
+    public int getChannelCount() {
+        return channels.length;
+    }
+
+    /**
+     * Sets how long before deadline thread stops parking and starts spinning. Longer time gives smaller jitter for
+     * more CPU time.
+     *
+     * @param time spin time
+     * @param unit unit of time
+     * @return this scheduler
+     */
+    public GpioWaveformScheduler setSpinThreshold(long time, TimeUnit unit) {
+        if (time < 0) {
+            throw new IllegalArgumentException("Spin threshold should not be negative");
+        }
+        this.spinThreshold = unit.toNanos(time);
+        return this;
+    }
+
+    /**
+     * Starts scheduler thread
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        levels = group.getValues();
+        size = 0;
+        index = 0;
+        running = true;
+        thread = new Thread(this::run, "jef-gpio-waveform");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops scheduler thread, lines keep their last values. Channels keep their state and continue in new phase
+     * after {@link #start()}.
+     *
+     * @throws InterruptedException if interrupted while waiting for thread
+     */
+    public synchronized void stop() throws InterruptedException {
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join();
+        thread = null;
+        for (Channel channel : channels) {
+            channel.nextEdge = Long.MAX_VALUE;
+            channel.periodStart = true;
+        }
+    }
+
+    /**
+     * Stops scheduler and drives lines of all channels low. Group is not closed.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            stop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while stopping waveform of " + group.getPath(), e);
+        }
+        group.write(0);
+    }
+
+    /**
+     * Timing of writes since start or last reset. Jitter is measured as delay between planned edge and moment
+     * thread was ready to write it.
+     *
+     * @return snapshot of statistics
+     */
+    public Statistics getStatistics() {
+        synchronized (statisticsLock) {
+            if (count == 0) {
+                return new Statistics(0, 0, 0, 0, 0, 0);
+            }
+            double mean = sum / count;
+            double deviation = Math.sqrt(Math.max(0, squares / count - mean * mean));
+            return new Statistics(count, overruns, min, max, mean, deviation);
+        }
+    }
+
+    public void resetStatistics() {
+        synchronized (statisticsLock) {
+            count = 0;
+            overruns = 0;
+            min = Long.MAX_VALUE;
+            max = Long.MIN_VALUE;
+            sum = 0;
+            squares = 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GpioWaveformScheduler{" +
+                "group=" + group +
+                ", running=" + running +
+                '}';
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                if (index == size && !plan()) {
+                    LockSupport.parkNanos(IDLE_PARK);
+                    continue;
+                }
+                long deadline = times[index];
+                long value = values[index];
+                index++;
+                long now = await(deadline);
+                if (!running) {
+                    break;
+                }
+                group.write(value);
+                record(now - deadline, index < size && now > times[index]);
+            }
+        } catch (IOException e) {
+            log.log(Level.WARNING, e, () -> String.format("Waveform of '%s' stopped", group.getPath()));
+            running = false;
+        }
+    }
+
+    /**
+     * Plans edges of next {@link #PLAN_HORIZON} nanoseconds, at most {@link #PLAN_SIZE} writes
+     *
+     * @return {@code true} if there is anything to write
+     */
+    private boolean plan() {
+        size = 0;
+        index = 0;
+        long start = System.nanoTime() + spinThreshold;
+        for (Channel channel : channels) {
+            channel.poll(start);
+        }
+        long current = levels;
+        while (size < PLAN_SIZE) {
+            long next = Long.MAX_VALUE;
+            for (Channel channel : channels) {
+                next = Math.min(next, channel.nextEdge);
+            }
+            if (next == Long.MAX_VALUE || next - start > PLAN_HORIZON) {
+                break;
+            }
+            long previous = current;
+            for (Channel channel : channels) {
+                if (channel.nextEdge == next) {
+                    current = channel.advance(current);
+                }
+            }
+            if (current != previous) {
+                times[size] = next;
+                values[size] = current;
+                size++;
+            }
+        }
+        levels = current;
+        return size > 0;
+    }
+
+    private long await(long deadline) {
+        long now;
+        while (running && (now = System.nanoTime()) < deadline) {
+            long remaining = deadline - now;
+            long spin = spinThreshold;
+            if (remaining > spin) {
+                LockSupport.parkNanos(remaining - spin);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+        return System.nanoTime();
+    }
+
+    private void record(long lateness, boolean overrun) {
+        synchronized (statisticsLock) {
+            count++;
+            if (overrun) {
+                overruns++;
+            }
+            min = Math.min(min, lateness);
+            max = Math.max(max, lateness);
+            sum += lateness;
+            squares += (double) lateness * lateness;
+        }
+    }
+
+    /**
+     * Waveform of one line. Settings are applied at start of next period, period and duty are applied together.
+     */
+    public final class Channel {
+        private static final long STOPPED = -1;
+        private static final long CONTINUOUS = 0;
+
+        private final int line;
+        private final long bit;
+        private volatile Timing timing;
+        private volatile long request = STOPPED;
+        private volatile int version;
+        private volatile boolean active;
+
+        // state owned by scheduler thread
+        private int seen;
+        private long remaining;
+        private long nextEdge = Long.MAX_VALUE;
+        private long periodEnd;
+        private boolean periodStart;
+
+        private Channel(int line) {
+            this.line = line;
+            this.bit = 1L << line;
+        }
+
+        /**
+         * Index of line in group
+         *
+         * @return line index
+         */
+        public int getLine() {
+            return line;
+        }
+
+        public Channel setFrequency(double frequency) {
+            if (!(frequency > 0)) {
+                throw new IllegalArgumentException("Frequency should be positive");
+            }
+            return setPeriod(Math.round(1e9 / frequency), TimeUnit.NANOSECONDS);
+        }
+
+        public Channel setPeriod(long period, TimeUnit unit) {
+            long nanos = unit.toNanos(period);
+            if (nanos < MIN_PERIOD) {
+                throw new IllegalArgumentException("Period should be at least " + MIN_PERIOD + "ns");
+            }
+            synchronized (this) {
+                Timing current = timing;
+                timing = new Timing(nanos, current != null ? current.duty : 0.5);
+            }
+            return this;
+        }
+
+        /**
+         * Sets part of period when line is high
+         *
+         * @param duty duty cycle in range 0..1
+         * @return this channel
+         */
+        public Channel setDuty(double duty) {
+            if (!(duty >= 0 && duty <= 1)) {
+                throw new IllegalArgumentException("Duty should be in range 0..1");
+            }
+            synchronized (this) {
+                Timing current = timing;
+                timing = new Timing(current != null ? current.period : 0, duty);
+            }
+            return this;
+        }
+
+        public long getPeriod(TimeUnit unit) {
+            Timing current = timing;
+            return current != null ? unit.convert(current.period, TimeUnit.NANOSECONDS) : 0;
+        }
+
+        public double getDuty() {
+            Timing current = timing;
+            return current != null ? current.duty : 0.5;
+        }
+
+        /**
+         * Starts continuous waveform
+         *
+         * @return this channel
+         */
+        public Channel start() {
+            return request(CONTINUOUS);
+        }
+
+        /**
+         * Starts train of pulses, line stays low after last period
+         *
+         * @param pulses amount of periods
+         * @return this channel
+         */
+        public Channel pulses(long pulses) {
+            if (pulses < 1) {
+                throw new IllegalArgumentException("Amount of pulses should be positive");
+            }
+            return request(pulses);
+        }
+
+        /**
+         * Stops waveform after current period, line stays low
+         *
+         * @return this channel
+         */
+        public Channel stop() {
+            return request(STOPPED);
+        }
+
+        /**
+         * Checks if channel has planned periods. Last periods of pulse train are planned shortly before they are
+         * written.
+         *
+         * @return {@code true} if channel runs
+         */
+        public boolean isActive() {
+            return active;
+        }
+
+        @Override
+        public String toString() {
+            return "Channel{" +
+                    "line=" + line +
+                    ", timing=" + timing +
+                    ", active=" + active +
+                    '}';
+        }
+
+        private synchronized Channel request(long request) {
+            Timing current = timing;
+            if (request != STOPPED && (current == null || current.period == 0)) {
+                throw new IllegalStateException("Period of channel " + line + " is not set");
+            }
+            this.request = request;
+            this.version++;
+            Thread worker = thread;
+            if (worker != null) {
+                LockSupport.unpark(worker);
+            }
+            return this;
+        }
+
+        /**
+         * Starts idle channel which got request or which was running when scheduler was stopped
+         */
+        private void poll(long start) {
+            if (nextEdge == Long.MAX_VALUE && (version != seen || active)) {
+                nextEdge = start;
+                periodStart = true;
+            }
+        }
+
+        /**
+         * Moves channel to its next edge
+         *
+         * @param levels values of lines before edge
+         * @return values of lines after edge
+         */
+        private long advance(long levels) {
+            long edge = nextEdge;
+            if (!periodStart) {
+                nextEdge = periodEnd;
+                periodStart = true;
+                return levels & ~bit;
+            }
+            int requested = version;
+            if (requested != seen) {
+                seen = requested;
+                remaining = request;
+            }
+            if (remaining == STOPPED) {
+                nextEdge = Long.MAX_VALUE;
+                active = false;
+                return levels & ~bit;
+            }
+            if (remaining > 0 && --remaining == 0) {
+                remaining = STOPPED;
+            }
+            active = true;
+            Timing current = timing;
+            if (current.high == 0) {
+                nextEdge = edge + current.period;
+                return levels & ~bit;
+            }
+            if (current.high == current.period) {
+                nextEdge = edge + current.period;
+                return levels | bit;
+            }
+            nextEdge = edge + current.high;
+            periodEnd = edge + current.period;
+            periodStart = false;
+            return levels | bit;
+        }
+    }
+
+    /**
+     * Jitter of scheduler writes in nanoseconds
+     */
+    public static final class Statistics {
+        private final long count;
+        private final long overruns;
+        private final long min;
+        private final long max;
+        private final double mean;
+        private final double deviation;
+
+        Statistics(long count, long overruns, long min, long max, double mean, double deviation) {
+            this.count = count;
+            this.overruns = overruns;
+            this.min = min;
+            this.max = max;
+            this.mean = mean;
+            this.deviation = deviation;
+        }
+
+        /**
+         * Amount of writes
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Amount of writes done after deadline of next write
+         */
+        public long getOverruns() {
+            return overruns;
+        }
+
+        public long getMin() {
+            return min;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public double getStandardDeviation() {
+            return deviation;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{" +
+                    "count=" + count +
+                    ", overruns=" + overruns +
+                    ", min=" + min +
+                    ", max=" + max +
+                    ", mean=" + String.format("%.1f", mean) +
+                    ", deviation=" + String.format("%.1f", deviation) +
+                    '}';
+        }
+    }
+
+    private static final class Timing {
+        private final long period;
+        private final long high;
+        private final double duty;
+
+        private Timing(long period, double duty) {
+            this.period = period;
+            this.duty = duty;
+            this.high = Math.min(period, Math.round(period * duty));
+        }
+
+        @Override
+        public String toString() {
+            return "Timing{" +
+                    "period=" + period +
+                    ", duty=" + duty +
+                    '}';
+        }
+    }
+}
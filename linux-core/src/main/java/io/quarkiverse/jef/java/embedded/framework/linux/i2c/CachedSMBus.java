@@ -0,0 +1,320 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.i2c;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.io.FileHandle;
+
+/**
+ * Write-through shadow copy of device registers over {@link SMBus}. Driver declares registers which change only
+ * when written by host (configuration, control) as cacheable. Reads of cacheable registers are served from memory
+ * after first access and every write goes to device and updates shadow copy. All other registers are volatile
+ * (status, measurement data) and always read from device.
+ * <p>
+ * Word and block operations use cache only if every covered register is cacheable. Commands without register
+ * ({@link #writeByte(int)}, {@link #i2cSmbusAccess(byte, long, int, byte[])} and other raw access) may change
+ * device state in unknown way, so they drop whole cache. Driver should call {@link #invalidate()} after device
+ * reset as well. Writes which bypass this object (another {@link SMBus} or {@link I2CInterface#batch}) are not
+ * observed.
+ * <p>
+ * Cache is guarded by the same lock as interface, so check and update are atomic for concurrent callers.
+ */
+@SuppressWarnings("unused")
+public class CachedSMBus implements SMBus {
+    private static final int REGISTERS = 256;
+
+    private final SMBus delegate;
+    private final boolean[] cacheable = new boolean[REGISTERS];
+    private final boolean[] valid = new boolean[REGISTERS];
+    private final byte[] values = new byte[REGISTERS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Wraps SMBus of device, all registers are volatile until declared cacheable
+     *
+     * @param delegate SMBus of device
+     */
+    public CachedSMBus(SMBus delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Declares registers as cacheable
+     *
+     * @param registers register addresses
+     * @return this cache
+     */
+    public CachedSMBus cacheable(int... registers) {
+        synchronized (synchLock()) {
+            for (int register : registers) {
+                cacheable[register & 0xFF] = true;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Declares register as volatile and drops its cached value
+     *
+     * @param register register address
+     * @return this cache
+     */
+    public CachedSMBus volatileRegister(int register) {
+        synchronized (synchLock()) {
+            cacheable[register & 0xFF] = false;
+            valid[register & 0xFF] = false;
+        }
+        return this;
+    }
+
+    /**
+     * Checks if register is served from cache
+     *
+     * @param register register address
+     * @return {@code true} if register is cacheable
+     */
+    public boolean isCacheable(int register) {
+        return cacheable[register & 0xFF];
+    }
+
+    /**
+     * Drops all cached values, next read of every register goes to device
+     */
+    public void invalidate() {
+        synchronized (synchLock()) {
+            Arrays.fill(valid, false);
+        }
+    }
+
+    /**
+     * Drops cached value of register
+     *
+     * @param register register address
+     */
+    public void invalidate(int register) {
+        synchronized (synchLock()) {
+            valid[register & 0xFF] = false;
+        }
+    }
+
+    /**
+     * Amount of reads of cacheable registers served from memory
+     *
+     * @return amount of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Amount of reads of cacheable registers which went to device
+     *
+     * @return amount of misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Resets hit and miss counters
+     */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Wrapped SMBus
+     *
+     * @return SMBus of device
+     */
+    public SMBus getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public int readByteData(int command) throws IOException {
+        int register = command & 0xFF;
+        synchronized (synchLock()) {
+            if (!cacheable[register]) {
+                return delegate.readByteData(command);
+            }
+            if (valid[register]) {
+                hits.increment();
+                return values[register];
+            }
+            misses.increment();
+            int value = delegate.readByteData(command);
+            store(register, (byte) value);
+            return value;
+        }
+    }
+
+    @Override
+    public int readWordData(int command) throws IOException {
+        int register = command & 0xFF;
+        synchronized (synchLock()) {
+            if (!isCacheable(register, 2)) {
+                return delegate.readWordData(command);
+            }
+            if (isValid(register, 2)) {
+                hits.increment();
+                return (short) (((values[register + 1] & 0xFF) << 8) | (values[register] & 0xFF));
+            }
+            misses.increment();
+            int value = delegate.readWordData(command);
+            store(register, (byte) value);
+            store(register + 1, (byte) (value >> 8));
+            return value;
+        }
+    }
+
+    @Override
+    public ByteBuffer readI2CBlockData(int command, int length) throws IOException {
+        int register = command & 0xFF;
+        synchronized (synchLock()) {
+            if (!isCacheable(register, length)) {
+                return delegate.readI2CBlockData(command, length);
+            }
+            if (isValid(register, length)) {
+                hits.increment();
+                byte[] result = new byte[length];
+                System.arraycopy(values, register, result, 0, length);
+                return ByteBuffer.wrap(result);
+            }
+            misses.increment();
+            ByteBuffer result = delegate.readI2CBlockData(command, length);
+            for (int i = 0; i < result.remaining(); i++) {
+                store(register + i, result.get(result.position() + i));
+            }
+            return result;
+        }
+    }
+
+    @Override
+    public void writeByteData(int command, int b) throws IOException {
+        int register = command & 0xFF;
+        synchronized (synchLock()) {
+            delegate.writeByteData(command, b);
+            store(register, (byte) b);
+        }
+    }
+
+    @Override
+    public void writeWordData(int command, int word) throws IOException {
+        int register = command & 0xFF;
+        synchronized (synchLock()) {
+            delegate.writeWordData(command, word);
+            store(register, (byte) word);
+            store(register + 1, (byte) (word >> 8));
+        }
+    }
+
+    @Override
+    public void writeI2CBlockData(int command, ByteBuffer buf) throws IOException {
+        int register = command & 0xFF;
+        synchronized (synchLock()) {
+            delegate.writeI2CBlockData(command, buf);
+            for (int i = 0; i < buf.remaining(); i++) {
+                store(register + i, buf.get(buf.position() + i));
+            }
+        }
+    }
+
+    @Override
+    public void usePEC(boolean usePEC) throws IOException {
+        delegate.usePEC(usePEC);
+    }
+
+    @Override
+    public void writeQuick(boolean isWrite) throws IOException {
+        delegate.writeQuick(isWrite);
+    }
+
+    @Override
+    public int readByte() throws IOException {
+        return delegate.readByte();
+    }
+
+    @Override
+    public ByteBuffer readBlockData(int command) throws IOException {
+        return delegate.readBlockData(command);
+    }
+
+    @Override
+    public void writeByte(int b) throws IOException {
+        synchronized (synchLock()) {
+            delegate.writeByte(b);
+            Arrays.fill(valid, false);
+        }
+    }
+
+    @Override
+    public void writeBlockData(int command, ByteBuffer buf) throws IOException {
+        synchronized (synchLock()) {
+            delegate.writeBlockData(command, buf);
+            Arrays.fill(valid, false);
+        }
+    }
+
+    @Override
+    public void i2cSmbusAccess(byte readWrite, long command, int size, byte[] data) throws IOException {
+        synchronized (synchLock()) {
+            delegate.i2cSmbusAccess(readWrite, command, size, data);
+            Arrays.fill(valid, false);
+        }
+    }
+
+    @Override
+    public I2CInterface getInterface() {
+        return delegate.getInterface();
+    }
+
+    @Override
+    public FileHandle fd() {
+        return delegate.fd();
+    }
+
+    @Override
+    public String toString() {
+        return "CachedSMBus{" +
+                "hits=" + getHits() +
+                ", misses=" + getMisses() +
+                '}';
+    }
+
+    private void store(int register, byte value) {
+        if (register < REGISTERS && cacheable[register]) {
+            values[register] = value;
+            valid[register] = true;
+        }
+    }
+
+    private boolean isCacheable(int register, int length) {
+        if (register + length > REGISTERS) {
+            return false;
+        }
+        for (int i = register; i < register + length; i++) {
+            if (!cacheable[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isValid(int register, int length) {
+        for (int i = register; i < register + length; i++) {
+            if (!valid[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Object synchLock() {
+        return delegate.getInterface().synchLock();
+    }
+}
@@ -0,0 +1,290 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.i2c;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.SmBusConstants;
+
+/**
+ * Queue of register operations executed by {@link I2CInterface#batch(I2CBatch, java.util.function.Consumer)}
+ * under one bus lock and one slave selection. If adapter supports plain I2C all operations are merged into
+ * {@code I2C_RDWR} requests (up to {@link I2CMessage#MAX_MESSAGES} messages each), otherwise they are executed
+ * as SMBus commands one by one.
+ * <p>
+ * After execution the same object holds results, operation index is the order of queueing. Instance may be kept
+ * and reused for every batch: buffers and messages are allocated once. Instance is not thread safe.
+ *
+ * <pre>
+ * I2CBatch batch = new I2CBatch();
+ * iface.batch(batch, ops -&gt; ops.readByteData(0xF3).readBlock(0xF7, 6));
+ * int status = batch.getByte(0);
+ * ByteBuffer data = batch.getBlock(1);
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public final class I2CBatch {
+    private static final int READ_BYTE = 0;
+    private static final int READ_WORD = 1;
+    private static final int READ_BLOCK = 2;
+    private static final int WRITE_BYTE = 3;
+    private static final int WRITE_WORD = 4;
+    private static final int WRITE_BLOCK = 5;
+
+    private static final int BLOCK_MAX = SmBusConstants.I2C_SMBUS_BLOCK_MAX;
+
+    private Operation[] operations = new Operation[8];
+    private I2CMessage[] messages = new I2CMessage[0];
+    private int size;
+    private boolean executed;
+
+    /**
+     * Removes all queued operations and results
+     *
+     * @return this batch
+     */
+    public I2CBatch clear() {
+        size = 0;
+        executed = false;
+        return this;
+    }
+
+    /**
+     * Amount of queued operations
+     *
+     * @return amount of operations
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Queues read of single register, see {@link SMBus#readByteData(int)}
+     *
+     * @param register register address
+     * @return this batch
+     */
+    public I2CBatch readByteData(int register) {
+        next(READ_BYTE, register, 1);
+        return this;
+    }
+
+    /**
+     * Queues read of 16-bit register (low byte first), see {@link SMBus#readWordData(int)}
+     *
+     * @param register register address
+     * @return this batch
+     */
+    public I2CBatch readWordData(int register) {
+        next(READ_WORD, register, 2);
+        return this;
+    }
+
+    /**
+     * Queues read of consecutive registers, see {@link SMBus#readI2CBlockData(int, int)}
+     *
+     * @param register first register address
+     * @param length amount of bytes (1 to 32)
+     * @return this batch
+     */
+    public I2CBatch readBlock(int register, int length) {
+        checkLength(length);
+        next(READ_BLOCK, register, length);
+        return this;
+    }
+
+    /**
+     * Queues write of single register, see {@link SMBus#writeByteData(int, int)}
+     *
+     * @param register register address
+     * @param value register value
+     * @return this batch
+     */
+    public I2CBatch writeByteData(int register, int value) {
+        next(WRITE_BYTE, register, 1).tx.put((byte) value);
+        return this;
+    }
+
+    /**
+     * Queues write of 16-bit register (low byte first), see {@link SMBus#writeWordData(int, int)}
+     *
+     * @param register register address
+     * @param value register value
+     * @return this batch
+     */
+    public I2CBatch writeWordData(int register, int value) {
+        next(WRITE_WORD, register, 2).tx.put((byte) value).put((byte) (value >> 8));
+        return this;
+    }
+
+    /**
+     * Queues write of remaining bytes of buffer to consecutive registers, see
+     * {@link SMBus#writeI2CBlockData(int, ByteBuffer)}. Bytes are copied, position of buffer is not changed.
+     *
+     * @param register first register address
+     * @param data bytes to write (1 to 32)
+     * @return this batch
+     */
+    public I2CBatch writeBlock(int register, ByteBuffer data) {
+        checkLength(data.remaining());
+        next(WRITE_BLOCK, register, data.remaining()).tx.put(data.duplicate());
+        return this;
+    }
+
+    /**
+     * Result of {@link #readByteData(int)} operation
+     *
+     * @param index operation index
+     * @return register value
+     */
+    public int getByte(int index) {
+        return result(index, READ_BYTE).rx.get(0);
+    }
+
+    /**
+     * Result of {@link #readWordData(int)} operation
+     *
+     * @param index operation index
+     * @return register value
+     */
+    public int getWord(int index) {
+        ByteBuffer rx = result(index, READ_WORD).rx;
+        return (short) (((rx.get(1) & 0xFF) << 8) | (rx.get(0) & 0xFF));
+    }
+
+    /**
+     * Result of {@link #readBlock(int, int)} operation. Returned buffer is owned by batch and is valid until
+     * next execution.
+     *
+     * @param index operation index
+     * @return read bytes
+     */
+    public ByteBuffer getBlock(int index) {
+        ByteBuffer rx = result(index, READ_BLOCK).rx;
+        rx.position(0).limit(operations[index].length);
+        return rx;
+    }
+
+    /**
+     * Executes operations as {@code I2C_RDWR} requests. Caller must hold bus lock.
+     */
+    void transfer(I2CBus bus, int address) throws IOException {
+        int flags = bus.isTenBits() ? I2CMessage.I2C_M_TEN : 0;
+        ensureMessages(size * 2);
+
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            Operation operation = operations[i];
+            boolean read = operation.type <= READ_BLOCK;
+            if (count + (read ? 2 : 1) > I2CMessage.MAX_MESSAGES) {
+                bus.transfer(messages, count);
+                count = 0;
+            }
+            operation.tx.flip();
+            messages[count++].set(address, flags, operation.tx);
+            if (read) {
+                operation.rx.clear().limit(operation.length);
+                messages[count++].set(address, flags | I2CMessage.I2C_M_RD, operation.rx);
+            }
+        }
+        if (count > 0) {
+            bus.transfer(messages, count);
+        }
+        executed = true;
+    }
+
+    /**
+     * Executes operations as SMBus commands. Caller must hold bus lock and select device.
+     */
+    void execute(SMBus smBus) throws IOException {
+        for (int i = 0; i < size; i++) {
+            Operation operation = operations[i];
+            ByteBuffer tx = operation.tx;
+            ByteBuffer rx = operation.rx;
+            switch (operation.type) {
+                case READ_BYTE:
+                    rx.put(0, (byte) smBus.readByteData(operation.register));
+                    break;
+                case READ_WORD:
+                    int word = smBus.readWordData(operation.register);
+                    rx.put(0, (byte) word).put(1, (byte) (word >> 8));
+                    break;
+                case READ_BLOCK:
+                    rx.clear();
+                    rx.put(smBus.readI2CBlockData(operation.register, operation.length));
+                    break;
+                case WRITE_BYTE:
+                    smBus.writeByteData(operation.register, tx.get(1));
+                    break;
+                case WRITE_WORD:
+                    smBus.writeWordData(operation.register, (tx.get(1) & 0xFF) | ((tx.get(2) & 0xFF) << 8));
+                    break;
+                default:
+                    tx.flip().position(1);
+                    smBus.writeI2CBlockData(operation.register, tx);
+                    break;
+            }
+        }
+        executed = true;
+    }
+
+    private Operation next(int type, int register, int length) {
+        if (executed) {
+            clear();
+        }
+        if (size == operations.length) {
+            Operation[] grown = new Operation[size * 2];
+            System.arraycopy(operations, 0, grown, 0, size);
+            operations = grown;
+        }
+        Operation operation = operations[size];
+        if (operation == null) {
+            operation = operations[size] = new Operation();
+        }
+        size++;
+        operation.type = type;
+        operation.register = register;
+        operation.length = length;
+        operation.tx.clear();
+        operation.tx.put((byte) register);
+        return operation;
+    }
+
+    private Operation result(int index, int type) {
+        if (!executed) {
+            throw new IllegalStateException("Batch is not executed");
+        }
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Operation index " + index + " out of range 0.." + (size - 1));
+        }
+        Operation operation = operations[index];
+        if (operation.type != type) {
+            throw new IllegalArgumentException("Operation " + index + " has another type");
+        }
+        return operation;
+    }
+
+    private void ensureMessages(int capacity) {
+        if (capacity > messages.length) {
+            I2CMessage[] grown = new I2CMessage[Math.max(capacity, messages.length * 2)];
+            System.arraycopy(messages, 0, grown, 0, messages.length);
+            for (int i = messages.length; i < grown.length; i++) {
+                grown[i] = new I2CMessage();
+            }
+            messages = grown;
+        }
+    }
+
+    private static void checkLength(int length) {
+        if (length < 1 || length > BLOCK_MAX) {
+            throw new IllegalArgumentException("Block length should be in range 1.." + BLOCK_MAX);
+        }
+    }
+
+    private static final class Operation {
+        private final ByteBuffer tx = ByteBuffer.allocate(BLOCK_MAX + 1);
+        private final ByteBuffer rx = ByteBuffer.allocate(BLOCK_MAX);
+        private int type;
+        private int register;
+        private int length;
+    }
+}
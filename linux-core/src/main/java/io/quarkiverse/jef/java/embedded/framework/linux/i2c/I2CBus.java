@@ -48,11 +48,44 @@ public interface I2CBus {
 
     boolean isTenBits();
 
+    void transfer(I2CMessage[] messages, int count) throws NativeIOException;
+
+    long getIssuedSelects();
+
+    long getSkippedSelects();
+
     List<Status> enumerate();
 
+    /**
+     * Checks presence of device on address the same way as {@code i2cdetect}: read of byte for EEPROM ranges
+     * ({@code 0x30-0x37}, {@code 0x50-0x5F}) and quick write otherwise
+     *
+     * @param address 7-bit device address
+     * @return status of address
+     */
+    Status probe(int address);
+
     String getPath();
 
+    /**
+     * Opens private instance of bus with own file descriptor
+     *
+     * @param path path to I2C bus in Linux file system
+     * @return new bus
+     * @throws NativeIOException if I2C bus not available
+     */
     static I2CBus create(String path) throws NativeIOException {
         return new I2CBusImpl(path);
     }
+
+    /**
+     * Returns bus shared by all users of path, see {@link I2CBusRegistry}
+     *
+     * @param path path to I2C bus in Linux file system
+     * @return shared bus
+     * @throws NativeIOException if I2C bus not available
+     */
+    static I2CBus shared(String path) throws NativeIOException {
+        return I2CBusRegistry.get(path);
+    }
 }
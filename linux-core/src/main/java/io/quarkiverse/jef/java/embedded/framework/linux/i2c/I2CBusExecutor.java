@@ -0,0 +1,439 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.i2c;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@link I2CBusExecutor} class provides asynchronous front end for {@link I2CBus} with priority classes.
+ * Requests are drained by single I/O thread in order of {@link I2CPriority}, then deadline, then submission, so
+ * critical writes overtake queued bulk reads. Request which was not started before its deadline is failed with
+ * {@link TimeoutException} without touching the bus.
+ * <p>
+ * Pending {@link I2CPriority#BULK} reads of the same register of the same device are coalesced: later callers
+ * receive result of the request already in queue. Any other operation submitted for device may write it, so reads
+ * queued before it are not shared with reads submitted after it. Queue wait time is measured per priority class,
+ * so latency targets can be checked at runtime.
+ */
+@SuppressWarnings("unused")
+public class I2CBusExecutor implements AutoCloseable {
+    private static final Logger log = Logger.getLogger(I2CBusExecutor.class.getName());
+
+    private final I2CBus bus;
+    private final int queueDepth;
+    private final PriorityBlockingQueue<Request<?>> queue = new PriorityBlockingQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<ReadKey, Request<?>> coalescable = new ConcurrentHashMap<>();
+    private final Map<I2CPriority, WaitStatistics> statistics = new EnumMap<>(I2CPriority.class);
+    private final LongAdder deadlineMisses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final Thread worker;
+    private volatile boolean closed;
+
+    /**
+     * Allocates new executor and starts I/O thread
+     *
+     * @param bus I2C bus
+     * @param queueDepth maximal amount of pending requests
+     */
+    public I2CBusExecutor(I2CBus bus, int queueDepth) {
+        if (queueDepth < 1) {
+            throw new IllegalArgumentException("Queue depth should be positive: " + queueDepth);
+        }
+        this.bus = bus;
+        this.queueDepth = queueDepth;
+        for (I2CPriority priority : I2CPriority.values()) {
+            statistics.put(priority, new WaitStatistics());
+        }
+        this.worker = new Thread(this::run, "jef-i2c-executor " + bus.getPath());
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Bus served by executor
+     *
+     * @return I2C bus
+     */
+    public I2CBus getBus() {
+        return bus;
+    }
+
+    /**
+     * Submits operation without deadline
+     *
+     * @param device target device
+     * @param priority priority class
+     * @param operation operation to execute on I/O thread
+     * @param <T> type of result
+     * @return future completed with result of operation
+     */
+    public <T> CompletableFuture<T> submit(I2CInterface device, I2CPriority priority, Operation<T> operation) {
+        return submit(device, priority, 0, TimeUnit.NANOSECONDS, operation);
+    }
+
+    /**
+     * Submits operation which must be started within {@code timeout}. Future is failed with
+     * {@link RejectedExecutionException} if queue is full or executor is closed and with {@link TimeoutException}
+     * if deadline passed before operation was started.
+     *
+     * @param device target device
+     * @param priority priority class
+     * @param timeout time to deadline or {@code 0} for no deadline
+     * @param unit unit of timeout
+     * @param operation operation to execute on I/O thread
+     * @param <T> type of result
+     * @return future completed with result of operation
+     */
+    public <T> CompletableFuture<T> submit(I2CInterface device, I2CPriority priority, long timeout, TimeUnit unit,
+            Operation<T> operation) {
+        // operation may change registers, later reads must not get result of read queued before it
+        forget(device);
+        return enqueue(new Request<>(device, priority, deadline(timeout, unit), sequence.getAndIncrement(), operation));
+    }
+
+    /**
+     * Reads register, see {@link SMBus#readByteData(int)}
+     *
+     * @param device target device
+     * @param register register address
+     * @param priority priority class
+     * @return future completed with register value
+     */
+    public CompletableFuture<Integer> readByteData(I2CInterface device, int register, I2CPriority priority) {
+        return read(device, register, -1, priority, iface -> iface.getSmBus().readByteData(register));
+    }
+
+    /**
+     * Reads 16-bit register, see {@link SMBus#readWordData(int)}
+     *
+     * @param device target device
+     * @param register register address
+     * @param priority priority class
+     * @return future completed with register value
+     */
+    public CompletableFuture<Integer> readWordData(I2CInterface device, int register, I2CPriority priority) {
+        return read(device, register, -2, priority, iface -> iface.getSmBus().readWordData(register));
+    }
+
+    /**
+     * Reads consecutive registers, see {@link SMBus#readI2CBlockData(int, int)}. Coalesced callers receive
+     * read-only views of the same content.
+     *
+     * @param device target device
+     * @param register first register address
+     * @param length amount of bytes
+     * @param priority priority class
+     * @return future completed with read bytes
+     */
+    public CompletableFuture<ByteBuffer> readI2CBlockData(I2CInterface device, int register, int length,
+            I2CPriority priority) {
+        return read(device, register, length, priority,
+                iface -> iface.getSmBus().readI2CBlockData(register, length).asReadOnlyBuffer());
+    }
+
+    /**
+     * Writes register, see {@link SMBus#writeByteData(int, int)}
+     *
+     * @param device target device
+     * @param register register address
+     * @param value register value
+     * @param priority priority class
+     * @return future completed after write
+     */
+    public CompletableFuture<Void> writeByteData(I2CInterface device, int register, int value, I2CPriority priority) {
+        return submit(device, priority, iface -> {
+            iface.getSmBus().writeByteData(register, value);
+            return null;
+        });
+    }
+
+    /**
+     * Amount of pending requests
+     *
+     * @return queue size
+     */
+    public int getQueueSize() {
+        return pending.get();
+    }
+
+    /**
+     * Average time between submission and start of execution
+     *
+     * @param priority priority class
+     * @param unit time unit of result
+     * @return average queue wait time
+     */
+    public long getAverageWaitTime(I2CPriority priority, TimeUnit unit) {
+        WaitStatistics stat = statistics.get(priority);
+        long count = stat.count.sum();
+        return count == 0 ? 0 : unit.convert(stat.nanos.sum() / count, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Longest time between submission and start of execution
+     *
+     * @param priority priority class
+     * @param unit time unit of result
+     * @return maximal queue wait time
+     */
+    public long getMaxWaitTime(I2CPriority priority, TimeUnit unit) {
+        return unit.convert(statistics.get(priority).max.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Amount of executed requests
+     *
+     * @param priority priority class
+     * @return amount of requests
+     */
+    public long getExecuted(I2CPriority priority) {
+        return statistics.get(priority).count.sum();
+    }
+
+    /**
+     * Amount of requests failed because deadline passed in queue
+     *
+     * @return amount of missed deadlines
+     */
+    public long getDeadlineMisses() {
+        return deadlineMisses.sum();
+    }
+
+    /**
+     * Amount of bulk reads served by request already in queue
+     *
+     * @return amount of coalesced reads
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Resets wait time and counters
+     */
+    public void resetStatistics() {
+        for (WaitStatistics stat : statistics.values()) {
+            stat.count.reset();
+            stat.nanos.reset();
+            stat.max.set(0);
+        }
+        deadlineMisses.reset();
+        coalesced.reset();
+    }
+
+    /**
+     * Stops I/O thread. Pending requests are failed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        worker.interrupt();
+        failPending();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> read(I2CInterface device, int register, int length, I2CPriority priority,
+            Operation<T> operation) {
+        if (priority != I2CPriority.BULK) {
+            return enqueue(new Request<>(device, priority, 0, sequence.getAndIncrement(), operation));
+        }
+        ReadKey key = new ReadKey(device, register, length);
+        Request<T> request = new Request<>(device, priority, 0, sequence.getAndIncrement(), operation);
+        request.key = key;
+        Request<?> existing = coalescable.putIfAbsent(key, request);
+        if (existing != null) {
+            coalesced.increment();
+            return (CompletableFuture<T>) existing.future.thenApply(
+                    r -> r instanceof ByteBuffer ? ((ByteBuffer) r).duplicate() : r);
+        }
+        return enqueue(request);
+    }
+
+    private <T> CompletableFuture<T> enqueue(Request<T> request) {
+        if (closed) {
+            reject(request, "I2C executor is closed");
+        } else if (pending.incrementAndGet() > queueDepth) {
+            pending.decrementAndGet();
+            reject(request, "I2C executor queue for " + bus.getPath() + " is full");
+        } else {
+            queue.offer(request);
+            if (closed) {
+                // executor was closed after check above, its drain may have missed this request
+                failPending();
+            }
+        }
+        return request.future;
+    }
+
+    private void failPending() {
+        List<Request<?>> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        pending.addAndGet(-rest.size());
+        for (Request<?> request : rest) {
+            reject(request, "I2C executor is closed");
+        }
+    }
+
+    private void forget(I2CInterface device) {
+        coalescable.keySet().removeIf(key -> key.device.getAddress() == device.getAddress()
+                && key.device.getPath().equals(device.getPath()));
+    }
+
+    private void reject(Request<?> request, String message) {
+        if (request.key != null) {
+            coalescable.remove(request.key, request);
+        }
+        request.future.completeExceptionally(new RejectedExecutionException(message));
+    }
+
+    private void run() {
+        while (!closed) {
+            Request<?> request;
+            try {
+                request = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            pending.decrementAndGet();
+            if (request.key != null) {
+                coalescable.remove(request.key, request);
+            }
+
+            long start = System.nanoTime();
+            if (request.deadline != 0 && start - request.deadline > 0) {
+                deadlineMisses.increment();
+                request.future.completeExceptionally(new TimeoutException(
+                        "I2C request for address " + request.device.getAddress() + " missed deadline"));
+                continue;
+            }
+            statistics.get(request.priority).record(start - request.submitted);
+            request.execute(log);
+        }
+    }
+
+    private static long deadline(long timeout, TimeUnit unit) {
+        if (timeout <= 0) {
+            return 0;
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        return deadline == 0 ? 1 : deadline;
+    }
+
+    /**
+     * Operation executed on I/O thread
+     *
+     * @param <T> type of result
+     */
+    @FunctionalInterface
+    public interface Operation<T> {
+        T execute(I2CInterface device) throws IOException;
+    }
+
+    private static final class Request<T> implements Comparable<Request<?>> {
+        private final I2CInterface device;
+        private final I2CPriority priority;
+        private final long deadline;
+        private final long sequence;
+        private final long submitted = System.nanoTime();
+        private final Operation<T> operation;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private ReadKey key;
+
+        Request(I2CInterface device, I2CPriority priority, long deadline, long sequence, Operation<T> operation) {
+            this.device = Objects.requireNonNull(device);
+            this.priority = Objects.requireNonNull(priority);
+            this.deadline = deadline;
+            this.sequence = sequence;
+            this.operation = operation;
+        }
+
+        void execute(Logger log) {
+            try {
+                future.complete(operation.execute(device));
+            } catch (Throwable e) {
+                log.log(Level.WARNING, e, () -> String.format("I2C request for '%s' address '%d' failed",
+                        device.getPath(), device.getAddress()));
+                future.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public int compareTo(Request<?> other) {
+            int result = priority.compareTo(other.priority);
+            if (result != 0) {
+                return result;
+            }
+            if (deadline != other.deadline) {
+                if (deadline == 0) {
+                    return 1;
+                }
+                if (other.deadline == 0) {
+                    return -1;
+                }
+                return deadline - other.deadline < 0 ? -1 : 1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static final class ReadKey {
+        private final I2CInterface device;
+        private final int register;
+        private final int length;
+
+        ReadKey(I2CInterface device, int register, int length) {
+            this.device = device;
+            this.register = register;
+            this.length = length;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ReadKey)) {
+                return false;
+            }
+            ReadKey other = (ReadKey) o;
+            return register == other.register && length == other.length
+                    && device.getAddress() == other.device.getAddress()
+                    && device.getPath().equals(other.device.getPath());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(device.getPath(), device.getAddress(), register, length);
+        }
+    }
+
+    private static final class WaitStatistics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long waited) {
+            count.increment();
+            nanos.add(waited);
+            max.accumulateAndGet(waited, Math::max);
+        }
+    }
+}
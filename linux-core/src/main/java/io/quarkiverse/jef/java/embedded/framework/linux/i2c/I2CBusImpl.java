@@ -2,9 +2,11 @@
 package io.quarkiverse.jef.java.embedded.framework.linux.i2c;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -53,7 +55,10 @@ public class I2CBusImpl implements I2CBus {
     private final String path;
     private final long func;
     private boolean tenBits;
-    private int selectedAddress;
+    private final LongAdder issuedSelects = new LongAdder();
+    private final LongAdder skippedSelects = new LongAdder();
+    // address currently selected on descriptor, -1 if unknown
+    private int selectedAddress = -1;
     private int timeout;
     private int retries;
 
@@ -219,62 +224,100 @@ public class I2CBusImpl implements I2CBus {
      */
     @Override
     public void selectSlave(int address, boolean force) throws NativeIOException {
-        log.log(Level.FINEST, () -> String.format("select slave address '%d' force '%b' for bus '%s'", address, force, path));
         if (selectedAddress != address) {
+            selectedAddress = -1;
             ioctl(fd, force ? I2C_SLAVE_FORCE : I2C_SLAVE, address & 0xffffffffL);
-            log.log(Level.FINEST,
-                    () -> String.format("slave address selected '%d' force '%b' for bus '%s'", address, force, path));
+            issuedSelects.increment();
+            if (log.isLoggable(Level.FINEST)) {
+                log.log(Level.FINEST,
+                        String.format("slave address selected '%d' force '%b' for bus '%s'", address, force, path));
+            }
             selectedAddress = address;
         } else {
-            log.log(Level.FINEST, () -> String
-                    .format("skip selecting slave address. Current address '%d' already selected for bus '%s'", address, path));
+            skippedSelects.increment();
+            if (log.isLoggable(Level.FINEST)) {
+                log.log(Level.FINEST, String
+                        .format("skip selecting slave address. Current address '%d' already selected for bus '%s'", address,
+                                path));
+            }
         }
     }
 
+    /**
+     * Amount of {@code I2C_SLAVE} requests sent to kernel
+     *
+     * @return amount of issued selects
+     */
+    @Override
+    public long getIssuedSelects() {
+        return issuedSelects.sum();
+    }
+
+    /**
+     * Amount of selections skipped because address was already selected on descriptor
+     *
+     * @return amount of skipped selects
+     */
+    @Override
+    public long getSkippedSelects() {
+        return skippedSelects.sum();
+    }
+
     /**
      * Return status of all I2C addresses in I2C bus.
      * 
      * @return list of statuses for addresses in bus
      */
     @Override
-    public List<Status> enumerate() {
-        List<Status> result = new ArrayList<>(MAX_7BIT_DEVICES);
-        SMBusImpl smBus = (SMBusImpl) getInterface(0).getSmBus();
-
-        int cmd;
+    public synchronized List<Status> enumerate() {
+        List<Status> result = new ArrayList<>(MAX_7BIT_DEVICES + 1);
         for (int i = 0; i <= MAX_7BIT_DEVICES; i++) {
+            result.add(probe(i));
+        }
+        return result;
+    }
 
-            if ((i >= 0x30 && i <= 0x37) || (i >= 0x50 && i <= 0x5f)) {
-                cmd = I2C_MODE_READ;
-            } else {
-                cmd = I2C_MODE_QUICK;
-            }
+    /**
+     * Checks presence of device on address. Quick write may corrupt some EEPROMs, so EEPROM ranges are probed
+     * with read of byte as {@code i2cdetect} does.
+     *
+     * @param address 7-bit device address
+     * @return status of address
+     */
+    @Override
+    public synchronized Status probe(int address) {
+        if (address < 0 || address > MAX_7BIT_DEVICES) {
+            throw new IllegalArgumentException("Address should be in range 0.." + MAX_7BIT_DEVICES);
+        }
+        int cmd;
+        if ((address >= 0x30 && address <= 0x37) || (address >= 0x50 && address <= 0x5f)) {
+            cmd = I2C_MODE_READ;
+        } else {
+            cmd = I2C_MODE_QUICK;
+        }
 
-            if ((cmd == I2C_MODE_READ && !(support(I2CFunctionality.I2C_FUNC_SMBUS_READ_BYTE)))
-                    || (cmd == I2C_MODE_QUICK && !(support(I2CFunctionality.I2C_FUNC_SMBUS_QUICK)))) {
-                result.add(Status.SKIP);
-                continue;
-            }
+        if ((cmd == I2C_MODE_READ && !(support(I2CFunctionality.I2C_FUNC_SMBUS_READ_BYTE)))
+                || (cmd == I2C_MODE_QUICK && !(support(I2CFunctionality.I2C_FUNC_SMBUS_QUICK)))) {
+            return Status.SKIP;
+        }
 
-            try {
-                ioctl(fd, I2C_SLAVE, i);
-            } catch (NativeIOException e) {
-                result.add(
-                        e.getCode() == EBUSY ? Status.BUSY : Status.UNKNOWN);
-            }
+        try {
+            selectSlave(address, false);
+        } catch (NativeIOException e) {
+            return e.getCode() == EBUSY ? Status.BUSY : Status.UNKNOWN;
+        }
 
-            try {
-                if (cmd == I2C_MODE_READ) {
-                    smBus.writeQuick(true);
-                } else {
-                    smBus.readByte();
-                }
-                result.add(Status.AVAILABLE);
-            } catch (IOException e) {
-                result.add(Status.NOT_AVAILABLE);
+        try {
+            SMBus smBus = getInterface(address).getSmBus();
+            if (cmd == I2C_MODE_READ) {
+                smBus.readByte();
+            } else {
+                smBus.writeQuick(true);
             }
+            return Status.AVAILABLE;
+        } catch (IOException e) {
+            return Status.NOT_AVAILABLE;
         }
-        return result;
     }
 
     /**
@@ -304,6 +347,38 @@ public class I2CBusImpl implements I2CBus {
         return tenBits;
     }
 
+    /**
+     * Sends messages as one combined transaction with repeated start between them ({@code I2C_RDWR}).
+     * Every message carries own address, so no slave selection is required. On success position of every
+     * message buffer is moved to its limit.
+     *
+     * @param messages combined transaction segments
+     * @param count amount of messages to send
+     * @throws NativeIOException if ioctl returns error
+     */
+    @Override
+    public void transfer(I2CMessage[] messages, int count) throws NativeIOException {
+        if (count < 1 || count > I2CMessage.MAX_MESSAGES) {
+            throw new IllegalArgumentException("Amount of I2C messages should be in range 1.." + I2CMessage.MAX_MESSAGES);
+        }
+        for (int i = 0; i < count; i++) {
+            if (messages[i].getLength() > I2CMessage.MAX_LENGTH) {
+                throw new IllegalArgumentException("I2C message is longer than " + I2CMessage.MAX_LENGTH + " bytes");
+            }
+        }
+        if (log.isLoggable(Level.FINEST)) {
+            log.log(Level.FINEST, String.format("transfer '%d' messages for bus '%s'", count, path));
+        }
+
+        synchronized (this) {
+            Ioctl.getInstance().ioctl(fd, messages, count);
+        }
+        for (int i = 0; i < count; i++) {
+            ByteBuffer buffer = messages[i].getBuffer();
+            buffer.position(buffer.limit());
+        }
+    }
+
     /**
      * Returns file handle to i2c bus
      * 
@@ -0,0 +1,84 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.i2c;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
+
+/**
+ * Process wide registry of I2C buses. Hands out one shared {@link I2CBus} per device path, so all drivers of
+ * one bus use the same file descriptor, the same lock and the same cache of selected slave address. Selection
+ * of address already selected on descriptor is skipped, see {@link I2CBus#getIssuedSelects()} and
+ * {@link I2CBus#getSkippedSelects()}.
+ * <p>
+ * Paths are resolved to real paths, so symbolic links to one adapter share the bus as well.
+ */
+@SuppressWarnings("unused")
+public final class I2CBusRegistry {
+    private static final Logger log = Logger.getLogger(I2CBusRegistry.class.getName());
+
+    private static final ConcurrentMap<String, I2CBus> buses = new ConcurrentHashMap<>();
+
+    private I2CBusRegistry() {
+    }
+
+    /**
+     * Returns shared bus for path opening it on first request
+     *
+     * @param path path to I2C bus in Linux file system
+     * @return shared bus
+     * @throws NativeIOException if I2C bus not available
+     */
+    public static I2CBus get(String path) throws NativeIOException {
+        String key = normalize(path);
+        I2CBus bus = buses.get(key);
+        if (bus != null) {
+            return bus;
+        }
+        synchronized (buses) {
+            bus = buses.get(key);
+            if (bus == null) {
+                log.log(Level.FINE, () -> String.format("register shared I2C bus '%s'", key));
+                bus = new I2CBusImpl(path);
+                buses.put(key, bus);
+            }
+            return bus;
+        }
+    }
+
+    /**
+     * Returns shared bus by number
+     *
+     * @param bus bus number
+     * @return shared bus for {@code /dev/i2c-<bus>}
+     * @throws NativeIOException if I2C bus not available
+     */
+    public static I2CBus get(int bus) throws NativeIOException {
+        return get("/dev/i2c-" + bus);
+    }
+
+    /**
+     * All buses opened by registry
+     *
+     * @return unmodifiable view of shared buses
+     */
+    public static Collection<I2CBus> getBuses() {
+        return Collections.unmodifiableCollection(buses.values());
+    }
+
+    private static String normalize(String path) {
+        Path p = Paths.get(path);
+        try {
+            return p.toRealPath().toString();
+        } catch (IOException e) {
+            return p.toAbsolutePath().normalize().toString();
+        }
+    }
+}
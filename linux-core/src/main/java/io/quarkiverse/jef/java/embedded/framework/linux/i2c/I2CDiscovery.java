@@ -0,0 +1,225 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.i2c;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
+import io.quarkiverse.jef.java.embedded.framework.linux.i2c.I2CBus.Status;
+
+/**
+ * Discovers devices on several I2C buses at once. Every bus is probed by own thread, so scan of gateway with
+ * many buses takes as long as scan of slowest bus. Buses are taken from {@link I2CBusRegistry}, so drivers
+ * created later reuse descriptors opened by discovery.
+ * <p>
+ * Result is cached as {@link I2CTopology}. If cache file is set, topology is loaded from it instead of scanning
+ * and rewritten after every scan, so devices can be wired without probing on every start. Single addresses may
+ * be probed again with {@link #refresh(String, int...)} when device was plugged or removed.
+ */
+@SuppressWarnings("unused")
+public class I2CDiscovery {
+    private static final Logger log = Logger.getLogger(I2CDiscovery.class.getName());
+
+    /**
+     * First address probed by default, lower addresses are reserved by I2C specification
+     */
+    public static final int FIRST_ADDRESS = 0x03;
+    /**
+     * Last address probed by default, higher addresses are reserved by I2C specification
+     */
+    public static final int LAST_ADDRESS = 0x77;
+
+    private final List<String> paths;
+    private final Path cache;
+    private volatile I2CTopology topology;
+
+    /**
+     * Creates discovery of all {@code /dev/i2c-*} buses without cache file
+     *
+     * @throws IOException if {@code /dev} can't be listed
+     */
+    public I2CDiscovery() throws IOException {
+        this(findBuses(), null);
+    }
+
+    /**
+     * Creates discovery of buses
+     *
+     * @param paths paths to I2C buses
+     * @param cache file to keep topology between starts or {@code null}
+     */
+    public I2CDiscovery(Collection<String> paths, Path cache) {
+        this.paths = List.copyOf(new LinkedHashSet<>(paths));
+        this.cache = cache;
+    }
+
+    /**
+     * Lists I2C buses of system
+     *
+     * @return sorted paths of {@code /dev/i2c-*} devices
+     * @throws IOException if {@code /dev} can't be listed
+     */
+    public static List<String> findBuses() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get("/dev"))) {
+            return files
+                    .filter(p -> p.getFileName().toString().matches("i2c-\\d+"))
+                    .map(Path::toString)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Paths of discovered buses
+     *
+     * @return paths to I2C buses
+     */
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    /**
+     * Returns cached topology. On first call topology is loaded from cache file or, if there is none, all buses
+     * are scanned.
+     *
+     * @return topology of buses
+     */
+    public I2CTopology getTopology() {
+        I2CTopology result = topology;
+        if (result == null) {
+            synchronized (this) {
+                result = topology;
+                if (result == null) {
+                    result = load();
+                    if (result == null) {
+                        result = scan();
+                    } else {
+                        topology = result;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Scans default address range of all buses
+     *
+     * @return new topology
+     */
+    public I2CTopology scan() {
+        return scan(FIRST_ADDRESS, LAST_ADDRESS);
+    }
+
+    /**
+     * Scans address range of all buses in parallel, one thread per bus. Buses which can't be opened are skipped.
+     *
+     * @param first first address to probe
+     * @param last last address to probe
+     * @return new topology
+     */
+    public synchronized I2CTopology scan(int first, int last) {
+        if (first < 0 || last >= I2CTopology.ADDRESSES || first > last) {
+            throw new IllegalArgumentException(
+                    "Address range should be inside 0.." + (I2CTopology.ADDRESSES - 1) + ": " + first + ".." + last);
+        }
+        List<CompletableFuture<Status[]>> scans = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            Executor thread = r -> {
+                Thread t = new Thread(r, "jef-i2c-discovery " + path);
+                t.setDaemon(true);
+                t.start();
+            };
+            scans.add(CompletableFuture.supplyAsync(() -> probe(path, first, last), thread));
+        }
+
+        Map<String, Status[]> buses = new HashMap<>();
+        for (int i = 0; i < paths.size(); i++) {
+            Status[] statuses = scans.get(i).join();
+            if (statuses != null) {
+                buses.put(paths.get(i), statuses);
+            }
+        }
+        I2CTopology result = new I2CTopology(buses);
+        log.log(Level.FINE, () -> String.format("I2C discovery finished: %s", result));
+        return update(result);
+    }
+
+    /**
+     * Probes addresses of bus again and updates cached topology
+     *
+     * @param path path to I2C bus
+     * @param addresses addresses to probe
+     * @return new topology
+     */
+    public synchronized I2CTopology refresh(String path, int... addresses) {
+        I2CTopology current = getTopology();
+        Status[] changes = new Status[I2CTopology.ADDRESSES];
+        try {
+            I2CBus bus = I2CBusRegistry.get(path);
+            for (int address : addresses) {
+                changes[address] = bus.probe(address);
+            }
+        } catch (NativeIOException e) {
+            log.log(Level.WARNING, e, () -> String.format("I2C bus '%s' is not available", path));
+            return current;
+        }
+        return update(current.with(path, changes));
+    }
+
+    private I2CTopology update(I2CTopology result) {
+        topology = result;
+        if (cache != null) {
+            try {
+                result.store(cache);
+            } catch (IOException e) {
+                log.log(Level.WARNING, e, () -> String.format("Unable to store I2C topology to '%s'", cache));
+            }
+        }
+        return result;
+    }
+
+    private I2CTopology load() {
+        if (cache == null || !Files.exists(cache)) {
+            return null;
+        }
+        try {
+            I2CTopology result = I2CTopology.load(cache);
+            if (!result.getBuses().containsAll(paths)) {
+                log.log(Level.INFO, () -> String.format("I2C topology in '%s' does not cover all buses", cache));
+                return null;
+            }
+            return result;
+        } catch (IOException e) {
+            log.log(Level.WARNING, e, () -> String.format("Unable to load I2C topology from '%s'", cache));
+            return null;
+        }
+    }
+
+    private static Status[] probe(String path, int first, int last) {
+        try {
+            I2CBus bus = I2CBusRegistry.get(path);
+            Status[] statuses = new Status[I2CTopology.ADDRESSES];
+            for (int address = first; address <= last; address++) {
+                statuses[address] = bus.probe(address);
+            }
+            return statuses;
+        } catch (NativeIOException e) {
+            log.log(Level.WARNING, e, () -> String.format("I2C bus '%s' is not available", path));
+            return null;
+        }
+    }
+}
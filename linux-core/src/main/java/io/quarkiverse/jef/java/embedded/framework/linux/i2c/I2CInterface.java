@@ -1,6 +1,8 @@
 package io.quarkiverse.jef.java.embedded.framework.linux.i2c;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.function.Consumer;
 
 import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.io.FileHandle;
@@ -16,6 +18,14 @@ public interface I2CInterface {
 
     void write(ByteBuffer buf, int length) throws NativeIOException;
 
+    void transfer(I2CMessage... messages) throws NativeIOException;
+
+    void writeRead(ByteBuffer tx, ByteBuffer rx) throws NativeIOException;
+
+    I2CBatch batch(Consumer<I2CBatch> ops) throws IOException;
+
+    I2CBatch batch(I2CBatch batch, Consumer<I2CBatch> ops) throws IOException;
+
     Object synchLock();
 
     void synchSelect() throws NativeIOException;
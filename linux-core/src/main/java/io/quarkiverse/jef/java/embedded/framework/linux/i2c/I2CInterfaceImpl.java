@@ -3,7 +3,9 @@ package io.quarkiverse.jef.java.embedded.framework.linux.i2c;
 
 import static io.quarkiverse.jef.java.embedded.framework.linux.core.util.StringUtils.dump;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -24,6 +26,7 @@ public class I2CInterfaceImpl implements I2CInterface {
     private final SMBusImpl smBus;
     private final FileHandle fd;
     private final int address;
+    private final I2CMessage[] pair = { new I2CMessage(), new I2CMessage() };
 
     /**
      * Allocate new instance of I2C Interface
@@ -80,6 +83,14 @@ public class I2CInterfaceImpl implements I2CInterface {
                 () -> String.format(
                         "reading '%d' bytes from bus '%s'",
                         length, bus.getPath()));
+        if (bus.support(I2CFunctionality.I2C_FUNC_I2C)) {
+            ByteBuffer view = buf.duplicate();
+            view.position(0).limit(length);
+            synchronized (synchLock()) {
+                bus.transfer(single(I2CMessage.I2C_M_RD, view), 1);
+            }
+            return;
+        }
         synchronized (synchLock()) {
             synchSelect();
             Fcntl.getInstance().read(getFD(), LinuxUtils.toBytes(buf), length);
@@ -113,12 +124,62 @@ public class I2CInterfaceImpl implements I2CInterface {
                         length, bus.getPath()));
         log.log(Level.FINEST, StringUtils.dump(buf));
 
+        if (bus.support(I2CFunctionality.I2C_FUNC_I2C)) {
+            ByteBuffer view = buf.duplicate();
+            view.position(0).limit(length);
+            synchronized (synchLock()) {
+                bus.transfer(single(0, view), 1);
+            }
+            return;
+        }
         synchronized (synchLock()) {
             synchSelect();
             Fcntl.getInstance().write(getFD(), LinuxUtils.toBytes(buf), length);
         }
     }
 
+    /**
+     * Sends messages to current device as one combined transaction with repeated start between them.
+     * Address of every message is replaced by address of this interface, so only {@link I2CMessage#I2C_M_RD}
+     * and other flags of messages are meaningful. On success position of every buffer is moved to its limit.
+     *
+     * @param messages combined transaction segments
+     * @throws NativeIOException if I2C bus reject command
+     */
+    @Override
+    public void transfer(I2CMessage... messages) throws NativeIOException {
+        int tenBit = bus.isTenBits() ? I2CMessage.I2C_M_TEN : 0;
+        for (I2CMessage message : messages) {
+            message.setAddress(address);
+            message.setFlags((message.getFlags() & ~I2CMessage.I2C_M_TEN) | tenBit);
+        }
+        bus.transfer(messages, messages.length);
+    }
+
+    /**
+     * Writes remaining bytes of {@code tx} and reads remaining bytes of {@code rx} after repeated start.
+     * Typical usage is burst read of registers: {@code tx} holds start register and {@code rx} receives values.
+     * Whole exchange is single syscall and does not require slave selection.
+     *
+     * @param tx bytes to write
+     * @param rx buffer for received bytes
+     * @throws NativeIOException if I2C bus reject command
+     */
+    @Override
+    public void writeRead(ByteBuffer tx, ByteBuffer rx) throws NativeIOException {
+        int flags = bus.isTenBits() ? I2CMessage.I2C_M_TEN : 0;
+        synchronized (synchLock()) {
+            pair[0].set(address, flags, tx);
+            pair[1].set(address, flags | I2CMessage.I2C_M_RD, rx);
+            try {
+                bus.transfer(pair, 2);
+            } finally {
+                pair[0].setBuffer(null);
+                pair[1].setBuffer(null);
+            }
+        }
+    }
+
     /**
      * Lock decorator for selected device synchronization
      * 
@@ -139,6 +200,51 @@ public class I2CInterfaceImpl implements I2CInterface {
         bus.selectSlave(address, false);
     }
 
+    /**
+     * Queues register operations into new {@link I2CBatch} and executes them.
+     * See {@link #batch(I2CBatch, Consumer)}
+     *
+     * @param ops callback which queues operations
+     * @return executed batch with results
+     * @throws IOException if I2C bus reject command
+     */
+    @Override
+    public I2CBatch batch(Consumer<I2CBatch> ops) throws IOException {
+        return batch(new I2CBatch(), ops);
+    }
+
+    /**
+     * Clears batch, queues register operations by callback and executes them under one bus lock. Operations are
+     * merged into {@code I2C_RDWR} requests if bus supports plain I2C, otherwise device is selected once and
+     * operations are executed as SMBus commands.
+     *
+     * @param batch reusable batch which receives results
+     * @param ops callback which queues operations
+     * @return executed batch with results
+     * @throws IOException if I2C bus reject command
+     */
+    @Override
+    public I2CBatch batch(I2CBatch batch, Consumer<I2CBatch> ops) throws IOException {
+        ops.accept(batch.clear());
+        if (batch.size() == 0) {
+            return batch;
+        }
+        synchronized (synchLock()) {
+            if (bus.support(I2CFunctionality.I2C_FUNC_I2C)) {
+                batch.transfer(bus, address);
+            } else {
+                synchSelect();
+                batch.execute(smBus);
+            }
+        }
+        return batch;
+    }
+
+    private I2CMessage[] single(int flags, ByteBuffer buf) {
+        pair[0].set(address, flags | (bus.isTenBits() ? I2CMessage.I2C_M_TEN : 0), buf);
+        return pair;
+    }
+
     /**
      * Returns {@link FileHandle} to I2C bus
      * 
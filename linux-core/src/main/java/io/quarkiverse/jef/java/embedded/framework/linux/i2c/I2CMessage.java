@@ -0,0 +1,141 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.i2c;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Java side representation of {@code struct i2c_msg}. Array of messages is sent by {@link I2CBus#transfer(I2CMessage[], int)}
+ * as single {@code I2C_RDWR} request: messages are separated by repeated start condition and stop condition is issued
+ * after the last one only.
+ * <p>
+ * Bytes between position and limit of {@link #getBuffer()} are written to device or filled by read message.
+ * Backends must not change buffer position. Instance is mutable so callers may keep messages and reuse them for
+ * every transaction.
+ */
+@SuppressWarnings("unused")
+public class I2CMessage {
+    /**
+     * Read data from slave to master
+     */
+    public static final int I2C_M_RD = 0x0001;
+
+    /**
+     * Ten bit chip address
+     */
+    public static final int I2C_M_TEN = 0x0010;
+
+    /**
+     * Do not issue repeated start before message, requires {@link I2CFunctionality#I2C_FUNC_NOSTART}
+     */
+    public static final int I2C_M_NOSTART = 0x4000;
+
+    /**
+     * Treat NACK from device as ACK, requires {@link I2CFunctionality#I2C_FUNC_PROTOCOL_MANGLING}
+     */
+    public static final int I2C_M_IGNORE_NAK = 0x1000;
+
+    /**
+     * Maximum length of one message accepted by kernel
+     */
+    public static final int MAX_LENGTH = 8192;
+
+    /**
+     * Maximum amount of messages in one {@code I2C_RDWR} request
+     */
+    public static final int MAX_MESSAGES = 42;
+
+    private int address;
+    private int flags;
+    private ByteBuffer buffer;
+
+    public I2CMessage() {
+    }
+
+    public I2CMessage(int address, int flags, ByteBuffer buffer) {
+        this.address = address;
+        this.flags = flags;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Creates message which writes remaining bytes of buffer to device
+     *
+     * @param address device address
+     * @param buffer bytes to write
+     * @return new message
+     */
+    public static I2CMessage write(int address, ByteBuffer buffer) {
+        return new I2CMessage(address, 0, buffer);
+    }
+
+    /**
+     * Creates message which reads remaining bytes of buffer from device
+     *
+     * @param address device address
+     * @param buffer buffer for received bytes
+     * @return new message
+     */
+    public static I2CMessage read(int address, ByteBuffer buffer) {
+        return new I2CMessage(address, I2C_M_RD, buffer);
+    }
+
+    /**
+     * Refills message for next transaction without allocation
+     *
+     * @param address device address
+     * @param flags message flags
+     * @param buffer data buffer
+     * @return this message
+     */
+    public I2CMessage set(int address, int flags, ByteBuffer buffer) {
+        this.address = address;
+        this.flags = flags;
+        this.buffer = buffer;
+        return this;
+    }
+
+    public int getAddress() {
+        return address;
+    }
+
+    public void setAddress(int address) {
+        this.address = address;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    public void setFlags(int flags) {
+        this.flags = flags;
+    }
+
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    public void setBuffer(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Amount of bytes transferred by message
+     *
+     * @return remaining bytes of buffer
+     */
+    public int getLength() {
+        return buffer.remaining();
+    }
+
+    public boolean isRead() {
+        return (flags & I2C_M_RD) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return "I2CMessage{" +
+                "address=" + address +
+                ", flags=" + flags +
+                ", length=" + (buffer == null ? 0 : buffer.remaining()) +
+                '}';
+    }
+}
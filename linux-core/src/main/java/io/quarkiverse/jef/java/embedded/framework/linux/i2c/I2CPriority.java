@@ -0,0 +1,20 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.i2c;
+
+/**
+ * Priority class of request submitted to {@link I2CBusExecutor}. Requests of higher class are always executed
+ * before queued requests of lower class.
+ */
+public enum I2CPriority {
+    /**
+     * Control loop requests (actuator setpoints, safety writes)
+     */
+    CRITICAL,
+    /**
+     * Regular device access
+     */
+    NORMAL,
+    /**
+     * Telemetry and other bulk reads. Identical pending reads are coalesced.
+     */
+    BULK
+}
@@ -0,0 +1,165 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.i2c;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.i2c.I2CBus.Status;
+
+/**
+ * Immutable result of {@link I2CDiscovery}: status of every probed address on every scanned bus. Addresses
+ * which were not probed have no status.
+ * <p>
+ * Topology can be stored to file and loaded on next start, so devices can be wired without scanning buses.
+ */
+@SuppressWarnings("unused")
+public final class I2CTopology {
+    static final int ADDRESSES = 128;
+
+    private final Map<String, Status[]> buses;
+
+    I2CTopology(Map<String, Status[]> buses) {
+        this.buses = Collections.unmodifiableMap(new TreeMap<>(buses));
+    }
+
+    /**
+     * Paths of scanned buses
+     *
+     * @return set of bus paths
+     */
+    public Set<String> getBuses() {
+        return buses.keySet();
+    }
+
+    /**
+     * Status of address
+     *
+     * @param path path to I2C bus
+     * @param address 7-bit device address
+     * @return probe status or {@code null} if address was not probed
+     */
+    public Status getStatus(String path, int address) {
+        Status[] statuses = buses.get(path);
+        if (statuses == null || address < 0 || address >= ADDRESSES) {
+            return null;
+        }
+        return statuses[address];
+    }
+
+    /**
+     * Checks if device answered on address
+     *
+     * @param path path to I2C bus
+     * @param address 7-bit device address
+     * @return {@code true} if device is available
+     */
+    public boolean isPresent(String path, int address) {
+        return getStatus(path, address) == Status.AVAILABLE;
+    }
+
+    /**
+     * Addresses of available devices on bus
+     *
+     * @param path path to I2C bus
+     * @return sorted list of addresses
+     */
+    public List<Integer> getDevices(String path) {
+        Status[] statuses = buses.get(path);
+        if (statuses == null) {
+            return Collections.emptyList();
+        }
+        List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < ADDRESSES; i++) {
+            if (statuses[i] == Status.AVAILABLE) {
+                result.add(i);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Writes topology to file, one {@code <path>@<address>=<status>} entry per probed address
+     *
+     * @param file target file
+     * @throws IOException if file can't be written
+     */
+    public void store(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            for (Map.Entry<String, Status[]> entry : buses.entrySet()) {
+                Status[] statuses = entry.getValue();
+                for (int i = 0; i < ADDRESSES; i++) {
+                    if (statuses[i] != null) {
+                        writer.write(entry.getKey() + "@" + i + "=" + statuses[i].name() + "\n");
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads topology written by {@link #store(Path)}
+     *
+     * @param file source file
+     * @return loaded topology
+     * @throws IOException if file can't be read or has wrong format
+     */
+    public static I2CTopology load(Path file) throws IOException {
+        Map<String, Status[]> buses = new TreeMap<>();
+        for (String line : Files.readAllLines(file)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            int at = line.lastIndexOf('@');
+            int eq = line.lastIndexOf('=');
+            if (at < 1 || eq < at) {
+                throw new IOException("Wrong I2C topology entry '" + line + "' in " + file);
+            }
+            try {
+                int address = Integer.parseInt(line.substring(at + 1, eq));
+                Status status = Status.valueOf(line.substring(eq + 1).trim());
+                buses.computeIfAbsent(line.substring(0, at), k -> new Status[ADDRESSES])[address] = status;
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IOException("Wrong I2C topology entry '" + line + "' in " + file, e);
+            }
+        }
+        return new I2CTopology(buses);
+    }
+
+    /**
+     * Copy of topology with replaced statuses
+     */
+    I2CTopology with(String path, Status[] changes) {
+        Map<String, Status[]> copy = new TreeMap<>(buses);
+        Status[] statuses = copy.containsKey(path) ? copy.get(path).clone() : new Status[ADDRESSES];
+        for (int i = 0; i < ADDRESSES; i++) {
+            if (changes[i] != null) {
+                statuses[i] = changes[i];
+            }
+        }
+        copy.put(path, statuses);
+        return new I2CTopology(copy);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("I2CTopology{");
+        for (String path : buses.keySet()) {
+            if (sb.length() > 12) {
+                sb.append(", ");
+            }
+            sb.append(path).append('=');
+            for (int address : getDevices(path)) {
+                sb.append(String.format("0x%02x ", address));
+            }
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -28,6 +28,10 @@ public interface SMBus {
 
     void writeBlockData(int command, ByteBuffer buf) throws IOException;
 
+    ByteBuffer readI2CBlockData(int command, int length) throws IOException;
+
+    void writeI2CBlockData(int command, ByteBuffer buf) throws IOException;
+
     void i2cSmbusAccess(byte readWrite,
             long command,
             int size,
@@ -23,6 +23,8 @@ public class SMBusImpl implements SmBusConstants, SMBus {
 
     private final I2CInterfaceImpl iface;
     private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final SmbusData smbusData = new SmbusData();
+    private final SmbusIoctlData ioctlData = new SmbusIoctlData((byte) 0, 0, 0, smbusData);
 
     /**
      * Allocates new instance of {@link SMBusImpl} based on interface ID
@@ -61,11 +63,10 @@ public class SMBusImpl implements SmBusConstants, SMBus {
      */
     @Override
     public void writeQuick(boolean isWrite) throws IOException {
-        log.log(
-                Level.FINEST,
-                () -> String.format(
-                        "set writeQuick to '%b' for bus '%s' and address '%d'",
-                        isWrite, iface.getPath(), iface.getAddress()));
+        if (log.isLoggable(Level.FINEST)) {
+            log.log(Level.FINEST, String.format("set writeQuick to '%b' for bus '%s' and address '%d'",
+                    isWrite, iface.getPath(), iface.getAddress()));
+        }
 
         synchronized (synchLock()) {
             synchSelect();
@@ -86,12 +87,16 @@ public class SMBusImpl implements SmBusConstants, SMBus {
     public int readByte() throws IOException {
         synchronized (synchLock()) {
             synchSelect();
-            log.log(Level.FINEST,
-                    () -> String.format("read byte from bus '%s' and address '%d'", iface.getPath(), iface.getAddress()));
+            if (log.isLoggable(Level.FINEST)) {
+                log.log(Level.FINEST, String.format("read byte from bus '%s' and address '%d'",
+                        iface.getPath(), iface.getAddress()));
+            }
             i2cSmbusAccess(I2C_SMBUS_READ, 0, I2C_SMBUS_BYTE, buffer);
             byte result = buffer[0];
-            log.log(Level.FINEST, () -> String.format("read byte from bus '%s' and address '%d' returns '%d'", iface.getPath(),
-                    iface.getAddress(), result));
+            if (log.isLoggable(Level.FINEST)) {
+                log.log(Level.FINEST, String.format("read byte from bus '%s' and address '%d' returns '%d'",
+                        iface.getPath(), iface.getAddress(), result));
+            }
             return result;
         }
     }
@@ -107,12 +112,16 @@ public class SMBusImpl implements SmBusConstants, SMBus {
     public int readByteData(int command) throws IOException {
         synchronized (synchLock()) {
             synchSelect();
-            log.log(Level.FINEST, () -> String.format("read byte command '%d' from bus '%s' and address '%d'", command,
-                    iface.getPath(), iface.getAddress()));
+            if (log.isLoggable(Level.FINEST)) {
+                log.log(Level.FINEST, String.format("read byte command '%d' from bus '%s' and address '%d'",
+                        command, iface.getPath(), iface.getAddress()));
+            }
             i2cSmbusAccess(I2C_SMBUS_READ, command, I2C_SMBUS_BYTE_DATA, buffer);
             byte result = buffer[0];
-            log.log(Level.FINEST, () -> String.format("read byte command '%d' from bus '%s' returns '%d' and address '%d'",
-                    command, iface.getPath(), iface.getAddress(), result));
+            if (log.isLoggable(Level.FINEST)) {
+                log.log(Level.FINEST, String.format("read byte command '%d' from bus '%s' returns '%d' and address '%d'",
+                        command, iface.getPath(), iface.getAddress(), result));
+            }
             return result;
         }
     }
@@ -130,14 +139,18 @@ public class SMBusImpl implements SmBusConstants, SMBus {
     public int readWordData(int command) throws IOException {
         synchronized (synchLock()) {
             synchSelect();
-            log.log(Level.FINEST, () -> String.format("read short command '%d' from bus '%s' and address '%d'", command,
-                    iface.getPath(), iface.getAddress()));
+            if (log.isLoggable(Level.FINEST)) {
+                log.log(Level.FINEST, String.format("read short command '%d' from bus '%s' and address '%d'",
+                        command, iface.getPath(), iface.getAddress()));
+            }
             i2cSmbusAccess(I2C_SMBUS_READ, command, I2C_SMBUS_WORD_DATA, buffer);
             byte hi = buffer[1];
             byte lo = buffer[0];
             short result = (short) (((hi & 0xFF) << 8) | (lo & 0xFF));
-            log.log(Level.FINEST, () -> String.format("read short command '%d' from bus '%s' returns '%d' and address '%d'",
-                    command, iface.getPath(), iface.getAddress(), result));
+            if (log.isLoggable(Level.FINEST)) {
+                log.log(Level.FINEST, String.format("read short command '%d' from bus '%s' returns '%d' and address '%d'",
+                        command, iface.getPath(), iface.getAddress(), result));
+            }
             return result;
         }
     }
@@ -173,8 +186,10 @@ public class SMBusImpl implements SmBusConstants, SMBus {
     public void writeByte(int b) throws IOException {
         synchronized (synchLock()) {
             synchSelect();
-            log.log(Level.FINEST,
-                    () -> String.format("write byte to bus '%s' and address '%d'", iface.getPath(), iface.getAddress()));
+            if (log.isLoggable(Level.FINEST)) {
+                log.log(Level.FINEST, String.format("write byte to bus '%s' and address '%d'",
+                        iface.getPath(), iface.getAddress()));
+            }
             i2cSmbusAccess(I2C_SMBUS_WRITE, b, I2C_SMBUS_BYTE, null);
         }
     }
@@ -193,8 +208,10 @@ public class SMBusImpl implements SmBusConstants, SMBus {
         synchronized (synchLock()) {
             synchSelect();
             setUnsignedByte(buffer, b);
-            log.log(Level.FINEST, () -> String.format("write byte command '%d' value '%d' from bus '%s' and address '%d'",
-                    command, b, iface.getPath(), iface.getAddress()));
+            if (log.isLoggable(Level.FINEST)) {
+                log.log(Level.FINEST, String.format("write byte command '%d' value '%d' from bus '%s' and address '%d'",
+                        command, b, iface.getPath(), iface.getAddress()));
+            }
             this.i2cSmbusAccess(I2C_SMBUS_WRITE, command, I2C_SMBUS_BYTE_DATA, buffer);
         }
     }
@@ -212,8 +229,10 @@ public class SMBusImpl implements SmBusConstants, SMBus {
         synchronized (synchLock()) {
             synchSelect();
             setUnsignedShort(buffer, word);
-            log.log(Level.FINEST, () -> String.format("write short command '%d' value '%d' from bus '%s' and address '%d'",
-                    command, word, iface.getPath(), iface.getAddress()));
+            if (log.isLoggable(Level.FINEST)) {
+                log.log(Level.FINEST, String.format("write short command '%d' value '%d' from bus '%s' and address '%d'",
+                        command, word, iface.getPath(), iface.getAddress()));
+            }
             this.i2cSmbusAccess(I2C_SMBUS_WRITE, command, I2C_SMBUS_WORD_DATA, buffer);
         }
     }
@@ -234,12 +253,65 @@ public class SMBusImpl implements SmBusConstants, SMBus {
             int capacity = buf.capacity();
             buffer[0] = (byte) capacity;
             System.arraycopy(buf.array(), 0, buffer, 1, capacity);
-            this.i2cSmbusAccess(I2C_SMBUS_WRITE, command, I2C_SMBUS_I2C_BLOCK_DATA, buffer);
+            this.i2cSmbusAccess(I2C_SMBUS_WRITE, command, I2C_SMBUS_BLOCK_DATA, buffer);
         }
     }
 
     /**
-     * Execute command in real I2C device
+     * Reads block of consecutive registers starting from register specified through the Comm byte.
+     * Unlike {@link #readBlockData(int)} device does not send Count byte, so amount of bytes is defined by caller.
+     * Whole block is read in one bus transaction, so values of all registers belong to the same moment.
+     *
+     * @param command first register
+     * @param length amount of bytes to read (1 to 32)
+     * @return buffer with read data
+     * @throws IOException if I2C bus reject command
+     */
+    @Override
+    public ByteBuffer readI2CBlockData(int command, int length) throws IOException {
+        checkBlockLength(length);
+        synchronized (synchLock()) {
+            synchSelect();
+            if (log.isLoggable(Level.FINEST)) {
+                log.log(Level.FINEST, String.format("read '%d' bytes from command '%d' from bus '%s' and address '%d'",
+                        length, command, iface.getPath(), iface.getAddress()));
+            }
+            buffer[0] = (byte) length;
+            i2cSmbusAccess(I2C_SMBUS_READ, command, I2C_SMBUS_I2C_BLOCK_DATA, buffer);
+            byte[] res = new byte[Math.min(getUnsignedByte(buffer), length)];
+            System.arraycopy(buffer, 1, res, 0, res.length);
+            return ByteBuffer.wrap(res);
+        }
+    }
+
+    /**
+     * Writes remaining bytes of buffer to consecutive registers starting from register specified through
+     * the Comm byte. Unlike {@link #writeBlockData(int, ByteBuffer)} Count byte is not sent.
+     * Position of buffer is not changed.
+     *
+     * @param command first register
+     * @param buf data to write (1 to 32 bytes)
+     * @throws IOException if I2C bus reject command
+     */
+    @Override
+    public void writeI2CBlockData(int command, ByteBuffer buf) throws IOException {
+        int length = buf.remaining();
+        checkBlockLength(length);
+        synchronized (synchLock()) {
+            synchSelect();
+            if (log.isLoggable(Level.FINEST)) {
+                log.log(Level.FINEST, String.format("write '%d' bytes to command '%d' from bus '%s' and address '%d'",
+                        length, command, iface.getPath(), iface.getAddress()));
+            }
+            buffer[0] = (byte) length;
+            buf.duplicate().get(buffer, 1, length);
+            i2cSmbusAccess(I2C_SMBUS_WRITE, command, I2C_SMBUS_I2C_BLOCK_DATA, buffer);
+        }
+    }
+
+    /**
+     * Execute command in real I2C device. Request structures are reused for every call under bus lock,
+     * so register access does not produce garbage.
      *
      * @param readWrite read or write operation
      * @param command ioctl command
@@ -252,10 +324,13 @@ public class SMBusImpl implements SmBusConstants, SMBus {
             long command,
             int size,
             byte[] data) throws IOException {
-        SmbusData smbusData = new SmbusData();
-        smbusData.setBlock(data);
-        SmbusIoctlData ioctlData = new SmbusIoctlData(readWrite, command, size, smbusData);
-        Ioctl.getInstance().ioctl(fd(), command, ioctlData);
+        synchronized (synchLock()) {
+            smbusData.setBlock(data != null ? data : buffer);
+            ioctlData.setReadWrite(readWrite);
+            ioctlData.setCommand(command);
+            ioctlData.setSize(size);
+            Ioctl.getInstance().ioctl(fd(), command, ioctlData);
+        }
     }
 
     /**
@@ -278,6 +353,12 @@ public class SMBusImpl implements SmBusConstants, SMBus {
         return iface.getFD();
     }
 
+    private static void checkBlockLength(int length) {
+        if (length < 1 || length > I2C_SMBUS_BLOCK_MAX) {
+            throw new IllegalArgumentException("Block length should be in range 1.." + I2C_SMBUS_BLOCK_MAX);
+        }
+    }
+
     static int getUnsignedByte(byte[] p) {
         return p[0] & 0x000000FF;
     }
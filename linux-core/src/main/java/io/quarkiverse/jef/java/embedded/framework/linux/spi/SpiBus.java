@@ -2,6 +2,8 @@ package io.quarkiverse.jef.java.embedded.framework.linux.spi;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.EnumSet;
+import java.util.Set;
 
 import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.io.FileHandle;
@@ -29,6 +31,22 @@ public interface SpiBus {
 
     void setBitOrdering(int bitOrdering) throws NativeIOException;
 
+    /**
+     * Extended mode flags of device read by {@code SPI_IOC_RD_MODE32}
+     *
+     * @return set of flags. See {@link SpiModeFlag}
+     * @throws NativeIOException if SPI bus discard request
+     */
+    EnumSet<SpiModeFlag> getModeFlags() throws NativeIOException;
+
+    /**
+     * Replaces extended mode flags of device by {@code SPI_IOC_WR_MODE32}. Clock mode and bit ordering are kept.
+     *
+     * @param flags set of flags. See {@link SpiModeFlag}
+     * @throws NativeIOException if SPI bus or controller does not support requested flags
+     */
+    void setModeFlags(Set<SpiModeFlag> flags) throws NativeIOException;
+
     int readByteData(SpiInputParams inputParams) throws IOException;
 
     void writeByteData(SpiInputParams inputParams) throws NativeIOException;
@@ -37,6 +55,52 @@ public interface SpiBus {
 
     ByteBuffer readWriteData(ByteBuffer input, int outputSize) throws NativeIOException;
 
+    /**
+     * Transmits bytes remaining in {@code tx} and then receives {@code rx.remaining()} bytes directly into
+     * {@code rx} within single transfer. Positions of both buffers are moved to their limits.
+     * No objects are allocated per call, so both buffers may be reused by caller.
+     *
+     * @param tx bytes to transmit
+     * @param rx buffer for the response
+     * @throws NativeIOException if SPI bus discard request
+     */
+    void transfer(ByteBuffer tx, ByteBuffer rx) throws NativeIOException;
+
+    /**
+     * Submits all segments of transaction within single ioctl call.
+     * Positions of all segment buffers are moved to their limits.
+     *
+     * @param transaction chained segments. See {@link SpiTransaction}
+     * @throws NativeIOException if SPI bus discard request
+     */
+    void transfer(SpiTransaction transaction) throws NativeIOException;
+
+    /**
+     * Maximal amount of bytes submitted within single {@code SPI_IOC_MESSAGE}. Larger transfers and transactions are
+     * split transparently into several messages while chip select stays asserted.
+     *
+     * @return limit of single message in bytes
+     */
+    int getMaxTransferSize();
+
+    /**
+     * Lock which serializes all requests to bus. Holders of lock may issue several requests atomically.
+     * Lock collects contention statistics.
+     *
+     * @return bus lock
+     */
+    SpiBusLock getLock();
+
+    /**
+     * Acquires exclusive access to bus for multi-step device protocol. Other threads wait till returned session is
+     * closed.
+     *
+     * @return open session
+     */
+    default SpiBusSession acquire() {
+        return new SpiBusSession(this);
+    }
+
     static SpiBus create(String path) throws NativeIOException {
         return new SpiBusImpl(path);
     }
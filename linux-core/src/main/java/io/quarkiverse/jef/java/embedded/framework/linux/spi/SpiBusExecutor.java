@@ -0,0 +1,194 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.spi;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@link SpiBusExecutor} class provides asynchronous front end for {@link SpiBus}.
+ * Requests are placed to bounded per-bus queue and drained by single I/O thread. All requests queued at the moment
+ * are coalesced (up to batch size) into one multi-segment {@code SPI_IOC_MESSAGE} where chip select is toggled between
+ * requests, so several services may share one bus without blocking each other.
+ */
+@SuppressWarnings("unused")
+public class SpiBusExecutor implements AutoCloseable {
+    private static final Logger log = Logger.getLogger(SpiBusExecutor.class.getName());
+
+    private final SpiBus bus;
+    private final int batchSize;
+    private final int maxMessageSize;
+    private final BlockingQueue<Request> queue;
+    private final Thread worker;
+    private volatile boolean closed;
+
+    /**
+     * Allocates new executor and starts I/O thread
+     *
+     * @param bus SPI bus
+     * @param queueDepth maximal amount of pending requests
+     * @param batchSize maximal amount of requests coalesced into single ioctl
+     */
+    public SpiBusExecutor(SpiBus bus, int queueDepth, int batchSize) {
+        if (queueDepth < 1) {
+            throw new IllegalArgumentException("Queue depth should be positive: " + queueDepth);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size should be positive: " + batchSize);
+        }
+        this.bus = bus;
+        this.batchSize = batchSize;
+        this.maxMessageSize = bus.getMaxTransferSize();
+        this.queue = new ArrayBlockingQueue<>(queueDepth);
+        this.worker = new Thread(this::run, "jef-spi-executor " + bus.getBus());
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Bus served by executor
+     *
+     * @return SPI bus
+     */
+    public SpiBus getBus() {
+        return bus;
+    }
+
+    /**
+     * Submits request to transmit {@code tx} and then receive {@code outputSize} bytes
+     *
+     * @param tx bytes to transmit
+     * @param outputSize expected size of response
+     * @return future completed with response buffer
+     */
+    public CompletableFuture<ByteBuffer> submit(ByteBuffer tx, int outputSize) {
+        return submit(tx, ByteBuffer.allocateDirect(outputSize));
+    }
+
+    /**
+     * Submits request to transmit {@code tx} and then receive response into {@code rx}.
+     * Caller must not touch both buffers till returned future is completed.
+     * Future is failed with {@link RejectedExecutionException} if queue is full or executor is closed.
+     *
+     * @param tx bytes to transmit
+     * @param rx buffer for the response
+     * @return future completed with flipped {@code rx}
+     */
+    public CompletableFuture<ByteBuffer> submit(ByteBuffer tx, ByteBuffer rx) {
+        Request request = new Request(tx, rx);
+        if (closed) {
+            request.future.completeExceptionally(new RejectedExecutionException("SPI executor is closed"));
+        } else if (!queue.offer(request)) {
+            request.future.completeExceptionally(
+                    new RejectedExecutionException("SPI executor queue for " + bus.getBus() + " is full"));
+        } else if (closed) {
+            // executor was closed after check above, its drain may have missed this request
+            fail(drain(), new RejectedExecutionException("SPI executor is closed"));
+        }
+        return request.future;
+    }
+
+    /**
+     * Amount of pending requests
+     *
+     * @return queue size
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Stops I/O thread. Pending requests are failed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        worker.interrupt();
+        fail(drain(), new RejectedExecutionException("SPI executor is closed"));
+    }
+
+    private void run() {
+        SpiTransaction transaction = SpiTransaction.create(batchSize);
+        List<Request> batch = new ArrayList<>(batchSize);
+
+        while (!closed) {
+            try {
+                Request request = queue.take();
+                batch.add(request);
+                int messageSize = request.size();
+                while (batch.size() < batchSize) {
+                    Request next = queue.peek();
+                    if (next == null || messageSize + next.size() > maxMessageSize) {
+                        break;
+                    }
+                    batch.add(queue.poll());
+                    messageSize += next.size();
+                }
+
+                execute(transaction, batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+                transaction.clear();
+            }
+        }
+    }
+
+    private void execute(SpiTransaction transaction, List<Request> batch) {
+        try {
+            if (batch.size() == 1) {
+                Request request = batch.get(0);
+                bus.transfer(request.tx, request.rx);
+            } else {
+                for (Request request : batch) {
+                    transaction.transfer(request.tx, request.rx).csChange(true);
+                }
+                // chip select of the last segment behaves like in single transfer
+                transaction.csChange(false);
+                bus.transfer(transaction);
+            }
+        } catch (Throwable e) {
+            log.log(Level.WARNING, e, () -> String.format("SPI batch for '%s' failed", bus.getBus()));
+            fail(batch, e);
+            return;
+        }
+
+        for (Request request : batch) {
+            request.future.complete(request.rx.flip());
+        }
+    }
+
+    private List<Request> drain() {
+        List<Request> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        return rest;
+    }
+
+    private static void fail(List<Request> requests, Throwable e) {
+        for (Request request : requests) {
+            request.future.completeExceptionally(e);
+        }
+    }
+
+    private static class Request {
+        private final ByteBuffer tx;
+        private final ByteBuffer rx;
+        private final CompletableFuture<ByteBuffer> future = new CompletableFuture<>();
+
+        Request(ByteBuffer tx, ByteBuffer rx) {
+            this.tx = tx;
+            this.rx = rx;
+        }
+
+        int size() {
+            return tx.remaining() + rx.remaining();
+        }
+    }
+}
@@ -5,7 +5,12 @@ import static io.quarkiverse.jef.java.embedded.framework.linux.core.util.StringU
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -23,20 +28,32 @@ import io.quarkiverse.jef.java.embedded.framework.linux.core.util.StringUtils;
  * On an SPI bus, data is transferred between the SPI master device and an SPI slave device in full duplex. That is, data is
  * transmitted by the SPI master to the SPI slave device at the same time data is received from the SPI slave device by the SPI
  * master.
- *
+ * <p>
+ * All requests are serialized by {@link SpiBusLock}, so one instance may be shared by many callers.
  */
 @SuppressWarnings("unused")
 public class SpiBusImpl implements SpiBus {
     private static final Logger log = Logger.getLogger(SpiBusImpl.class.getName());
+    private static final ByteBuffer EMPTY = ByteBuffer.allocateDirect(0);
+    private static final String BUFSIZ_PATH = "/sys/module/spidev/parameters/bufsiz";
+    private static final int DEFAULT_BUFSIZ = 4096;
+    private static final int BUFSIZ = readBufsiz();
+    private static final int SPI_LSB_FIRST = 0x08;
 
     private final String bus;
     private final FileHandle fd;
 
     private final Ioctl console = Ioctl.getInstance();
-    private SpiMode currentClockMode;
-    private int currentBitOrdering;
-    private int currentWordLength;
-    private int currentClockFrequency;
+    private final SpiIocTransfer transfer = new SpiIocTransfer();
+    private final ByteBuffer singleByte = ByteBuffer.allocateDirect(1);
+    private final SpiTransaction single = SpiTransaction.create(1);
+    private final SpiBusLock lock = new SpiBusLock();
+    private volatile int maxTransferSize = BUFSIZ;
+    private volatile SpiMode currentClockMode;
+    private volatile int currentBitOrdering;
+    private volatile int currentWordLength;
+    private volatile int currentClockFrequency;
+    private volatile int currentModeFlags;
 
     public SpiBusImpl(int busNumber) throws NativeIOException {
         this("/dev/spidev0." + busNumber);
@@ -119,10 +136,18 @@ public class SpiBusImpl implements SpiBus {
 
     @Override
     public void setClockFrequency(int value) throws NativeIOException {
-        IntReference arg = new IntReference();
-        arg.setValue(value);
-        console.ioctl(fd, console.getSpiIocWrMaxSpeedHz(), arg);
-        currentClockFrequency = value;
+        boolean locked = enter();
+        try {
+            if (value == currentClockFrequency) {
+                return;
+            }
+            IntReference arg = new IntReference();
+            arg.setValue(value);
+            console.ioctl(fd, console.getSpiIocWrMaxSpeedHz(), arg);
+            currentClockFrequency = value;
+        } finally {
+            exit(locked);
+        }
     }
 
     /**
@@ -137,10 +162,51 @@ public class SpiBusImpl implements SpiBus {
 
     @Override
     public void setClockMode(SpiMode clockMode) throws NativeIOException {
-        IntReference arg = new IntReference();
-        arg.setValue(clockMode.value);
-        console.ioctl(fd, console.getSpiIocWrMode(), arg);
-        this.currentClockMode = clockMode;
+        boolean locked = enter();
+        try {
+            if (clockMode == currentClockMode) {
+                return;
+            }
+            IntReference arg = new IntReference();
+            if (currentModeFlags == 0) {
+                arg.setValue(clockMode.value);
+                console.ioctl(fd, console.getSpiIocWrMode(), arg);
+            } else {
+                // 8-bit mode request would reset extended flags
+                arg.setValue(toMode32(clockMode, currentModeFlags));
+                console.ioctl(fd, console.getSpiIocWrMode32(), arg);
+            }
+            this.currentClockMode = clockMode;
+        } finally {
+            exit(locked);
+        }
+    }
+
+    @Override
+    public EnumSet<SpiModeFlag> getModeFlags() {
+        return SpiModeFlag.fromValue(currentModeFlags);
+    }
+
+    @Override
+    public void setModeFlags(Set<SpiModeFlag> flags) throws NativeIOException {
+        boolean locked = enter();
+        try {
+            int value = SpiModeFlag.toValue(flags);
+            if (value == currentModeFlags) {
+                return;
+            }
+            log.log(Level.FINE, () -> String.format("Set mode flags '%s' on '%s'", flags, bus));
+            IntReference arg = new IntReference();
+            arg.setValue(toMode32(currentClockMode, value));
+            console.ioctl(fd, console.getSpiIocWrMode32(), arg);
+            this.currentModeFlags = value;
+        } finally {
+            exit(locked);
+        }
+    }
+
+    private int toMode32(SpiMode clockMode, int flags) {
+        return clockMode.value | (currentBitOrdering != 0 ? SPI_LSB_FIRST : 0) | flags;
     }
 
     /**
@@ -165,11 +231,19 @@ public class SpiBusImpl implements SpiBus {
 
     @Override
     public void setBitOrdering(int bitOrdering) throws NativeIOException {
-        IntReference arg = new IntReference();
-        arg.setValue(bitOrdering);
-        //        SPI_IOC_WR_LSB_FIRST
-        console.ioctl(fd, console.getSpiIocWrLsbFirst(), arg);
-        this.currentBitOrdering = bitOrdering;
+        boolean locked = enter();
+        try {
+            if (bitOrdering == currentBitOrdering) {
+                return;
+            }
+            IntReference arg = new IntReference();
+            arg.setValue(bitOrdering);
+            //        SPI_IOC_WR_LSB_FIRST
+            console.ioctl(fd, console.getSpiIocWrLsbFirst(), arg);
+            this.currentBitOrdering = bitOrdering;
+        } finally {
+            exit(locked);
+        }
     }
 
     /**
@@ -181,8 +255,15 @@ public class SpiBusImpl implements SpiBus {
      */
     @Override
     public int readByteData(SpiInputParams inputParams) throws IOException {
-        log.log(Level.FINEST, () -> "read byte data");
-        return readWriteData(inputParams.getFinal(), 1).get();
+        boolean locked = enter();
+        try {
+            log.log(Level.FINEST, () -> "read byte data");
+            singleByte.clear();
+            transfer(toTransmit(inputParams), singleByte);
+            return singleByte.get(0);
+        } finally {
+            exit(locked);
+        }
     }
 
     /**
@@ -193,8 +274,13 @@ public class SpiBusImpl implements SpiBus {
      */
     @Override
     public void writeByteData(SpiInputParams inputParams) throws NativeIOException {
-        log.log(Level.FINEST, () -> "write byte data");
-        readWriteData(inputParams.getFinal(), 0);
+        boolean locked = enter();
+        try {
+            log.log(Level.FINEST, () -> "write byte data");
+            transfer(toTransmit(inputParams), EMPTY);
+        } finally {
+            exit(locked);
+        }
     }
 
     /**
@@ -207,18 +293,31 @@ public class SpiBusImpl implements SpiBus {
      */
     @Override
     public ByteBuffer readArray(SpiInputParams inputParams, int outputSize) throws NativeIOException {
-        log.log(Level.FINEST, () -> "read array");
-        return readWriteData(
-                inputParams.getFinal(),
-                outputSize);
+        boolean locked = enter();
+        try {
+            log.log(Level.FINEST, () -> "read array");
+            ByteBuffer output = ByteBuffer.allocateDirect(outputSize);
+            transfer(toTransmit(inputParams), output);
+            return output.flip();
+        } finally {
+            exit(locked);
+        }
     }
 
     @Override
     public void setWordLength(int wordLength) throws NativeIOException {
-        IntReference arg = new IntReference();
-        arg.setValue(wordLength);
-        console.ioctl(fd, console.getSpiIocWrBitsPerWord(), arg);
-        this.currentWordLength = wordLength;
+        boolean locked = enter();
+        try {
+            if (wordLength == currentWordLength) {
+                return;
+            }
+            IntReference arg = new IntReference();
+            arg.setValue(wordLength);
+            console.ioctl(fd, console.getSpiIocWrBitsPerWord(), arg);
+            this.currentWordLength = wordLength;
+        } finally {
+            exit(locked);
+        }
     }
 
     private void initSPIHandler(int clockFrequency, SpiMode clockMode, int wordLength, int bitOrdering)
@@ -275,51 +374,256 @@ public class SpiBusImpl implements SpiBus {
 
     @Override
     public ByteBuffer readWriteData(ByteBuffer input, int outputSize) throws NativeIOException {
-        input.position(0);
+        boolean locked = enter();
+        try {
+            input.position(0);
+            ByteBuffer output = ByteBuffer.allocateDirect(outputSize);
+            transfer(input, output);
+            return output.flip();
+        } finally {
+            exit(locked);
+        }
+    }
+
+    @Override
+    public void transfer(ByteBuffer tx, ByteBuffer rx) throws NativeIOException {
+        boolean locked = enter();
+        try {
+            if (log.isLoggable(Level.FINEST)) {
+                log.log(Level.FINEST, StringUtils.dump(tx));
+            }
+
+            if (tx.remaining() + rx.remaining() > maxTransferSize) {
+                single.clear().transfer(tx, rx).speed(currentClockFrequency).bitsPerWord(currentWordLength);
+                transferSplit(single.getSegments(), 1);
+            } else if (tx.hasRemaining() || rx.hasRemaining()) {
+                console.ioctl(fd, transfer.set(tx, rx, currentClockFrequency, (byte) currentWordLength));
+            }
+
+            if (log.isLoggable(Level.FINEST)) {
+                log.log(Level.FINEST, StringUtils.dump(rx));
+            }
+
+            tx.position(tx.limit());
+            rx.position(rx.limit());
+        } finally {
+            exit(locked);
+        }
+    }
+
+    @Override
+    public void transfer(SpiTransaction transaction) throws NativeIOException {
+        boolean locked = enter();
+        try {
+            int size = transaction.size();
+            if (log.isLoggable(Level.FINEST)) {
+                log.log(Level.FINEST, String.format("transfer transaction with '%d' segments", size));
+            }
+            if (size == 0) {
+                return;
+            }
+            SpiIocTransfer[] segments = transaction.getSegments();
+            long length = 0;
+            for (int i = 0; i < size; i++) {
+                length += segments[i].getLength();
+            }
+            if (length > maxTransferSize) {
+                transferSplit(segments, size);
+            } else {
+                console.ioctl(fd, segments, size);
+            }
+            transaction.complete();
+        } finally {
+            exit(locked);
+        }
+    }
+
+    /**
+     * spidev rejects messages longer than its {@code bufsiz} with {@code EMSGSIZE}. Segments are cut into pieces which
+     * are grouped into consecutive messages not exceeding the limit. At message boundary {@code cs_change} of the last
+     * piece is inverted: on the last transfer of a message it means "keep device selected", so the device observes one
+     * continuous transfer, and an explicit chip select toggle requested between segments is still performed.
+     */
+    private void transferSplit(SpiIocTransfer[] segments, int size) throws NativeIOException {
+        List<SpiIocTransfer> pieces = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            split(segments[i], pieces);
+        }
+        if (log.isLoggable(Level.FINE)) {
+            log.log(Level.FINE, String.format("split transfer on '%s' into '%d' pieces", bus, pieces.size()));
+        }
+
+        SpiIocTransfer[] message = new SpiIocTransfer[pieces.size()];
+        int count = 0;
+        int length = 0;
+        for (SpiIocTransfer piece : pieces) {
+            if (count > 0 && length + piece.getLength() > maxTransferSize) {
+                submit(message, count, true);
+                count = 0;
+                length = 0;
+            }
+            message[count++] = piece;
+            length += piece.getLength();
+        }
+        submit(message, count, false);
+    }
+
+    private void submit(SpiIocTransfer[] message, int count, boolean more) throws NativeIOException {
+        SpiIocTransfer last = message[count - 1];
+        byte csChange = last.getCsChange();
+        if (more) {
+            last.setCsChange((byte) (csChange == 0 ? 1 : 0));
+        }
+        try {
+            console.ioctl(fd, message, count);
+        } finally {
+            last.setCsChange(csChange);
+        }
+    }
+
+    /**
+     * Cuts tx-then-rx stream of segment into pieces of {@link #maxTransferSize} bytes. Pieces are views over original
+     * buffers, so received bytes land in place. Chip select stays asserted between pieces, delay and {@code cs_change}
+     * of the segment apply to the last piece only.
+     */
+    private void split(SpiIocTransfer segment, List<SpiIocTransfer> pieces) {
+        int length = segment.getLength();
+        if (length <= maxTransferSize) {
+            pieces.add(segment);
+            return;
+        }
+
+        ByteBuffer tx = segment.getTxBuffer();
+        ByteBuffer rx = segment.getRxBuffer();
+        int txSize = tx.remaining();
+        for (int offset = 0; offset < length; offset += maxTransferSize) {
+            int end = Math.min(offset + maxTransferSize, length);
+            ByteBuffer txPiece = view(tx, Math.min(offset, txSize), Math.min(end, txSize));
+            ByteBuffer rxPiece = view(rx, Math.max(offset - txSize, 0), Math.max(end - txSize, 0));
+
+            SpiIocTransfer piece = new SpiIocTransfer()
+                    .set(txPiece, rxPiece, segment.getSpeed(), segment.getBitsPerWord());
+            piece.setTxNbits(segment.getTxNbits());
+            piece.setRxNbits(segment.getRxNbits());
+            if (end == length) {
+                piece.setDelay(segment.getDelay());
+                piece.setCsChange(segment.getCsChange());
+            }
+            pieces.add(piece);
+        }
+    }
+
+    private static ByteBuffer view(ByteBuffer buffer, int from, int to) {
+        if (from == to) {
+            return EMPTY;
+        }
+        ByteBuffer view = buffer.duplicate();
+        view.limit(buffer.position() + to);
+        view.position(buffer.position() + from);
+        return view;
+    }
+
+    @Override
+    public SpiBusLock getLock() {
+        return lock;
+    }
 
-        ByteBuffer output = ByteBuffer
-                .allocateDirect(outputSize);
+    /**
+     * Per-call locking is skipped while current thread owns bus within {@link SpiBusSession}
+     *
+     * @return {@code true} if lock was acquired by this call
+     */
+    private boolean enter() {
+        if (lock.isHeldByCurrentThread()) {
+            return false;
+        }
+        lock.lock();
+        return true;
+    }
 
-        log.log(Level.FINEST, () -> StringUtils.dump(input));
+    private void exit(boolean locked) {
+        if (locked) {
+            lock.unlock();
+        }
+    }
 
-        SpiIocTransfer data = new SpiIocTransfer(
-                input,
-                output,
-                input.capacity() + outputSize,
-                getClockFrequency(),
-                //clockFrequency,
-                (short) 0,
-                //(byte) wordLength
-                (byte) getWordLength());
+    @Override
+    public int getMaxTransferSize() {
+        return maxTransferSize;
+    }
 
-        Ioctl.getInstance().ioctl(fd, data);
+    /**
+     * Overrides limit of single message discovered from spidev {@code bufsiz} module parameter.
+     * Useful for controllers which have lower limit than the driver.
+     *
+     * @param maxTransferSize limit of single message in bytes
+     */
+    public void setMaxTransferSize(int maxTransferSize) {
+        boolean locked = enter();
+        try {
+            if (maxTransferSize < 1) {
+                throw new IllegalArgumentException("Max transfer size should be positive: " + maxTransferSize);
+            }
+            this.maxTransferSize = maxTransferSize;
+        } finally {
+            exit(locked);
+        }
+    }
 
-        log.log(Level.FINEST, () -> StringUtils.dump(output));
+    private static int readBufsiz() {
+        try {
+            int value = Integer.parseInt(Files.readString(Path.of(BUFSIZ_PATH)).trim());
+            if (value > 0) {
+                return value;
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.log(Level.FINE, () -> String.format("Unable to read '%s': %s", BUFSIZ_PATH, e));
+        }
+        return DEFAULT_BUFSIZ;
+    }
 
-        return output.asReadOnlyBuffer();
+    private static ByteBuffer toTransmit(SpiInputParams inputParams) {
+        ByteBuffer input = inputParams.getFinal();
+        input.position(0);
+        return input;
     }
 
     @Override
     public void reload() throws NativeIOException {
-        // Clock mode
-        IntReference arg = new IntReference();
-        console.ioctl(fd, console.getSpiIocRdMode(), arg);
-        this.currentClockMode = SpiMode.valueOf(arg.getValue());
-
-        //SPI_IOC_RD_LSB_FIRST
-        // Bit Ordering
-        arg.setValue(0);
-        console.ioctl(fd, console.getSpiIocRdLsbFirst(), arg);
-        currentBitOrdering = arg.getValue();
-
-        // Word Length
-        arg.setValue(0);
-        console.ioctl(fd, console.getSpiIocRdBitsPerWord(), arg);
-        currentWordLength = arg.getValue();
-
-        // Clock Frenq
-        arg.setValue(0);
-        console.ioctl(fd, console.getSpiIocRdMaxSpeedHz(), arg);
-        currentClockFrequency = arg.getValue();
+        boolean locked = enter();
+        try {
+            // Clock mode
+            IntReference arg = new IntReference();
+            console.ioctl(fd, console.getSpiIocRdMode(), arg);
+            this.currentClockMode = SpiMode.valueOf(arg.getValue());
+
+            //SPI_IOC_RD_LSB_FIRST
+            // Bit Ordering
+            arg.setValue(0);
+            console.ioctl(fd, console.getSpiIocRdLsbFirst(), arg);
+            currentBitOrdering = arg.getValue();
+
+            // Word Length
+            arg.setValue(0);
+            console.ioctl(fd, console.getSpiIocRdBitsPerWord(), arg);
+            currentWordLength = arg.getValue();
+
+            // Clock Frenq
+            arg.setValue(0);
+            console.ioctl(fd, console.getSpiIocRdMaxSpeedHz(), arg);
+            currentClockFrequency = arg.getValue();
+
+            // Extended mode flags
+            arg.setValue(0);
+            try {
+                console.ioctl(fd, console.getSpiIocRdMode32(), arg);
+                currentModeFlags = SpiModeFlag.toValue(SpiModeFlag.fromValue(arg.getValue()));
+            } catch (NativeIOException e) {
+                log.log(Level.FINE, () -> String.format("32-bit mode is not supported by '%s': %s", bus, e.getMessage()));
+                currentModeFlags = 0;
+            }
+        } finally {
+            exit(locked);
+        }
     }
 }
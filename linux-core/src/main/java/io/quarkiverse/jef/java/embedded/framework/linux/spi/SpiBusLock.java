@@ -0,0 +1,120 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.spi;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@link SpiBusLock} class serializes access to one SPI bus. Every transfer, transaction and configuration
+ * request of {@link SpiBus} is performed under this lock, so concurrent callers never interleave.
+ * <p>
+ * Lock is reentrant. Uncontended acquisition costs one CAS, time is measured only if lock is held by another thread,
+ * so statistics may stay enabled on hot path.
+ */
+@SuppressWarnings("unused")
+public final class SpiBusLock {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contentions = new LongAdder();
+    private final LongAdder contentionNanos = new LongAdder();
+    private final AtomicLong maxContentionNanos = new AtomicLong();
+
+    /**
+     * Acquires lock waiting if bus is used by another thread
+     */
+    public void lock() {
+        if (!lock.tryLock()) {
+            long start = System.nanoTime();
+            lock.lock();
+            long waited = System.nanoTime() - start;
+            contentions.increment();
+            contentionNanos.add(waited);
+            maxContentionNanos.accumulateAndGet(waited, Math::max);
+        }
+        acquisitions.increment();
+    }
+
+    /**
+     * Releases lock
+     */
+    public void unlock() {
+        lock.unlock();
+    }
+
+    /**
+     * Checks if current thread owns bus
+     *
+     * @return {@code true} if lock is held by current thread
+     */
+    public boolean isHeldByCurrentThread() {
+        return lock.isHeldByCurrentThread();
+    }
+
+    /**
+     * Amount of threads waiting for bus
+     *
+     * @return estimated queue length
+     */
+    public int getQueueLength() {
+        return lock.getQueueLength();
+    }
+
+    /**
+     * Total amount of lock acquisitions
+     *
+     * @return amount of acquisitions
+     */
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    /**
+     * Amount of acquisitions which had to wait for another thread
+     *
+     * @return amount of contended acquisitions
+     */
+    public long getContentions() {
+        return contentions.sum();
+    }
+
+    /**
+     * Total time spent waiting for bus
+     *
+     * @param unit time unit of result
+     * @return waiting time
+     */
+    public long getContentionTime(TimeUnit unit) {
+        return unit.convert(contentionNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Longest single wait for bus
+     *
+     * @param unit time unit of result
+     * @return waiting time
+     */
+    public long getMaxContentionTime(TimeUnit unit) {
+        return unit.convert(maxContentionNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Resets all counters
+     */
+    public void resetStatistics() {
+        acquisitions.reset();
+        contentions.reset();
+        contentionNanos.reset();
+        maxContentionNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "SpiBusLock{" +
+                "acquisitions=" + getAcquisitions() +
+                ", contentions=" + getContentions() +
+                ", contentionTimeMicros=" + getContentionTime(TimeUnit.MICROSECONDS) +
+                ", maxContentionTimeMicros=" + getMaxContentionTime(TimeUnit.MICROSECONDS) +
+                '}';
+    }
+}
@@ -0,0 +1,81 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.spi;
+
+import java.nio.ByteBuffer;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
+
+/**
+ * Exclusive access to {@link SpiBus} obtained by {@link SpiBus#acquire()}. While session is open no other thread
+ * may use the bus, so device protocols consisting of several transfers are not interleaved with other requests.
+ * Calls made by owner thread within session skip per-call locking.
+ * <p>
+ * Session is bound to the thread which acquired it and must be closed by the same thread.
+ *
+ * <pre>
+ * try (SpiBusSession session = bus.acquire()) {
+ *     session.transfer(command, status);
+ *     session.transfer(read);
+ * }
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public final class SpiBusSession implements AutoCloseable {
+    private final SpiBus bus;
+    private final SpiBusLock lock;
+    private boolean closed;
+
+    SpiBusSession(SpiBus bus) {
+        this.bus = bus;
+        this.lock = bus.getLock();
+        lock.lock();
+    }
+
+    /**
+     * Bus owned by session
+     *
+     * @return SPI bus
+     */
+    public SpiBus getBus() {
+        return bus;
+    }
+
+    /**
+     * See {@link SpiBus#transfer(ByteBuffer, ByteBuffer)}
+     *
+     * @param tx bytes to transmit
+     * @param rx buffer for the response
+     * @throws NativeIOException if SPI bus discard request
+     */
+    public void transfer(ByteBuffer tx, ByteBuffer rx) throws NativeIOException {
+        checkOpen();
+        bus.transfer(tx, rx);
+    }
+
+    /**
+     * See {@link SpiBus#transfer(SpiTransaction)}
+     *
+     * @param transaction chained segments
+     * @throws NativeIOException if SPI bus discard request
+     */
+    public void transfer(SpiTransaction transaction) throws NativeIOException {
+        checkOpen();
+        bus.transfer(transaction);
+    }
+
+    /**
+     * Releases bus
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            lock.unlock();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("SPI session for " + bus.getBus() + " is closed");
+        }
+    }
+}
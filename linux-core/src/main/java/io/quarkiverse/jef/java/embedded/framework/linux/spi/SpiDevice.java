@@ -0,0 +1,285 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.spi;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.io.FileHandle;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.types.SpiIocTransfer;
+
+/**
+ * The {@link SpiDevice} class describes profile of one slave device on shared {@link SpiBus}.
+ * Each device keeps own clock frequency, clock mode and word length. Frequency and word length are passed within every
+ * transfer ({@code speed_hz} and {@code bits_per_word} fields of {@code spi_ioc_transfer}), so no reconfiguration
+ * ioctl is needed when devices with different speed share one bus. Clock mode ioctl is issued only if mode of the bus
+ * differs from mode of the device.
+ * <p>
+ * Setters of profile never touch the bus, so drivers written for {@link SpiBus} may be used with device profile as is.
+ */
+@SuppressWarnings("unused")
+public class SpiDevice implements SpiBus {
+    private static final Logger log = Logger.getLogger(SpiDevice.class.getName());
+    private static final ByteBuffer EMPTY = ByteBuffer.allocateDirect(0);
+
+    private final SpiBus bus;
+    private final SpiTransaction single = SpiTransaction.create(1);
+    private final ByteBuffer singleByte = ByteBuffer.allocateDirect(1);
+    // segments which got speed or word length of profile, guarded by bus lock
+    private byte[] defaulted = new byte[4];
+
+    private volatile int clockFrequency;
+    private volatile SpiMode clockMode;
+    private volatile int wordLength;
+
+    /**
+     * Allocates new device profile
+     *
+     * @param bus shared bus
+     * @param clockFrequency clock frequency of device
+     * @param clockMode clock mode of device. see {@link SpiMode}
+     * @param wordLength length of word. Typically it's 8-bits.
+     */
+    public SpiDevice(SpiBus bus, int clockFrequency, SpiMode clockMode, int wordLength) {
+        this.bus = bus;
+        this.clockFrequency = clockFrequency;
+        this.clockMode = clockMode;
+        this.wordLength = wordLength;
+        log.log(Level.FINE,
+                () -> String.format(
+                        "Create SPI device on bus '%s' Clock Frequency: '%d' Spi Mode: '%s' Word Length: '%d'",
+                        bus.getBus(), clockFrequency, clockMode, wordLength));
+    }
+
+    /**
+     * Shared bus of device
+     *
+     * @return SPI bus
+     */
+    public SpiBus getSharedBus() {
+        return bus;
+    }
+
+    @Override
+    public String getBus() {
+        return bus.getBus();
+    }
+
+    @Override
+    public FileHandle getFd() {
+        return bus.getFd();
+    }
+
+    @Override
+    public int getClockFrequency() {
+        return clockFrequency;
+    }
+
+    @Override
+    public void setClockFrequency(int value) {
+        this.clockFrequency = value;
+    }
+
+    @Override
+    public SpiMode getClockMode() {
+        return clockMode;
+    }
+
+    @Override
+    public void setClockMode(SpiMode clockMode) {
+        this.clockMode = clockMode;
+    }
+
+    @Override
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    @Override
+    public void setWordLength(int wordLength) {
+        this.wordLength = wordLength;
+    }
+
+    /**
+     * Bit ordering is shared by all devices on bus
+     *
+     * @return bus bit ordering
+     */
+    @Override
+    public int getBitOrdering() throws NativeIOException {
+        return bus.getBitOrdering();
+    }
+
+    @Override
+    public void setBitOrdering(int bitOrdering) throws NativeIOException {
+        bus.setBitOrdering(bitOrdering);
+    }
+
+    /**
+     * Extended mode flags are shared by all devices on bus
+     *
+     * @return bus mode flags
+     */
+    @Override
+    public EnumSet<SpiModeFlag> getModeFlags() throws NativeIOException {
+        return bus.getModeFlags();
+    }
+
+    @Override
+    public void setModeFlags(Set<SpiModeFlag> flags) throws NativeIOException {
+        bus.setModeFlags(flags);
+    }
+
+    @Override
+    public void reload() throws NativeIOException {
+        bus.reload();
+    }
+
+    @Override
+    public int getMaxTransferSize() {
+        return bus.getMaxTransferSize();
+    }
+
+    /**
+     * Devices share lock of bus
+     *
+     * @return bus lock
+     */
+    @Override
+    public SpiBusLock getLock() {
+        return bus.getLock();
+    }
+
+    @Override
+    public int readByteData(SpiInputParams inputParams) throws IOException {
+        SpiBusLock lock = bus.getLock();
+        lock.lock();
+        try {
+            singleByte.clear();
+            transfer(toTransmit(inputParams), singleByte);
+            return singleByte.get(0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void writeByteData(SpiInputParams inputParams) throws NativeIOException {
+        SpiBusLock lock = bus.getLock();
+        lock.lock();
+        try {
+            transfer(toTransmit(inputParams), EMPTY);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public ByteBuffer readArray(SpiInputParams inputParams, int outputSize) throws NativeIOException {
+        ByteBuffer output = ByteBuffer.allocateDirect(outputSize);
+        SpiBusLock lock = bus.getLock();
+        lock.lock();
+        try {
+            transfer(toTransmit(inputParams), output);
+        } finally {
+            lock.unlock();
+        }
+        return output.flip();
+    }
+
+    @Override
+    public ByteBuffer readWriteData(ByteBuffer input, int outputSize) throws NativeIOException {
+        input.position(0);
+        ByteBuffer output = ByteBuffer.allocateDirect(outputSize);
+        transfer(input, output);
+        return output.flip();
+    }
+
+    @Override
+    public void transfer(ByteBuffer tx, ByteBuffer rx) throws NativeIOException {
+        SpiBusLock lock = bus.getLock();
+        lock.lock();
+        try {
+            single.clear().transfer(tx, rx);
+            transfer(single);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Submits transaction with device profile. Segments without explicit speed or word length are sent with values of
+     * profile. Transaction is left as it was, so it may be reused with another device.
+     *
+     * @param transaction chained segments. See {@link SpiTransaction}
+     * @throws NativeIOException if SPI bus discard request
+     */
+    @Override
+    public void transfer(SpiTransaction transaction) throws NativeIOException {
+        SpiIocTransfer[] segments = transaction.getSegments();
+        int size = transaction.size();
+
+        SpiBusLock lock = bus.getLock();
+        lock.lock();
+        try {
+            applyDefaults(segments, size);
+            try {
+                bus.setClockMode(clockMode);
+                bus.transfer(transaction);
+            } finally {
+                restoreDefaults(segments, size);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void applyDefaults(SpiIocTransfer[] segments, int size) {
+        if (defaulted.length < size) {
+            defaulted = new byte[Math.max(size, defaulted.length * 2)];
+        }
+        for (int i = 0; i < size; i++) {
+            SpiIocTransfer segment = segments[i];
+            byte flags = 0;
+            if (segment.getSpeed() == 0) {
+                segment.setSpeed(clockFrequency);
+                flags |= 1;
+            }
+            if (segment.getBitsPerWord() == 0) {
+                segment.setBitsPerWord((byte) wordLength);
+                flags |= 2;
+            }
+            defaulted[i] = flags;
+        }
+    }
+
+    private void restoreDefaults(SpiIocTransfer[] segments, int size) {
+        for (int i = 0; i < size; i++) {
+            if ((defaulted[i] & 1) != 0) {
+                segments[i].setSpeed(0);
+            }
+            if ((defaulted[i] & 2) != 0) {
+                segments[i].setBitsPerWord((byte) 0);
+            }
+        }
+    }
+
+    private static ByteBuffer toTransmit(SpiInputParams inputParams) {
+        ByteBuffer input = inputParams.getFinal();
+        input.position(0);
+        return input;
+    }
+
+    @Override
+    public String toString() {
+        return "SpiDevice{" +
+                "bus=" + bus.getBus() +
+                ", clockFrequency=" + clockFrequency +
+                ", clockMode=" + clockMode +
+                ", wordLength=" + wordLength +
+                '}';
+    }
+}
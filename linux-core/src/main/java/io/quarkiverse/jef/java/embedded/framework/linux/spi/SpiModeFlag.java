@@ -0,0 +1,97 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.spi;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Extended mode flags of SPI device accessible by {@code SPI_IOC_RD_MODE32} and {@code SPI_IOC_WR_MODE32}.
+ * Clock polarity and phase are described separately by {@link SpiMode}, bit ordering by
+ * {@link SpiBus#setBitOrdering(int)}.
+ * <p>
+ * Dual and quad flags allow segments with {@link SpiTransaction#txNbits(int)} and
+ * {@link SpiTransaction#rxNbits(int)} wider than single data line. Controller must support them, otherwise
+ * device rejects mode with {@code EINVAL}.
+ */
+@SuppressWarnings("unused")
+public enum SpiModeFlag {
+    /**
+     * Chip select active high
+     */
+    SPI_CS_HIGH(0x04),
+
+    /**
+     * SI/SO signals shared
+     */
+    SPI_3WIRE(0x10),
+
+    /**
+     * Loopback mode
+     */
+    SPI_LOOP(0x20),
+
+    /**
+     * No chip select
+     */
+    SPI_NO_CS(0x40),
+
+    /**
+     * Slave pulls low to pause
+     */
+    SPI_READY(0x80),
+
+    /**
+     * Transmit with 2 wires
+     */
+    SPI_TX_DUAL(0x100),
+
+    /**
+     * Transmit with 4 wires
+     */
+    SPI_TX_QUAD(0x200),
+
+    /**
+     * Receive with 2 wires
+     */
+    SPI_RX_DUAL(0x400),
+
+    /**
+     * Receive with 4 wires
+     */
+    SPI_RX_QUAD(0x800);
+
+    final int value;
+
+    SpiModeFlag(int value) {
+        this.value = value;
+    }
+
+    /**
+     * Combines flags into bit mask
+     *
+     * @param flags set of flags
+     * @return bit mask
+     */
+    public static int toValue(Set<SpiModeFlag> flags) {
+        int result = 0;
+        for (SpiModeFlag flag : flags) {
+            result |= flag.value;
+        }
+        return result;
+    }
+
+    /**
+     * Extracts known flags from 32-bit mode value
+     *
+     * @param value mode value
+     * @return set of flags
+     */
+    public static EnumSet<SpiModeFlag> fromValue(int value) {
+        EnumSet<SpiModeFlag> result = EnumSet.noneOf(SpiModeFlag.class);
+        for (SpiModeFlag flag : values()) {
+            if ((value & flag.value) != 0) {
+                result.add(flag);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,224 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.spi;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.types.SpiIocTransfer;
+
+/**
+ * The {@link SpiTransaction} class chains several transfer segments which are submitted to {@link SpiBus} within single
+ * {@code SPI_IOC_MESSAGE(N)} request. Chip select stays asserted between segments unless
+ * {@link #csChange(boolean)} is requested for a segment.
+ * <p>
+ * Each segment transmits bytes remaining in its tx buffer and then receives bytes into its rx buffer.
+ * Segment parameters ({@link #speed(int)}, {@link #delay(int)}, {@link #bitsPerWord(int)},
+ * {@link #csChange(boolean)}, {@link #txNbits(int)}, {@link #rxNbits(int)}) are applied to the last added segment.
+ * Zero speed or bits per word means bus defaults.
+ * <p>
+ * Instance may be reused after {@link #clear()} without new allocations.
+ *
+ * <pre>
+ * SpiTransaction transaction = SpiTransaction.create()
+ *         .write(command)
+ *         .read(response).speed(20_000_000);
+ * bus.transfer(transaction);
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public class SpiTransaction {
+    private static final ByteBuffer EMPTY = ByteBuffer.allocateDirect(0);
+
+    private SpiIocTransfer[] segments;
+    private int size;
+
+    private SpiTransaction(int capacity) {
+        segments = new SpiIocTransfer[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Allocates new empty transaction
+     *
+     * @return transaction
+     */
+    public static SpiTransaction create() {
+        return new SpiTransaction(4);
+    }
+
+    /**
+     * Allocates new empty transaction with expected amount of segments
+     *
+     * @param capacity expected amount of segments
+     * @return transaction
+     */
+    public static SpiTransaction create(int capacity) {
+        return new SpiTransaction(capacity);
+    }
+
+    /**
+     * Adds segment which transmits {@code tx} and then receives {@code rx}
+     *
+     * @param tx bytes to transmit
+     * @param rx buffer for the response
+     * @return this transaction
+     */
+    public SpiTransaction transfer(ByteBuffer tx, ByteBuffer rx) {
+        if (size == segments.length) {
+            segments = Arrays.copyOf(segments, segments.length * 2);
+        }
+        SpiIocTransfer segment = segments[size];
+        if (segment == null) {
+            segment = new SpiIocTransfer();
+            segments[size] = segment;
+        }
+        segment.set(tx, rx, 0, (byte) 0);
+        segment.setDelay((short) 0);
+        segment.setCsChange((byte) 0);
+        segment.setTxNbits((byte) 0);
+        segment.setRxNbits((byte) 0);
+        size++;
+        return this;
+    }
+
+    /**
+     * Adds write-only segment
+     *
+     * @param tx bytes to transmit
+     * @return this transaction
+     */
+    public SpiTransaction write(ByteBuffer tx) {
+        return transfer(tx, EMPTY);
+    }
+
+    /**
+     * Adds read-only segment
+     *
+     * @param rx buffer for the response
+     * @return this transaction
+     */
+    public SpiTransaction read(ByteBuffer rx) {
+        return transfer(EMPTY, rx);
+    }
+
+    /**
+     * Clock frequency of last segment
+     *
+     * @param speedHz frequency in Hz or 0 for bus default
+     * @return this transaction
+     */
+    public SpiTransaction speed(int speedHz) {
+        last().setSpeed(speedHz);
+        return this;
+    }
+
+    /**
+     * Delay after last segment before optionally changing chip select
+     *
+     * @param delayMicros delay in microseconds
+     * @return this transaction
+     */
+    public SpiTransaction delay(int delayMicros) {
+        if (delayMicros < 0 || delayMicros > 0xFFFF) {
+            throw new IllegalArgumentException("Delay should be in range 0-65535: " + delayMicros);
+        }
+        last().setDelay((short) delayMicros);
+        return this;
+    }
+
+    /**
+     * Word length of last segment
+     *
+     * @param bitsPerWord word length or 0 for bus default
+     * @return this transaction
+     */
+    public SpiTransaction bitsPerWord(int bitsPerWord) {
+        last().setBitsPerWord((byte) bitsPerWord);
+        return this;
+    }
+
+    /**
+     * Deselects device after last segment before starting the next one
+     *
+     * @param csChange {@code true} to toggle chip select after segment
+     * @return this transaction
+     */
+    public SpiTransaction csChange(boolean csChange) {
+        last().setCsChange((byte) (csChange ? 1 : 0));
+        return this;
+    }
+
+    /**
+     * Amount of data lines used to transmit last segment. Dual and quad widths require
+     * {@link SpiModeFlag#SPI_TX_DUAL} or {@link SpiModeFlag#SPI_TX_QUAD} mode and write-only segment.
+     *
+     * @param nbits 1, 2, 4 or 0 for single line
+     * @return this transaction
+     */
+    public SpiTransaction txNbits(int nbits) {
+        last().setTxNbits(checkNbits(nbits));
+        return this;
+    }
+
+    /**
+     * Amount of data lines used to receive last segment. Dual and quad widths require
+     * {@link SpiModeFlag#SPI_RX_DUAL} or {@link SpiModeFlag#SPI_RX_QUAD} mode and read-only segment.
+     *
+     * @param nbits 1, 2, 4 or 0 for single line
+     * @return this transaction
+     */
+    public SpiTransaction rxNbits(int nbits) {
+        last().setRxNbits(checkNbits(nbits));
+        return this;
+    }
+
+    /**
+     * Amount of segments in transaction
+     *
+     * @return amount of segments
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all segments. Allocated segment holders will be reused.
+     *
+     * @return this transaction
+     */
+    public SpiTransaction clear() {
+        for (int i = 0; i < size; i++) {
+            segments[i].set(EMPTY, EMPTY, 0, (byte) 0);
+        }
+        size = 0;
+        return this;
+    }
+
+    SpiIocTransfer[] getSegments() {
+        return segments;
+    }
+
+    /**
+     * Moves positions of all segment buffers to their limits after successful transfer
+     */
+    void complete() {
+        for (int i = 0; i < size; i++) {
+            ByteBuffer tx = segments[i].getTxBuffer();
+            ByteBuffer rx = segments[i].getRxBuffer();
+            tx.position(tx.limit());
+            rx.position(rx.limit());
+        }
+    }
+
+    private static byte checkNbits(int nbits) {
+        if (nbits != 0 && nbits != 1 && nbits != 2 && nbits != 4) {
+            throw new IllegalArgumentException("Bus width should be 1, 2 or 4: " + nbits);
+        }
+        return (byte) nbits;
+    }
+
+    private SpiIocTransfer last() {
+        if (size == 0) {
+            throw new IllegalStateException("Transaction has no segments");
+        }
+        return segments[size - 1];
+    }
+}
@@ -1,6 +1,11 @@
 package io.quarkiverse.jef.java.embedded.framework.linux.core.mook;
 
 import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.quarkiverse.jef.java.embedded.framework.linux.core.Fcntl;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.IOFlags;
@@ -9,6 +14,32 @@ import io.quarkiverse.jef.java.embedded.framework.linux.core.io.FileHandle;
 
 public class FcntlMock extends Fcntl {
     private final static FileHandle HANDLE = new FileHandle(0);
+    private final static AtomicInteger descriptors = new AtomicInteger(1000);
+    private final static Map<Integer, LinkedBlockingDeque<byte[]>> pipes = new ConcurrentHashMap<>();
+
+    /**
+     * Allocates emulated descriptor which returns data passed to {@link #feed(int, byte[])}. Reading of empty
+     * descriptor returns {@code 0} and {@link #poll(FileHandle, int, int)} waits until data arrives.
+     *
+     * @return descriptor number
+     */
+    public static int createPipe() {
+        int fd = descriptors.incrementAndGet();
+        pipes.put(fd, new LinkedBlockingDeque<>());
+        return fd;
+    }
+
+    /**
+     * Queues data for reading from emulated descriptor
+     *
+     * @param fd descriptor allocated by {@link #createPipe()}
+     * @param data bytes to read
+     * @return {@code false} if descriptor is closed
+     */
+    public static boolean feed(int fd, byte[] data) {
+        LinkedBlockingDeque<byte[]> pipe = pipes.get(fd);
+        return pipe != null && pipe.offer(data.clone());
+    }
 
     @Override
     public boolean isMock() {
@@ -27,17 +58,32 @@ public class FcntlMock extends Fcntl {
 
     @Override
     public void close(FileHandle fd) throws NativeIOException {
-
+        pipes.remove(fd.getHandle());
     }
 
     @Override
     public void close(int fd) throws NativeIOException {
-
+        pipes.remove(fd);
     }
 
     @Override
     public int read(FileHandle fd, byte[] buffer, int size) throws NativeIOException {
-        return size;
+        LinkedBlockingDeque<byte[]> pipe = pipes.get(fd.getHandle());
+        if (pipe == null) {
+            return size;
+        }
+        byte[] data = pipe.poll();
+        if (data == null) {
+            return 0;
+        }
+        int length = Math.min(size, data.length);
+        System.arraycopy(data, 0, buffer, 0, length);
+        if (length < data.length) {
+            byte[] rest = new byte[data.length - length];
+            System.arraycopy(data, length, rest, 0, rest.length);
+            pipe.offerFirst(rest);
+        }
+        return length;
     }
 
     @Override
@@ -54,6 +100,25 @@ public class FcntlMock extends Fcntl {
         return 0;
     }
 
+    @Override
+    public int poll(FileHandle fd, int events, int timeout) throws NativeIOException {
+        LinkedBlockingDeque<byte[]> pipe = pipes.get(fd.getHandle());
+        if (pipe == null) {
+            return events;
+        }
+        try {
+            byte[] data = timeout < 0 ? pipe.takeFirst() : pipe.pollFirst(timeout, TimeUnit.MILLISECONDS);
+            if (data == null) {
+                return 0;
+            }
+            pipe.offerFirst(data);
+            return events & POLLIN;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
     @Override
     public boolean isNativeSupported() {
         return true;
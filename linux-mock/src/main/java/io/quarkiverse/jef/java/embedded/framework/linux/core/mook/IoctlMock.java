@@ -1,5 +1,11 @@
 package io.quarkiverse.jef.java.embedded.framework.linux.core.mook;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import io.quarkiverse.jef.java.embedded.framework.linux.core.Ioctl;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.io.FileHandle;
@@ -8,11 +14,171 @@ import io.quarkiverse.jef.java.embedded.framework.linux.core.types.LongReference
 import io.quarkiverse.jef.java.embedded.framework.linux.core.types.SmbusIoctlData;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.types.SpiIocTransfer;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioChipInfo;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioEvent;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioEventRequest;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioHandleData;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioHandleRequest;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioLineInfo;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineConfig;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineInfo;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineRequest;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineValues;
+import io.quarkiverse.jef.java.embedded.framework.linux.i2c.I2CMessage;
 
 public class IoctlMock extends Ioctl {
+    private static final long I2C_FUNCS = 0x0705L;
+    private static final int GPIOHANDLES_MAX = 64;
+
+    private static volatile SpiHandler spiHandler;
+    private static volatile int spiMode;
+    private static volatile I2CHandler i2cHandler;
+    private static volatile long i2cFunctionality;
+    private static final Map<Integer, Integer> gpioEventLines = new ConcurrentHashMap<>();
+    private static final Map<Integer, byte[]> gpioHandleValues = new ConcurrentHashMap<>();
+    private static final Map<Integer, GpioV2Line> gpioV2Lines = new ConcurrentHashMap<>();
+    private static final Map<Integer, Integer> gpioV2Offsets = new ConcurrentHashMap<>();
+    private static final AtomicInteger gpioV2Requests = new AtomicInteger();
+    private static volatile boolean gpioV2;
+    private static volatile String[] gpioLineNames = new String[0];
+
+    /**
+     * Installs handler which receives every SPI message submitted to mock. Tests may use it to verify segments
+     * or to emulate device responses by filling rx buffers.
+     *
+     * @param handler handler or {@code null} to remove
+     */
+    public static void setSpiHandler(SpiHandler handler) {
+        spiHandler = handler;
+    }
+
+    /**
+     * Installs handler which receives every {@code I2C_RDWR} transaction submitted to mock. Tests may use it to
+     * verify messages or to emulate device responses by filling buffers of read messages.
+     *
+     * @param handler handler or {@code null} to remove
+     */
+    public static void setI2CHandler(I2CHandler handler) {
+        i2cHandler = handler;
+    }
+
+    /**
+     * Sets functionality mask reported by emulated I2C adapter for {@code I2C_FUNCS} request.
+     * Mask is read when bus is opened.
+     *
+     * @param functionality mask of {@code I2C_FUNC_*} values
+     */
+    public static void setI2CFunctionality(long functionality) {
+        i2cFunctionality = functionality;
+    }
+
+    /**
+     * Emulates edge on line requested by {@code GPIO_GET_LINEEVENT_IOCTL}
+     *
+     * @param offset line offset
+     * @param timestamp event timestamp in nanoseconds
+     * @param rising {@code true} for rising edge or {@code false} for falling edge
+     * @return {@code false} if nobody listens to line
+     */
+    public static boolean emitGpioEvent(int offset, long timestamp, boolean rising) {
+        if (emitGpioV2Event(offset, timestamp, rising)) {
+            return true;
+        }
+        Integer fd = gpioEventLines.get(offset);
+        if (fd == null) {
+            return false;
+        }
+        ByteBuffer data = ByteBuffer.allocate(16).order(ByteOrder.nativeOrder());
+        data.putLong(0, timestamp);
+        data.putInt(8, rising ? GpioEvent.GPIOEVENT_EVENT_RISING_EDGE : GpioEvent.GPIOEVENT_EVENT_FALLING_EDGE);
+        return FcntlMock.feed(fd, data.array());
+    }
+
+    /**
+     * Enables emulation of GPIO v2 interface. When disabled, {@code GPIO_V2_GET_LINEINFO_IOCTL} fails like on
+     * kernels before 5.10 and pins fall back to v1 line handles.
+     *
+     * @param supported {@code true} to emulate v2 interface
+     */
+    public static void setGpioV2Supported(boolean supported) {
+        gpioV2 = supported;
+    }
+
+    /**
+     * Sets names of lines reported by emulated GPIO chip. Chip reports as many lines as names are given, unnamed
+     * lines are {@code null}.
+     *
+     * @param names line names
+     */
+    public static void setGpioLineNames(String... names) {
+        gpioLineNames = names.clone();
+    }
+
+    /**
+     * Configuration of v2 line which holds offset, as last set by {@code GPIO_V2_GET_LINE_IOCTL} or
+     * {@code GPIO_V2_LINE_SET_CONFIG_IOCTL}
+     *
+     * @param offset line offset
+     * @return copy of configuration or {@code null} if line was not requested
+     */
+    public static GpioV2LineConfig getGpioV2Config(int offset) {
+        Integer fd = gpioV2Offsets.get(offset);
+        GpioV2Line line = fd != null ? gpioV2Lines.get(fd) : null;
+        return line != null ? new GpioV2LineConfig(line.config) : null;
+    }
+
+    /**
+     * Amount of {@code GPIO_V2_GET_LINE_IOCTL} requests, so tests may verify that line was not requested again
+     *
+     * @return amount of requests
+     */
+    public static int getGpioV2Requests() {
+        return gpioV2Requests.get();
+    }
+
+    private static String getGpioLineName(int offset) {
+        String[] names = gpioLineNames;
+        return offset >= 0 && offset < names.length ? names[offset] : null;
+    }
+
+    private static boolean emitGpioV2Event(int offset, long timestamp, boolean rising) {
+        Integer fd = gpioV2Offsets.get(offset);
+        GpioV2Line line = fd != null ? gpioV2Lines.get(fd) : null;
+        if (line == null) {
+            return false;
+        }
+        GpioV2LineConfig.Flags edge = rising ? GpioV2LineConfig.Flags.GPIO_V2_LINE_FLAG_EDGE_RISING
+                : GpioV2LineConfig.Flags.GPIO_V2_LINE_FLAG_EDGE_FALLING;
+        if ((line.config.getFlags() & edge.getValue()) == 0) {
+            return false;
+        }
+        ByteBuffer data = ByteBuffer.allocate(48).order(ByteOrder.nativeOrder());
+        data.putLong(0, timestamp);
+        data.putInt(8, rising ? GpioEvent.GPIOEVENT_EVENT_RISING_EDGE : GpioEvent.GPIOEVENT_EVENT_FALLING_EDGE);
+        data.putInt(12, offset);
+        data.putInt(16, ++line.sequence);
+        data.putInt(20, line.sequence);
+        return FcntlMock.feed(fd, data.array());
+    }
+
+    /**
+     * Current 32-bit mode of emulated SPI device. Allows tests to verify flags passed by
+     * {@code SPI_IOC_WR_MODE} and {@code SPI_IOC_WR_MODE32}.
+     *
+     * @return mode value
+     */
+    public static int getSpiMode() {
+        return spiMode;
+    }
+
+    /**
+     * Overrides mode of emulated SPI device
+     *
+     * @param mode mode value
+     */
+    public static void setSpiMode(int mode) {
+        spiMode = mode;
+    }
+
     @Override
     public boolean isNativeSupported() {
         return true;
@@ -30,11 +196,24 @@ public class IoctlMock extends Ioctl {
 
     @Override
     public int ioctl(FileHandle fd, long command, LongReference arg) throws NativeIOException {
+        if (command == I2C_FUNCS) {
+            arg.setValue(i2cFunctionality);
+        }
         return 0;
     }
 
     @Override
     public int ioctl(FileHandle fd, long command, IntReference arg) throws NativeIOException {
+        if (command == getSpiIocWrMode32()) {
+            spiMode = arg.getValue();
+        } else if (command == getSpiIocWrMode()) {
+            // like spidev: 8-bit request resets extended flags
+            spiMode = arg.getValue() & 0xFF;
+        } else if (command == getSpiIocRdMode32()) {
+            arg.setValue(spiMode);
+        } else if (command == getSpiIocRdMode()) {
+            arg.setValue(spiMode & 0xFF);
+        }
         return 0;
     }
 
@@ -45,52 +224,148 @@ public class IoctlMock extends Ioctl {
 
     @Override
     public int ioctl(FileHandle fd, SpiIocTransfer ptr) throws NativeIOException {
+        SpiHandler handler = spiHandler;
+        if (handler != null) {
+            handler.onMessage(new SpiIocTransfer[] { ptr }, 1);
+        }
+        return 0;
+    }
+
+    @Override
+    public int ioctl(FileHandle fd, SpiIocTransfer[] transfers, int count) throws NativeIOException {
+        SpiHandler handler = spiHandler;
+        if (handler != null) {
+            handler.onMessage(transfers, count);
+        }
         return 0;
     }
 
+    @Override
+    public int ioctl(FileHandle fd, I2CMessage[] messages, int count) throws NativeIOException {
+        I2CHandler handler = i2cHandler;
+        if (handler != null) {
+            handler.onTransaction(messages, count);
+        }
+        return count;
+    }
+
     @Override
     public int ioctl(FileHandle handle, long command, GpioHandleRequest request) throws NativeIOException {
+        int fd = FcntlMock.createPipe();
+        byte[] values = new byte[GPIOHANDLES_MAX];
+        if (request.getDefaultValues() != null) {
+            System.arraycopy(request.getDefaultValues(), 0, values, 0, request.getDefaultValues().length);
+        }
+        gpioHandleValues.put(fd, values);
+        request.setFd(fd);
+        return 0;
+    }
+
+    @Override
+    public int ioctl(FileHandle handle, long command, GpioEventRequest request) throws NativeIOException {
+        int fd = FcntlMock.createPipe();
+        gpioEventLines.put(request.getLineOffset(), fd);
+        request.setFd(fd);
         return 0;
     }
 
     @Override
     public int ioctl(FileHandle handle, long command, GpioChipInfo info) throws NativeIOException {
+        info.setLines(gpioLineNames.length);
         return 0;
     }
 
     @Override
     public int ioctl(FileHandle handle, long command, GpioLineInfo line) throws NativeIOException {
+        line.setName(getGpioLineName(line.getOffset()));
         return 0;
     }
 
     @Override
     public int ioctl(int fd, long command, GpioHandleData data) throws NativeIOException {
+        // handle keeps last written values, so outputs read back what was set
+        byte[] values = gpioHandleValues.get(fd);
+        if (values != null) {
+            byte[] buffer = data.getValues();
+            int length = Math.min(buffer.length, values.length);
+            if (command == getGpioHandleSetLineValuesIoctl()) {
+                System.arraycopy(buffer, 0, values, 0, length);
+            } else {
+                System.arraycopy(values, 0, buffer, 0, length);
+            }
+        }
         return 0;
     }
 
     @Override
-    protected long GET_SPI_IOC_MAGIC() {
+    public int ioctl(FileHandle handle, long command, GpioV2LineInfo line) throws NativeIOException {
+        if (!gpioV2) {
+            throw new NativeIOException("ioctl:gpio_v2_line_info failed(-1): Not a typewriter", -1);
+        }
+        line.setName(getGpioLineName(line.getOffset()));
         return 0;
     }
 
     @Override
-    protected long IOC_NRBITS() {
+    public int ioctl(FileHandle handle, long command, GpioV2LineRequest request) throws NativeIOException {
+        int fd = FcntlMock.createPipe();
+        GpioV2Line line = new GpioV2Line();
+        line.apply(request.getConfig());
+        gpioV2Lines.put(fd, line);
+        for (int i = 0; i < request.getLines(); i++) {
+            gpioV2Offsets.put(request.getOffsets()[i], fd);
+        }
+        gpioV2Requests.incrementAndGet();
+        request.setFd(fd);
         return 0;
     }
 
     @Override
-    protected long IOC_TYPEBITS() {
+    public int ioctl(int fd, long command, GpioV2LineConfig config) throws NativeIOException {
+        GpioV2Line line = gpioV2Lines.get(fd);
+        if (line != null) {
+            line.apply(config);
+        }
         return 0;
     }
 
     @Override
-    protected long IOC_SIZEBITS() {
+    public int ioctl(int fd, long command, GpioV2LineValues values) throws NativeIOException {
+        GpioV2Line line = gpioV2Lines.get(fd);
+        if (line != null) {
+            if (command == getGpioV2LineSetValuesIoctl()) {
+                line.bits = (line.bits & ~values.getMask()) | (values.getBits() & values.getMask());
+            } else {
+                values.setBits(line.bits & values.getMask());
+            }
+        }
         return 0;
     }
 
+    // Generic Linux values, so emulated requests may be distinguished by command
+    @Override
+    protected long GET_SPI_IOC_MAGIC() {
+        return 'k';
+    }
+
+    @Override
+    protected long IOC_NRBITS() {
+        return 8;
+    }
+
+    @Override
+    protected long IOC_TYPEBITS() {
+        return 8;
+    }
+
+    @Override
+    protected long IOC_SIZEBITS() {
+        return 14;
+    }
+
     @Override
     protected long IOC_DIRBITS() {
-        return 0;
+        return 2;
     }
 
     @Override
@@ -105,16 +380,46 @@ public class IoctlMock extends Ioctl {
 
     @Override
     protected long IOC_READ() {
-        return 0;
+        return 2;
     }
 
     @Override
     protected long IOC_WRITE() {
-        return 0;
+        return 1;
     }
 
     @Override
     protected int SPI_MSGSIZE(int N) {
         return 0;
     }
+
+    private static class GpioV2Line {
+        private volatile GpioV2LineConfig config = new GpioV2LineConfig();
+        private volatile long bits;
+        private int sequence;
+
+        private void apply(GpioV2LineConfig config) {
+            this.config = new GpioV2LineConfig(config);
+            for (int i = 0; i < config.getNumAttrs(); i++) {
+                if (config.getAttributeId(i) == GpioV2LineConfig.GPIO_V2_LINE_ATTR_ID_OUTPUT_VALUES) {
+                    long mask = config.getAttributeMask(i);
+                    bits = (bits & ~mask) | (config.getAttributeValue(i) & mask);
+                }
+            }
+        }
+    }
+
+    /**
+     * Receiver of SPI messages submitted to mock
+     */
+    public interface SpiHandler {
+        void onMessage(SpiIocTransfer[] transfers, int count) throws NativeIOException;
+    }
+
+    /**
+     * Receiver of I2C transactions submitted to mock
+     */
+    public interface I2CHandler {
+        void onTransaction(I2CMessage[] messages, int count) throws NativeIOException;
+    }
 }
@@ -4,6 +4,8 @@ import static io.quarkiverse.jef.java.embedded.framework.linux.core.LinuxUtils.c
 import static io.quarkiverse.jef.java.embedded.framework.linux.core.natives.CUtil.toCString;
 import static io.quarkiverse.jef.java.embedded.framework.linux.core.util.StringUtils.dump;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.EnumSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -104,6 +106,19 @@ public class FcntlNative extends Fcntl {
         return result;
     }
 
+    @Override
+    public int poll(FileHandle fd, int events, int timeout) throws NativeIOException {
+        // struct pollfd { int fd; short events; short revents; }
+        byte[] pollfd = new byte[8];
+        ByteBuffer buffer = ByteBuffer.wrap(pollfd).order(ByteOrder.nativeOrder());
+        buffer.putInt(0, fd.getHandle()).putShort(4, (short) events);
+        try (PinnedObject pin = PinnedObject.create(pollfd)) {
+            int result = Delegate.poll(pin.addressOfArrayElement(0), 1, timeout);
+            checkIOResult("poll", result);
+            return result == 0 ? 0 : buffer.getShort(6) & 0xFFFF;
+        }
+    }
+
     @Override
     public boolean isNativeSupported() {
         return true;
@@ -136,5 +151,9 @@ public class FcntlNative extends Fcntl {
 
         @CFunction(transition = CFunction.Transition.NO_TRANSITION)
         public static native long lseek(int fd, long offset, int whence);
+
+        // may block, so thread should leave Java state
+        @CFunction
+        public static native int poll(PointerBase fds, int nfds, int timeout);
     }
 }
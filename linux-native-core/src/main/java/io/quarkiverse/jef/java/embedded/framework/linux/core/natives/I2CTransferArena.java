@@ -0,0 +1,198 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.core.natives;
+
+import java.nio.ByteBuffer;
+
+import org.graalvm.nativeimage.UnmanagedMemory;
+import org.graalvm.nativeimage.c.struct.SizeOf;
+import org.graalvm.nativeimage.c.type.CCharPointer;
+import org.graalvm.nativeimage.c.type.CTypeConversion;
+import org.graalvm.word.WordFactory;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.SmBusConstants;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.io.FileHandle;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.natives.i2c.I2CData.I2CMsg;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.natives.i2c.I2CData.I2CRdwrIoctlData;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.natives.i2c.I2CData.I2CSmbusData;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.natives.i2c.I2CData.I2CSmbusIoctlData;
+import io.quarkiverse.jef.java.embedded.framework.linux.i2c.I2CMessage;
+
+/**
+ * Reusable unmanaged memory of one I2C descriptor. Holds {@code struct i2c_rdwr_ioctl_data}, array of
+ * {@code struct i2c_msg} and staging area accessed through direct {@link ByteBuffer} view, so payloads are moved
+ * by bulk copy without malloc/free per request.
+ * <p>
+ * SMBus requests use preallocated {@code struct i2c_smbus_ioctl_data} and {@code union i2c_smbus_data},
+ * so register access allocates neither Java objects nor native memory.
+ * <p>
+ * Arena is attached to {@link FileHandle} and released together with it. Request holds monitor of arena from
+ * {@code prepare} till {@code complete}, {@link #close()} takes the same monitor, so memory is never freed while
+ * kernel still uses it.
+ */
+final class I2CTransferArena implements AutoCloseable {
+    private I2CRdwrIoctlData request = WordFactory.nullPointer();
+
+    private I2CSmbusIoctlData smbusRequest = WordFactory.nullPointer();
+    private I2CSmbusData smbusData = WordFactory.nullPointer();
+    private ByteBuffer smbusView;
+
+    private I2CMsg messages = WordFactory.nullPointer();
+    private int messagesCapacity;
+
+    private CCharPointer staging = WordFactory.nullPointer();
+    private ByteBuffer stagingView;
+    private int stagingCapacity;
+    private boolean closed;
+
+    static I2CTransferArena of(FileHandle fd) throws NativeIOException {
+        Object attachment = fd.attachment();
+        if (attachment instanceof I2CTransferArena) {
+            return (I2CTransferArena) attachment;
+        }
+        synchronized (fd) {
+            if (fd.isClosed()) {
+                throw new NativeIOException("I2C descriptor is closed");
+            }
+            attachment = fd.attachment();
+            if (attachment instanceof I2CTransferArena) {
+                return (I2CTransferArena) attachment;
+            }
+            I2CTransferArena arena = new I2CTransferArena();
+            fd.attach(arena);
+            return arena;
+        }
+    }
+
+    /**
+     * Fills {@code struct i2c_smbus_ioctl_data} and copies block into {@code union i2c_smbus_data}
+     *
+     * @return filled {@code struct i2c_smbus_ioctl_data}
+     */
+    I2CSmbusIoctlData prepare(byte readWrite, byte command, int size, byte[] block) throws NativeIOException {
+        checkClosed();
+        if (smbusRequest.isNull()) {
+            smbusRequest = UnmanagedMemory.calloc(SizeOf.get(I2CSmbusIoctlData.class));
+            smbusData = UnmanagedMemory.calloc(SizeOf.get(I2CSmbusData.class));
+            smbusView = CTypeConversion.asByteBuffer(smbusData, SmBusConstants.BUFFER_SIZE);
+            smbusRequest.getData().write(smbusData);
+        }
+        smbusRequest.setReadWrite(readWrite);
+        smbusRequest.setCommand(command);
+        smbusRequest.setSize(size);
+        smbusView.clear();
+        smbusView.put(block, 0, Math.min(block.length, SmBusConstants.BUFFER_SIZE));
+        return smbusRequest;
+    }
+
+    /**
+     * Copies {@code union i2c_smbus_data} into block after successful ioctl
+     */
+    void complete(byte[] block) {
+        smbusView.clear();
+        smbusView.get(block, 0, Math.min(block.length, SmBusConstants.BUFFER_SIZE));
+    }
+
+    /**
+     * Fills native messages and copies written bytes into staging area
+     *
+     * @return filled {@code struct i2c_rdwr_ioctl_data}
+     */
+    I2CRdwrIoctlData prepare(I2CMessage[] segments, int count) throws NativeIOException {
+        checkClosed();
+        int staged = 0;
+        for (int i = 0; i < count; i++) {
+            staged += segments[i].getLength();
+        }
+        ensureMessages(count);
+        ensureStaging(staged);
+
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            I2CMessage segment = segments[i];
+            ByteBuffer buffer = segment.getBuffer();
+            int length = buffer.remaining();
+            if (!segment.isRead() && length > 0) {
+                int position = buffer.position();
+                stagingView.clear().position(offset);
+                stagingView.put(buffer);
+                buffer.position(position);
+            }
+
+            I2CMsg message = messages.addressOf(i);
+            message.setAddress((short) segment.getAddress());
+            message.setFlags((short) segment.getFlags());
+            message.setLength((short) length);
+            message.setBuffer(length > 0 ? staging.addressOf(offset) : WordFactory.nullPointer());
+            offset += length;
+        }
+
+        request.setMessages(messages);
+        request.setCount(count);
+        return request;
+    }
+
+    /**
+     * Copies received bytes into buffers of read messages after successful ioctl
+     */
+    void complete(I2CMessage[] segments, int count) {
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            ByteBuffer buffer = segments[i].getBuffer();
+            int length = buffer.remaining();
+            if (segments[i].isRead() && length > 0) {
+                int position = buffer.position();
+                stagingView.clear().position(offset);
+                stagingView.limit(offset + length);
+                buffer.put(stagingView);
+                buffer.position(position);
+            }
+            offset += length;
+        }
+    }
+
+    private void checkClosed() throws NativeIOException {
+        if (closed) {
+            throw new NativeIOException("I2C descriptor is closed");
+        }
+    }
+
+    private void ensureMessages(int capacity) {
+        if (request.isNull()) {
+            request = UnmanagedMemory.calloc(SizeOf.get(I2CRdwrIoctlData.class));
+        }
+        if (capacity > messagesCapacity) {
+            UnmanagedMemory.free(messages);
+            messagesCapacity = Math.max(capacity, messagesCapacity * 2);
+            messages = UnmanagedMemory.calloc(messagesCapacity * SizeOf.get(I2CMsg.class));
+        }
+    }
+
+    private void ensureStaging(int size) {
+        if (size > stagingCapacity || staging.isNull()) {
+            UnmanagedMemory.free(staging);
+            int capacity = Math.max(Math.max(size, stagingCapacity * 2), 64);
+            staging = UnmanagedMemory.malloc(capacity);
+            stagingView = CTypeConversion.asByteBuffer(staging, capacity);
+            stagingCapacity = capacity;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        UnmanagedMemory.free(smbusRequest);
+        UnmanagedMemory.free(smbusData);
+        smbusRequest = WordFactory.nullPointer();
+        smbusData = WordFactory.nullPointer();
+        smbusView = null;
+        UnmanagedMemory.free(request);
+        UnmanagedMemory.free(messages);
+        UnmanagedMemory.free(staging);
+        request = WordFactory.nullPointer();
+        messages = WordFactory.nullPointer();
+        staging = WordFactory.nullPointer();
+        stagingView = null;
+        messagesCapacity = 0;
+        stagingCapacity = 0;
+    }
+}
@@ -8,7 +8,7 @@ import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import org.graalvm.nativeimage.PinnedObject;
+import org.graalvm.nativeimage.StackValue;
 import org.graalvm.nativeimage.UnmanagedMemory;
 import org.graalvm.nativeimage.c.CContext;
 import org.graalvm.nativeimage.c.constant.CConstant;
@@ -27,16 +27,29 @@ import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.SmBusConstants;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.io.FileHandle;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.natives.gpio.GpioNativeStructures.gpiochip_info;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.natives.gpio.GpioNativeStructures.gpioevent_request;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.natives.gpio.GpioNativeStructures.gpiohandle_data;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.natives.gpio.GpioNativeStructures.gpiohandle_request;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.natives.gpio.GpioNativeStructures.gpio_v2_line_attribute;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.natives.gpio.GpioNativeStructures.gpio_v2_line_config;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.natives.gpio.GpioNativeStructures.gpio_v2_line_config_attribute;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.natives.gpio.GpioNativeStructures.gpio_v2_line_info;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.natives.gpio.GpioNativeStructures.gpio_v2_line_request;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.natives.gpio.GpioNativeStructures.gpio_v2_line_values;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.natives.gpio.GpioNativeStructures.gpioline_info;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.natives.i2c.I2CData;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.natives.spi.SpiIocTransferNative;
 import io.quarkiverse.jef.java.embedded.framework.linux.core.types.*;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioChipInfo;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioEventRequest;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioHandleData;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioHandleRequest;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioLineInfo;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineConfig;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineInfo;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineRequest;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioV2LineValues;
+import io.quarkiverse.jef.java.embedded.framework.linux.i2c.I2CMessage;
 
 @CContext(IoctlNativeHeaders.class)
 @CLibrary("c")
@@ -101,6 +114,7 @@ public class IoctlNative extends Ioctl {
                         fd.getHandle(), command, arg.getValue()));
 
         CLongPointer ptr = UnmanagedMemory.malloc(8);
+        ptr.write(arg.getValue());
         try {
             int result = Delegate.ioctl(fd.getHandle(), command, ptr);
             checkIOResult("ioctl:LongRef", result);
@@ -129,6 +143,7 @@ public class IoctlNative extends Ioctl {
                         fd.getHandle(), command, arg.getValue()));
 
         CIntPointer ptr = UnmanagedMemory.malloc(4);
+        ptr.write(arg.getValue());
         try {
             int result = Delegate.ioctl(fd.getHandle(), command, ptr);
             log.log(Level.FINEST, () -> String.format("ioctl result is '%s'", result));
@@ -150,100 +165,81 @@ public class IoctlNative extends Ioctl {
 
     @Override
     public int ioctl(FileHandle fd, long command, SmbusIoctlData ptr) throws NativeIOException {
-        log.log(Level.FINEST, () -> String.format("ioctl.smbus fd is '%d' data is '%s'", fd.getHandle(), ptr));
-
-        I2CData.I2CSmbusIoctlData ioctl = UnmanagedMemory.malloc(
-                SizeOf.get(I2CData.I2CSmbusIoctlData.class));
+        if (log.isLoggable(Level.FINEST)) {
+            log.log(Level.FINEST, String.format("ioctl.smbus fd is '%d' data is '%s'", fd.getHandle(), ptr));
+        }
 
-        I2CData.I2CSmbusData smbusData = UnmanagedMemory.malloc(
-                SizeOf.get(I2CData.I2CSmbusData.class));
+        I2CTransferArena arena = I2CTransferArena.of(fd);
+        byte[] block = ptr.getData().getBlock();
+        int result;
+        // closing descriptor frees arena, it waits until request leaves
+        synchronized (arena) {
+            I2CData.I2CSmbusIoctlData data = arena.prepare(ptr.getReadWrite(), (byte) command, ptr.getSize(), block);
+            result = Delegate.ioctl(fd.getHandle(), SmBusConstants.I2C_SMBUS, data);
 
-        try {
-            SmbusData data = ptr.getData();
-            ByteBuffer block = ByteBuffer.wrap(data.getBlock());
-            ByteBuffer source = CTypeConversion.asByteBuffer(smbusData, SmBusConstants.BUFFER_SIZE);
-
-            /*
-             * if (ptr.getReadWrite() == I2C_SMBUS_WRITE) {
-             * smbusData.setByte(data.getByte());
-             * }
-             */
-            log.log(Level.FINEST, "ioctl.smbus input block: ");
-            log.log(Level.FINEST, () -> dump(block));
-
-            block.position(0);
-            source.put(block);
-
-            ioctl.setReadWrite(ptr.getReadWrite());
-            ioctl.setCommand((byte) command); // read register
-            ioctl.setSize(ptr.getSize());
-            ioctl.getData().write(smbusData);
-
-            int result = Delegate.ioctl(fd.getHandle(), SmBusConstants.I2C_SMBUS, ioctl);
             checkIOResult("ioctl:SmBus", result);
+            arena.complete(block);
+        }
 
-            block.position(0);
-            source.position(0);
-            block.put(source);
-
-            log.log(Level.FINEST, "ioctl.smbus input block: ");
-            log.log(Level.FINEST, () -> dump(block));
-
-            return result;
-        } finally {
-            UnmanagedMemory.free(smbusData);
-            UnmanagedMemory.free(ioctl);
+        if (log.isLoggable(Level.FINEST)) {
+            log.log(Level.FINEST, "ioctl.smbus output block: " + dump(ByteBuffer.wrap(block)));
         }
+        return result;
     }
 
     @Override
     public int ioctl(FileHandle fd, SpiIocTransfer ptr) throws NativeIOException {
-        log.log(Level.FINEST, () -> String.format("ioctl.spi fd is '%d' data is '%s'", fd.getHandle(), ptr));
-
-        ByteBuffer txBuffer = ptr.getTxBuffer();
-        ByteBuffer rxBuffer = ptr.getRxBuffer();
-
-        int txSize = txBuffer.capacity();
-        int rxSize = rxBuffer.capacity();
-
-        log.log(Level.FINEST, () -> String.format("dump input array \n%s", dump(txBuffer)));
-
-        byte[] buffer = new byte[txSize + rxSize];
-        System.arraycopy(LinuxUtils.toBytes(txBuffer), 0, buffer, 0, txSize);
-
-        SpiIocTransferNative.spi_ioc_transfer spi = UnmanagedMemory.malloc(
-                SizeOf.get(SpiIocTransferNative.spi_ioc_transfer.class));
-
-        log.log(Level.FINEST, () -> String.format("pinned array \n%s", dump(buffer)));
-
-        try (PinnedObject pin = PinnedObject.create(buffer)) {
-            CCharPointer buf = pin.addressOfArrayElement(0);
-            spi.setTxBuffer(buf);
-            spi.setRxBuffer(buf);
-            spi.setLength(ptr.getLength());
-            spi.setSpeed(ptr.getSpeed());
-            spi.setDelay(ptr.getDelay());
-            spi.setBitsPerWord(ptr.getBitsPerWord());
-            //spi.setCsChange(ptr.getCsChange());
-            //spi.setPad(ptr.getPad());
-
-            long ioc_message = SPI_IOC_MESSAGE(1);
-            log.log(Level.FINEST, () -> String.format("ioc_message is '%s'", ioc_message));
+        SpiTransferArena arena = SpiTransferArena.of(fd);
+        synchronized (arena) {
+            arena.single[0] = ptr;
+            try {
+                return message(fd, arena, arena.single, 1);
+            } finally {
+                arena.single[0] = null;
+            }
+        }
+    }
 
-            int result = Delegate.ioctl(fd.getHandle(), ioc_message/* command */, spi);
-            log.log(Level.FINEST, () -> String.format("ioctl result is '%s'", result));
+    @Override
+    public int ioctl(FileHandle fd, SpiIocTransfer[] transfers, int count) throws NativeIOException {
+        SpiTransferArena arena = SpiTransferArena.of(fd);
+        // closing descriptor frees arena, it waits until transfer leaves
+        synchronized (arena) {
+            return message(fd, arena, transfers, count);
+        }
+    }
 
-            checkIOResult("ioctl:SPI", result);
+    private int message(FileHandle fd, SpiTransferArena arena, SpiIocTransfer[] transfers, int count)
+            throws NativeIOException {
+        int size = arena.prepare(transfers, count);
+        if (log.isLoggable(Level.FINEST)) {
+            log.log(Level.FINEST, String.format("ioctl.spi fd is '%d' segments '%d' transfers '%d'",
+                    fd.getHandle(), count, size));
+        }
 
-            ByteBuffer out = CTypeConversion.asByteBuffer(buf.addressOf(txSize), rxSize);
+        int result = Delegate.ioctl(fd.getHandle(), SPI_IOC_MESSAGE(size), arena.address());
+        if (log.isLoggable(Level.FINEST)) {
+            log.log(Level.FINEST, String.format("ioctl result is '%s'", result));
+        }
 
-            rxBuffer.put(out).position(0);
+        checkIOResult("ioctl:SPI", result);
+        arena.complete(transfers, count);
+        return result;
+    }
 
-            log.log(Level.FINEST, () -> String.format("dump output array \n%s", dump(rxBuffer)));
+    @Override
+    public int ioctl(FileHandle fd, I2CMessage[] messages, int count) throws NativeIOException {
+        I2CTransferArena arena = I2CTransferArena.of(fd);
+        synchronized (arena) {
+            I2CData.I2CRdwrIoctlData data = arena.prepare(messages, count);
+            if (log.isLoggable(Level.FINEST)) {
+                log.log(Level.FINEST, String.format("ioctl.i2c_rdwr fd is '%d' messages '%d'", fd.getHandle(), count));
+            }
 
+            int result = Delegate.ioctl(fd.getHandle(), SmBusConstants.I2C_RDWR, data);
+            checkIOResult("ioctl:I2C_RDWR", result);
+            arena.complete(messages, count);
             return result;
-        } finally {
-            UnmanagedMemory.free(spi);
         }
     }
 
@@ -287,6 +283,32 @@ public class IoctlNative extends Ioctl {
         }
     }
 
+    @Override
+    public int ioctl(FileHandle handle, long command, GpioEventRequest request) throws NativeIOException {
+        gpioevent_request struct = UnmanagedMemory.calloc(
+                SizeOf.get(gpioevent_request.class));
+
+        try {
+            struct.lineOffset(request.getLineOffset());
+            struct.handleFlags(request.getHandleFlags());
+            struct.eventFlags(request.getEventFlags());
+
+            byte[] label = request.getConsumerLabel();
+            if (label != null) {
+                for (int index = 0; index < label.length; index++) {
+                    struct.consumerLabel().write(index, label[index]);
+                }
+            }
+
+            int result = Delegate.ioctl(handle.getHandle(), command, struct);
+            checkIOResult("ioctl:gpio_event_request", result);
+            request.setFd(struct.fd());
+            return result;
+        } finally {
+            UnmanagedMemory.free(struct);
+        }
+    }
+
     @Override
     public int ioctl(FileHandle handle, long command, GpioChipInfo info) throws NativeIOException {
         gpiochip_info struct = UnmanagedMemory.malloc(
@@ -326,8 +348,8 @@ public class IoctlNative extends Ioctl {
     @Override
     public int ioctl(int fd, long command, GpioHandleData handleData) throws NativeIOException {
         Objects.requireNonNull(handleData);
-        gpiohandle_data data = UnmanagedMemory.malloc(
-                SizeOf.get(gpiohandle_data.class));
+        // stack memory, line values are read and written at high rate
+        gpiohandle_data data = StackValue.get(gpiohandle_data.class);
 
         byte[] from = handleData.getValues();
         CCharPointer to = data.values();
@@ -345,6 +367,100 @@ public class IoctlNative extends Ioctl {
         return result;
     }
 
+    @Override
+    public int ioctl(FileHandle handle, long command, GpioV2LineInfo line) throws NativeIOException {
+        gpio_v2_line_info struct = UnmanagedMemory.calloc(
+                SizeOf.get(gpio_v2_line_info.class));
+        try {
+            struct.offset(line.getOffset());
+            int result = Delegate.ioctl(handle.getHandle(), command, struct);
+            checkIOResult("ioctl:gpio_v2_line_info", result);
+
+            line.setName(CTypeConversion.toJavaString(struct.name()));
+            line.setConsumer(CTypeConversion.toJavaString(struct.consumer()));
+            line.setFlags(struct.flags());
+            line.setDebouncePeriod(0);
+            for (int i = 0; i < Math.min(struct.numAttrs(), GpioV2LineConfig.NUM_ATTRS_MAX); i++) {
+                gpio_v2_line_attribute attr = struct.attrs().addressOf(i);
+                if (attr.id() == GpioV2LineConfig.GPIO_V2_LINE_ATTR_ID_DEBOUNCE) {
+                    line.setDebouncePeriod(attr.debouncePeriod());
+                }
+            }
+            return result;
+        } finally {
+            UnmanagedMemory.free(struct);
+        }
+    }
+
+    @Override
+    public int ioctl(FileHandle handle, long command, GpioV2LineRequest request) throws NativeIOException {
+        gpio_v2_line_request struct = UnmanagedMemory.calloc(
+                SizeOf.get(gpio_v2_line_request.class));
+        try {
+            int[] offsets = request.getOffsets();
+            for (int i = 0; i < Math.min(offsets.length, GpioV2LineRequest.LINES_MAX); i++) {
+                struct.offsets().write(i, offsets[i]);
+            }
+            byte[] label = request.getConsumer();
+            if (label != null) {
+                for (int index = 0; index < Math.min(label.length, 31); index++) {
+                    struct.consumer().write(index, label[index]);
+                }
+            }
+            fillConfig(struct.config(), request.getConfig());
+            struct.numLines(request.getLines());
+            struct.eventBufferSize(request.getEventBufferSize());
+
+            int result = Delegate.ioctl(handle.getHandle(), command, struct);
+            checkIOResult("ioctl:gpio_v2_line_request", result);
+            request.setFd(struct.fd());
+            return result;
+        } finally {
+            UnmanagedMemory.free(struct);
+        }
+    }
+
+    @Override
+    public int ioctl(int fd, long command, GpioV2LineConfig config) throws NativeIOException {
+        gpio_v2_line_config struct = UnmanagedMemory.calloc(
+                SizeOf.get(gpio_v2_line_config.class));
+        try {
+            fillConfig(struct, config);
+            int result = Delegate.ioctl(fd, command, struct);
+            checkIOResult("ioctl:gpio_v2_line_config", result);
+            return result;
+        } finally {
+            UnmanagedMemory.free(struct);
+        }
+    }
+
+    @Override
+    public int ioctl(int fd, long command, GpioV2LineValues values) throws NativeIOException {
+        gpio_v2_line_values struct = StackValue.get(gpio_v2_line_values.class);
+        struct.bits(values.getBits());
+        struct.mask(values.getMask());
+        int result = Delegate.ioctl(fd, command, struct);
+        checkIOResult("ioctl:gpio_v2_line_values", result);
+        values.setBits(struct.bits());
+        return result;
+    }
+
+    private static void fillConfig(gpio_v2_line_config struct, GpioV2LineConfig config) {
+        struct.flags(config.getFlags());
+        struct.numAttrs(config.getNumAttrs());
+        for (int i = 0; i < config.getNumAttrs(); i++) {
+            gpio_v2_line_config_attribute attr = struct.attrs().addressOf(i);
+            int id = config.getAttributeId(i);
+            attr.attr().id(id);
+            if (id == GpioV2LineConfig.GPIO_V2_LINE_ATTR_ID_DEBOUNCE) {
+                attr.attr().debouncePeriod((int) config.getAttributeValue(i));
+            } else {
+                attr.attr().value(config.getAttributeValue(i));
+            }
+            attr.mask(config.getAttributeMask(i));
+        }
+    }
+
     @Override
     protected long GET_SPI_IOC_MAGIC() {
         return SPI_IOC_MAGIC();
@@ -0,0 +1,173 @@
+package io.quarkiverse.jef.java.embedded.framework.linux.core.natives;
+
+import java.nio.ByteBuffer;
+
+import org.graalvm.nativeimage.UnmanagedMemory;
+import org.graalvm.nativeimage.c.struct.SizeOf;
+import org.graalvm.nativeimage.c.type.CCharPointer;
+import org.graalvm.nativeimage.c.type.CTypeConversion;
+import org.graalvm.word.WordFactory;
+
+import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.io.FileHandle;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.natives.spi.SpiIocTransferNative.spi_ioc_transfer;
+import io.quarkiverse.jef.java.embedded.framework.linux.core.types.SpiIocTransfer;
+
+/**
+ * Reusable unmanaged memory of one SPI descriptor. Holds array of {@code struct spi_ioc_transfer} and page aligned
+ * staging area, so transfer needs neither malloc/free nor pinned arrays. Staging area is accessed through direct
+ * {@link ByteBuffer} view, so both tx and rx are moved by bulk copy.
+ * <p>
+ * Each {@link SpiIocTransfer} is submitted as write-only segment followed by read-only segment (only non-empty ones).
+ * Bytes clocked in while transmitting are dropped anyway, so device observes the same sequence.
+ * <p>
+ * Arena is attached to {@link FileHandle} and released together with it. Transfer holds monitor of arena from
+ * {@link #prepare(SpiIocTransfer[], int)} till {@link #complete(SpiIocTransfer[], int)}, {@link #close()} takes the
+ * same monitor, so memory is never freed while kernel still uses it.
+ */
+final class SpiTransferArena implements AutoCloseable {
+    private static final int PAGE_SIZE = 4096;
+
+    final SpiIocTransfer[] single = new SpiIocTransfer[1];
+
+    private spi_ioc_transfer transfers = WordFactory.nullPointer();
+    private int transfersCapacity;
+
+    private CCharPointer raw = WordFactory.nullPointer();
+    private CCharPointer staging = WordFactory.nullPointer();
+    private ByteBuffer stagingView;
+    private int stagingCapacity;
+    private boolean closed;
+
+    static SpiTransferArena of(FileHandle fd) throws NativeIOException {
+        Object attachment = fd.attachment();
+        if (attachment instanceof SpiTransferArena) {
+            return (SpiTransferArena) attachment;
+        }
+        synchronized (fd) {
+            if (fd.isClosed()) {
+                throw new NativeIOException("SPI descriptor is closed");
+            }
+            attachment = fd.attachment();
+            if (attachment instanceof SpiTransferArena) {
+                return (SpiTransferArena) attachment;
+            }
+            SpiTransferArena arena = new SpiTransferArena();
+            fd.attach(arena);
+            return arena;
+        }
+    }
+
+    /**
+     * Fills native transfers for segments and copies tx bytes into staging area
+     *
+     * @return amount of native transfers
+     */
+    int prepare(SpiIocTransfer[] segments, int count) throws NativeIOException {
+        if (closed) {
+            throw new NativeIOException("SPI descriptor is closed");
+        }
+        int staged = 0;
+        for (int i = 0; i < count; i++) {
+            staged += segments[i].getTxBuffer().remaining() + segments[i].getRxBuffer().remaining();
+        }
+        ensureTransfers(count * 2);
+        ensureStaging(staged);
+
+        int n = 0;
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            SpiIocTransfer segment = segments[i];
+            ByteBuffer tx = segment.getTxBuffer();
+            int txSize = tx.remaining();
+            int rxSize = segment.getRxBuffer().remaining();
+
+            if (txSize > 0) {
+                int position = tx.position();
+                stagingView.clear().position(offset);
+                stagingView.put(tx);
+                tx.position(position);
+                fill(n++, staging.addressOf(offset), WordFactory.nullPointer(), txSize, segment, rxSize == 0);
+                offset += txSize;
+            }
+            if (rxSize > 0) {
+                fill(n++, WordFactory.nullPointer(), staging.addressOf(offset), rxSize, segment, true);
+                offset += rxSize;
+            }
+            if (txSize == 0 && rxSize == 0) {
+                fill(n++, WordFactory.nullPointer(), WordFactory.nullPointer(), 0, segment, true);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Copies received bytes into rx buffers after successful ioctl
+     */
+    void complete(SpiIocTransfer[] segments, int count) {
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            offset += segments[i].getTxBuffer().remaining();
+            ByteBuffer rx = segments[i].getRxBuffer();
+            int rxSize = rx.remaining();
+            if (rxSize > 0) {
+                int position = rx.position();
+                stagingView.clear().position(offset);
+                stagingView.limit(offset + rxSize);
+                rx.put(stagingView);
+                rx.position(position);
+                offset += rxSize;
+            }
+        }
+    }
+
+    spi_ioc_transfer address() {
+        return transfers;
+    }
+
+    private void fill(int index, CCharPointer txBuf, CCharPointer rxBuf, int length, SpiIocTransfer segment,
+            boolean last) {
+        spi_ioc_transfer transfer = transfers.addressOf(index);
+        transfer.setTxBuffer(txBuf);
+        transfer.setRxBuffer(rxBuf);
+        transfer.setLength(length);
+        transfer.setSpeed(segment.getSpeed());
+        transfer.setDelay(last ? segment.getDelay() : 0);
+        transfer.setBitsPerWord(segment.getBitsPerWord());
+        transfer.setCsChange(last ? segment.getCsChange() : 0);
+        transfer.setTxNbits(txBuf.isNonNull() ? segment.getTxNbits() : 0);
+        transfer.setRxNbits(rxBuf.isNonNull() ? segment.getRxNbits() : 0);
+    }
+
+    private void ensureTransfers(int capacity) {
+        if (capacity > transfersCapacity) {
+            UnmanagedMemory.free(transfers);
+            transfersCapacity = Math.max(capacity, transfersCapacity * 2);
+            transfers = UnmanagedMemory.calloc(transfersCapacity * SizeOf.get(spi_ioc_transfer.class));
+        }
+    }
+
+    private void ensureStaging(int size) {
+        if (size > stagingCapacity) {
+            UnmanagedMemory.free(raw);
+            int capacity = (Math.max(size, stagingCapacity * 2) + PAGE_SIZE - 1) & -PAGE_SIZE;
+            raw = UnmanagedMemory.malloc(capacity + PAGE_SIZE);
+            staging = WordFactory.pointer((raw.rawValue() + PAGE_SIZE - 1) & -PAGE_SIZE);
+            stagingView = CTypeConversion.asByteBuffer(staging, capacity);
+            stagingCapacity = capacity;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        UnmanagedMemory.free(transfers);
+        UnmanagedMemory.free(raw);
+        transfers = WordFactory.nullPointer();
+        raw = WordFactory.nullPointer();
+        staging = WordFactory.nullPointer();
+        stagingView = null;
+        transfersCapacity = 0;
+        stagingCapacity = 0;
+    }
+}
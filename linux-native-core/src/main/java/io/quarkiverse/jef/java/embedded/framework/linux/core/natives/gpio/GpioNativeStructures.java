@@ -110,6 +110,33 @@ public class GpioNativeStructures {
         int fd();
     }
 
+    /**
+     * struct gpioevent_request {
+     * __u32 lineoffset;
+     * __u32 handleflags;
+     * __u32 eventflags;
+     * char consumer_label[GPIO_MAX_NAME_SIZE];
+     * int fd;
+     * };
+     */
+    @CStruct("gpioevent_request")
+    public interface gpioevent_request extends PointerBase {
+        @CField("lineoffset")
+        void lineOffset(int offset);
+
+        @CField("handleflags")
+        void handleFlags(int flags);
+
+        @CField("eventflags")
+        void eventFlags(int flags);
+
+        @CFieldAddress("consumer_label")
+        CCharPointer consumerLabel();
+
+        @CField("fd")
+        int fd();
+    }
+
     /**
      * struct gpiohandle_data {
      * __u8 values[GPIOHANDLES_MAX];
@@ -120,4 +147,157 @@ public class GpioNativeStructures {
         @CFieldAddress("values")
         CCharPointer values();
     }
+
+    /**
+     * struct gpio_v2_line_values {
+     * __aligned_u64 bits;
+     * __aligned_u64 mask;
+     * };
+     */
+    @CStruct("gpio_v2_line_values")
+    public interface gpio_v2_line_values extends PointerBase {
+        @CField("bits")
+        long bits();
+
+        @CField("bits")
+        void bits(long bits);
+
+        @CField("mask")
+        void mask(long mask);
+    }
+
+    /**
+     * struct gpio_v2_line_attribute {
+     * __u32 id;
+     * __u32 padding;
+     * union {
+     * __aligned_u64 flags;
+     * __aligned_u64 values;
+     * __u32 debounce_period_us;
+     * };
+     * };
+     */
+    @CStruct("gpio_v2_line_attribute")
+    public interface gpio_v2_line_attribute extends PointerBase {
+        @CField("id")
+        int id();
+
+        @CField("id")
+        void id(int id);
+
+        @CField("values")
+        long value();
+
+        @CField("values")
+        void value(long value);
+
+        @CField("debounce_period_us")
+        int debouncePeriod();
+
+        @CField("debounce_period_us")
+        void debouncePeriod(int period);
+
+        gpio_v2_line_attribute addressOf(int index);
+    }
+
+    /**
+     * struct gpio_v2_line_config_attribute {
+     * struct gpio_v2_line_attribute attr;
+     * __aligned_u64 mask;
+     * };
+     */
+    @CStruct("gpio_v2_line_config_attribute")
+    public interface gpio_v2_line_config_attribute extends PointerBase {
+        @CFieldAddress("attr")
+        gpio_v2_line_attribute attr();
+
+        @CField("mask")
+        void mask(long mask);
+
+        gpio_v2_line_config_attribute addressOf(int index);
+    }
+
+    /**
+     * struct gpio_v2_line_config {
+     * __aligned_u64 flags;
+     * __u32 num_attrs;
+     * __u32 padding[5];
+     * struct gpio_v2_line_config_attribute attrs[GPIO_V2_LINE_NUM_ATTRS_MAX];
+     * };
+     */
+    @CStruct("gpio_v2_line_config")
+    public interface gpio_v2_line_config extends PointerBase {
+        @CField("flags")
+        void flags(long flags);
+
+        @CField("num_attrs")
+        void numAttrs(int attrs);
+
+        @CFieldAddress("attrs")
+        gpio_v2_line_config_attribute attrs();
+    }
+
+    /**
+     * struct gpio_v2_line_request {
+     * __u32 offsets[GPIO_V2_LINES_MAX];
+     * char consumer[GPIO_MAX_NAME_SIZE];
+     * struct gpio_v2_line_config config;
+     * __u32 num_lines;
+     * __u32 event_buffer_size;
+     * __u32 padding[5];
+     * __s32 fd;
+     * };
+     */
+    @CStruct("gpio_v2_line_request")
+    public interface gpio_v2_line_request extends PointerBase {
+        @CFieldAddress("offsets")
+        CIntPointer offsets();
+
+        @CFieldAddress("consumer")
+        CCharPointer consumer();
+
+        @CFieldAddress("config")
+        gpio_v2_line_config config();
+
+        @CField("num_lines")
+        void numLines(int lines);
+
+        @CField("event_buffer_size")
+        void eventBufferSize(int size);
+
+        @CField("fd")
+        int fd();
+    }
+
+    /**
+     * struct gpio_v2_line_info {
+     * char name[GPIO_MAX_NAME_SIZE];
+     * char consumer[GPIO_MAX_NAME_SIZE];
+     * __u32 offset;
+     * __u32 num_attrs;
+     * __aligned_u64 flags;
+     * struct gpio_v2_line_attribute attrs[GPIO_V2_LINE_NUM_ATTRS_MAX];
+     * __u32 padding[4];
+     * };
+     */
+    @CStruct("gpio_v2_line_info")
+    public interface gpio_v2_line_info extends PointerBase {
+        @CFieldAddress("name")
+        CCharPointer name();
+
+        @CFieldAddress("consumer")
+        CCharPointer consumer();
+
+        @CField("offset")
+        void offset(int offset);
+
+        @CField("num_attrs")
+        int numAttrs();
+
+        @CField("flags")
+        long flags();
+
+        @CFieldAddress("attrs")
+        gpio_v2_line_attribute attrs();
+    }
 }
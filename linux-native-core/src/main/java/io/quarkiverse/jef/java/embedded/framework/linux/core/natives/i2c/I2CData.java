@@ -9,6 +9,7 @@ import org.graalvm.nativeimage.c.struct.CField;
 import org.graalvm.nativeimage.c.struct.CFieldAddress;
 import org.graalvm.nativeimage.c.struct.CPointerTo;
 import org.graalvm.nativeimage.c.struct.CStruct;
+import org.graalvm.nativeimage.c.type.CCharPointer;
 import org.graalvm.word.Pointer;
 import org.graalvm.word.PointerBase;
 
@@ -77,4 +78,54 @@ public class I2CData {
         @CFieldAddress("data")
         I2CSmbusDataPtr getData();
     }
+
+    @CStruct("i2c_msg")
+    public interface I2CMsg extends PointerBase {
+        /**
+         * Address of element in array of messages
+         *
+         * @param index element index
+         * @return pointer to element
+         */
+        I2CMsg addressOf(int index);
+
+        @CField("addr")
+        short getAddress();
+
+        @CField("addr")
+        void setAddress(short address);
+
+        @CField("flags")
+        short getFlags();
+
+        @CField("flags")
+        void setFlags(short flags);
+
+        @CField("len")
+        short getLength();
+
+        @CField("len")
+        void setLength(short length);
+
+        @CField("buf")
+        CCharPointer getBuffer();
+
+        @CField("buf")
+        void setBuffer(CCharPointer buffer);
+    }
+
+    @CStruct("i2c_rdwr_ioctl_data")
+    public interface I2CRdwrIoctlData extends PointerBase {
+        @CField("msgs")
+        I2CMsg getMessages();
+
+        @CField("msgs")
+        void setMessages(I2CMsg messages);
+
+        @CField("nmsgs")
+        int getCount();
+
+        @CField("nmsgs")
+        void setCount(int count);
+    }
 }
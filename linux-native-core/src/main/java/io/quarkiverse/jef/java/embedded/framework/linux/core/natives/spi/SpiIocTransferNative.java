@@ -51,6 +51,14 @@ public class SpiIocTransferNative {
 
     @CStruct("spi_ioc_transfer_impl")
     public interface spi_ioc_transfer extends PointerBase {
+        /**
+         * Address of element in array of transfers (for SPI_IOC_MESSAGE(N) requests)
+         *
+         * @param index element index
+         * @return pointer to element
+         */
+        spi_ioc_transfer addressOf(int index);
+
         //@CFieldAddress("tx_buf")
         //Pointer getTxBufAddress();
 
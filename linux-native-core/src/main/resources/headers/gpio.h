@@ -27,6 +27,69 @@ typedef struct gpiohandle_request {
     int fd;
 } gpiohandle_request;
 
+typedef struct gpioevent_request {
+    __u32 lineoffset;
+    __u32 handleflags;
+    __u32 eventflags;
+    char consumer_label[GPIO_MAX_NAME_SIZE];
+    int fd;
+} gpioevent_request;
+
+typedef struct gpioevent_data {
+    __u64 timestamp;
+    __u32 id;
+} gpioevent_data;
+
 typedef struct gpiohandle_data {
     __u8 values[GPIOHANDLES_MAX];
 } gpiohandle_data;
+
+#define GPIO_V2_LINES_MAX 64
+#define GPIO_V2_LINE_NUM_ATTRS_MAX 10
+
+typedef struct gpio_v2_line_values {
+    __aligned_u64 bits;
+    __aligned_u64 mask;
+} gpio_v2_line_values;
+
+typedef struct gpio_v2_line_attribute {
+    __u32 id;
+    __u32 padding;
+    union {
+        __aligned_u64 flags;
+        __aligned_u64 values;
+        __u32 debounce_period_us;
+    };
+} gpio_v2_line_attribute;
+
+typedef struct gpio_v2_line_config_attribute {
+    struct gpio_v2_line_attribute attr;
+    __aligned_u64 mask;
+} gpio_v2_line_config_attribute;
+
+typedef struct gpio_v2_line_config {
+    __aligned_u64 flags;
+    __u32 num_attrs;
+    __u32 padding[5];
+    struct gpio_v2_line_config_attribute attrs[GPIO_V2_LINE_NUM_ATTRS_MAX];
+} gpio_v2_line_config;
+
+typedef struct gpio_v2_line_request {
+    __u32 offsets[GPIO_V2_LINES_MAX];
+    char consumer[GPIO_MAX_NAME_SIZE];
+    struct gpio_v2_line_config config;
+    __u32 num_lines;
+    __u32 event_buffer_size;
+    __u32 padding[5];
+    __s32 fd;
+} gpio_v2_line_request;
+
+typedef struct gpio_v2_line_info {
+    char name[GPIO_MAX_NAME_SIZE];
+    char consumer[GPIO_MAX_NAME_SIZE];
+    __u32 offset;
+    __u32 num_attrs;
+    __aligned_u64 flags;
+    struct gpio_v2_line_attribute attrs[GPIO_V2_LINE_NUM_ATTRS_MAX];
+    __u32 padding[4];
+} gpio_v2_line_info;
@@ -27,3 +27,17 @@ typedef struct i2c_smbus_ioctl_data
 } i2c_smbus_ioctl_data;
 
 
+typedef struct i2c_msg
+{
+  uint16_t addr ;
+  uint16_t flags ;
+  uint16_t len ;
+  uint8_t *buf ;
+} i2c_msg;
+
+
+typedef struct i2c_rdwr_ioctl_data
+{
+  struct i2c_msg *msgs ;
+  uint32_t nmsgs ;
+} i2c_rdwr_ioctl_data;
@@ -21,6 +21,12 @@ public class GPIOsConfig {
     @ConfigItem(name = ConfigItem.PARENT)
     public Map<String, GPIOConfig> namedBuses;
 
+    /**
+     * Rebuild index of GPIO line names when GPIO chip is plugged or removed
+     */
+    @ConfigItem(name = "watch-hotplug", defaultValue = "false")
+    public boolean watchHotplug;
+
     public GPIOConfig getRuntimeConfig(String name) {
         if ("<default>".equals(name)) {
             return defaultBus;
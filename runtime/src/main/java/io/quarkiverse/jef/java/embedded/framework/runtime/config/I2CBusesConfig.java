@@ -2,6 +2,7 @@ package io.quarkiverse.jef.java.embedded.framework.runtime.config;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 import io.quarkus.runtime.annotations.*;
 
@@ -21,6 +22,12 @@ public class I2CBusesConfig {
     @ConfigItem(name = ConfigItem.PARENT)
     public Map<String, I2CBusConfig> namedBuses;
 
+    /**
+     * File to keep discovered I2C topology between starts. Buses are scanned only if file is missing.
+     */
+    @ConfigItem(name = "discovery-cache")
+    public Optional<String> discoveryCache;
+
     public I2CBusConfig getRuntimeConfig(String name) {
         if ("<default>".equals(name)) {
             return defaultBus;
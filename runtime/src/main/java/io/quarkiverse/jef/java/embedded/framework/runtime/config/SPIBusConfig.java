@@ -52,6 +52,18 @@ public class SPIBusConfig {
     @ConvertWith(BitOrderingConverter.class)
     public BitOrdering bitOrdering;
 
+    /**
+     * Maximal amount of pending requests of asynchronous bus executor
+     */
+    @ConfigItem(name = "queue-depth", defaultValue = "64")
+    public Integer queueDepth;
+
+    /**
+     * Maximal amount of queued requests which asynchronous bus executor coalesces into single transfer
+     */
+    @ConfigItem(name = "batch-size", defaultValue = "16")
+    public Integer batchSize;
+
     public enum BitOrdering {
         BIG_ENDIAN(0),
         LITTLE_ENDIAN(1);
@@ -14,8 +14,15 @@ import javax.inject.Qualifier;
 @Retention(RUNTIME)
 public @interface GPIO {
     @Nonbinding
-    int number();
+    int number() default -1;
 
     @Nonbinding
-    String name();
+    String name() default "<default>";
+
+    /**
+     * Name of line (e.g. {@code GPIO17}) looked up on all GPIO chips. If set, {@link #name()} and
+     * {@link #number()} are ignored.
+     */
+    @Nonbinding
+    String line() default "";
 }
@@ -1,7 +1,44 @@
 package io.quarkiverse.jef.java.embedded.framework.runtime.gpio;
 
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioEvent;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioLineIndex;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioPin;
+import io.smallrye.mutiny.Multi;
 
 public interface GPIOManager {
     GpioPin getPin(String name, int number);
+
+    /**
+     * Finds pin by line name on all GPIO chips
+     *
+     * @param line line name, e.g. {@code GPIO17} or {@code RELAY_1}
+     * @return pin or {@code null} if line is not found
+     */
+    GpioPin findPin(String line);
+
+    /**
+     * Index of named lines of all GPIO chips, chips are scanned on first call
+     *
+     * @return line index
+     */
+    GpioLineIndex getLineIndex();
+
+    /**
+     * Edges of line as stream. Edge detection is requested on subscription and released on cancellation.
+     *
+     * @param name name of GPIO chip in configuration
+     * @param number line offset
+     * @param edge edges to report
+     * @return stream of events
+     */
+    Multi<GpioEvent> getEvents(String name, int number, GpioPin.Edge edge);
+
+    /**
+     * Edges of named line as stream
+     *
+     * @param line line name
+     * @param edge edges to report
+     * @return stream of events
+     */
+    Multi<GpioEvent> getEvents(String line, GpioPin.Edge edge);
 }
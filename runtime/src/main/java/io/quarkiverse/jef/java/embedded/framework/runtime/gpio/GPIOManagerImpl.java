@@ -3,16 +3,32 @@ package io.quarkiverse.jef.java.embedded.framework.runtime.gpio;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioDiscovery;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioEvent;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioEventListener;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioEventStream;
+import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioLineIndex;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioManager;
 import io.quarkiverse.jef.java.embedded.framework.linux.gpio.GpioPin;
 import io.quarkiverse.jef.java.embedded.framework.runtime.config.GPIOConfig;
 import io.quarkiverse.jef.java.embedded.framework.runtime.config.GPIOsConfig;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.subscription.MultiEmitter;
 
 public class GPIOManagerImpl implements GPIOManager {
+    private static final Logger log = Logger.getLogger(GPIOManagerImpl.class.getName());
+
     private final Map<String, String> buses = new HashMap<>();
+    private final GpioDiscovery discovery = new GpioDiscovery();
+    private final boolean watchHotplug;
+    private volatile boolean watching;
 
     public GPIOManagerImpl(GPIOsConfig cfg) {
+        this.watchHotplug = cfg.watchHotplug;
         if (cfg.defaultBus != null) {
             processBus("<default>", cfg.defaultBus);
         }
@@ -40,4 +56,75 @@ public class GPIOManagerImpl implements GPIOManager {
         }
         return null;
     }
+
+    @Override
+    public GpioPin findPin(String line) {
+        try {
+            return getLineIndex().getPin(line);
+        } catch (IOException ignored) {
+        }
+        return null;
+    }
+
+    @Override
+    public GpioLineIndex getLineIndex() {
+        if (watchHotplug && !watching) {
+            watching = true;
+            try {
+                discovery.watch();
+            } catch (IOException e) {
+                log.log(Level.WARNING, e, () -> "Unable to watch GPIO chips hotplug");
+            }
+        }
+        return discovery.getIndex();
+    }
+
+    @Override
+    public Multi<GpioEvent> getEvents(String name, int number, GpioPin.Edge edge) {
+        return events(() -> getPin(name, number), name + "-" + number, edge);
+    }
+
+    @Override
+    public Multi<GpioEvent> getEvents(String line, GpioPin.Edge edge) {
+        return events(() -> findPin(line), line, edge);
+    }
+
+    private Multi<GpioEvent> events(Supplier<GpioPin> lookup, String description, GpioPin.Edge edge) {
+        return Multi.createFrom().emitter(emitter -> {
+            GpioPin pin = lookup.get();
+            if (pin == null) {
+                emitter.fail(new IOException("GPIO line '" + description + "' is not available"));
+                return;
+            }
+            try {
+                GpioEventStream stream = pin.onEdge(edge, new Emitter(emitter));
+                emitter.onTermination(stream::close);
+            } catch (IOException e) {
+                emitter.fail(e);
+            }
+        });
+    }
+
+    private static class Emitter implements GpioEventListener {
+        private final MultiEmitter<? super GpioEvent> emitter;
+
+        Emitter(MultiEmitter<? super GpioEvent> emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onEvent(GpioEvent event) {
+            emitter.emit(event);
+        }
+
+        @Override
+        public void onFailure(IOException e) {
+            emitter.fail(e);
+        }
+
+        @Override
+        public void onClose() {
+            emitter.complete();
+        }
+    }
 }
@@ -21,6 +21,9 @@ public class GPIOProducer {
         for (Annotation qualifier : injectionPoint.getQualifiers()) {
             if (qualifier instanceof GPIO) {
                 GPIO gpio = (GPIO) qualifier;
+                if (!gpio.line().isEmpty()) {
+                    return manager.findPin(gpio.line());
+                }
                 return manager.getPin(gpio.name(), gpio.number());
             }
         }
@@ -1,8 +1,14 @@
 package io.quarkiverse.jef.java.embedded.framework.runtime.i2c;
 
 import io.quarkiverse.jef.java.embedded.framework.linux.i2c.I2CBus;
+import io.quarkiverse.jef.java.embedded.framework.linux.i2c.I2CDiscovery;
+import io.quarkiverse.jef.java.embedded.framework.linux.i2c.I2CTopology;
 
 //@ApplicationScoped
 public interface I2CBusManager {
     I2CBus getBus(String name);
+
+    I2CDiscovery getDiscovery();
+
+    I2CTopology getTopology();
 }
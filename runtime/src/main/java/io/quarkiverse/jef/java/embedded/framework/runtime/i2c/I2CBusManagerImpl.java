@@ -1,16 +1,22 @@
 package io.quarkiverse.jef.java.embedded.framework.runtime.i2c;
 
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
 import io.quarkiverse.jef.java.embedded.framework.linux.i2c.I2CBus;
+import io.quarkiverse.jef.java.embedded.framework.linux.i2c.I2CDiscovery;
+import io.quarkiverse.jef.java.embedded.framework.linux.i2c.I2CTopology;
 import io.quarkiverse.jef.java.embedded.framework.runtime.config.I2CBusConfig;
 import io.quarkiverse.jef.java.embedded.framework.runtime.config.I2CBusesConfig;
 
 //@ApplicationScoped
 public class I2CBusManagerImpl implements I2CBusManager {
     private final Map<String, I2CBus> buses = new HashMap<>();
+    private final I2CDiscovery discovery;
 
     public I2CBusManagerImpl(I2CBusesConfig cfg) {
         if (cfg.defaultBus != null) {
@@ -21,12 +27,18 @@ public class I2CBusManagerImpl implements I2CBusManager {
             I2CBusConfig config = entry.getValue();
             processBus(entry.getKey(), config);
         }
+
+        List<String> paths = new ArrayList<>();
+        for (I2CBus bus : buses.values()) {
+            paths.add(bus.getPath());
+        }
+        discovery = new I2CDiscovery(paths, cfg.discoveryCache.map(Paths::get).orElse(null));
     }
 
     private void processBus(String name, I2CBusConfig config) {
         if (config.enabled && config.path.isPresent()) {
             try {
-                I2CBus bus = I2CBus.create(config.path.get());
+                I2CBus bus = I2CBus.shared(config.path.get());
                 bus.setTenBits(config.isTenBits);
 
                 if (config.retries > 0) {
@@ -48,4 +60,12 @@ public class I2CBusManagerImpl implements I2CBusManager {
     public I2CBus getBus(String value) {
         return buses.get(value);
     }
+
+    public I2CDiscovery getDiscovery() {
+        return discovery;
+    }
+
+    public I2CTopology getTopology() {
+        return discovery.getTopology();
+    }
 }
@@ -1,7 +1,15 @@
 package io.quarkiverse.jef.java.embedded.framework.runtime.spi;
 
 import io.quarkiverse.jef.java.embedded.framework.linux.spi.SpiBus;
+import io.quarkiverse.jef.java.embedded.framework.linux.spi.SpiBusExecutor;
 
 public interface SPIBusManager {
     SpiBus getBus(String name);
+
+    SpiBusExecutor getExecutor(String name);
+
+    /**
+     * Stops executors created by manager, pending requests are failed
+     */
+    void close();
 }
@@ -0,0 +1,18 @@
+package io.quarkiverse.jef.java.embedded.framework.runtime.spi;
+
+import java.util.Map;
+
+import javax.enterprise.context.spi.CreationalContext;
+
+import io.quarkus.arc.BeanDestroyer;
+
+/**
+ * Stops executors of {@link SPIBusManager} when application shuts down
+ */
+public class SPIBusManagerDestroyer implements BeanDestroyer<SPIBusManager> {
+    @Override
+    public void destroy(SPIBusManager instance, CreationalContext<SPIBusManager> creationalContext,
+            Map<String, Object> params) {
+        instance.close();
+    }
+}
@@ -2,14 +2,18 @@ package io.quarkiverse.jef.java.embedded.framework.runtime.spi;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.quarkiverse.jef.java.embedded.framework.linux.core.NativeIOException;
 import io.quarkiverse.jef.java.embedded.framework.linux.spi.SpiBus;
+import io.quarkiverse.jef.java.embedded.framework.linux.spi.SpiBusExecutor;
 import io.quarkiverse.jef.java.embedded.framework.runtime.config.SPIBusConfig;
 import io.quarkiverse.jef.java.embedded.framework.runtime.config.SPIBusesConfig;
 
 public class SPIBusManagerImpl implements SPIBusManager {
     private final Map<String, SpiBus> buses = new HashMap<>();
+    private final Map<String, SPIBusConfig> configs = new HashMap<>();
+    private final Map<String, SpiBusExecutor> executors = new ConcurrentHashMap<>();
 
     public SPIBusManagerImpl(SPIBusesConfig cfg) {
         if (cfg.defaultBus != null) {
@@ -31,6 +35,7 @@ public class SPIBusManagerImpl implements SPIBusManager {
                 bus.setBitOrdering(config.bitOrdering.getValue());
                 bus.setWordLength(config.wordLength);
                 buses.put(name, bus);
+                configs.put(name, config);
             } catch (NativeIOException e) {
                 throw new RuntimeException(e);
             }
@@ -41,4 +46,24 @@ public class SPIBusManagerImpl implements SPIBusManager {
     public SpiBus getBus(String name) {
         return buses.get(name);
     }
+
+    @Override
+    public SpiBusExecutor getExecutor(String name) {
+        SpiBus bus = buses.get(name);
+        if (bus == null) {
+            return null;
+        }
+        return executors.computeIfAbsent(name, key -> {
+            SPIBusConfig config = configs.get(key);
+            return new SpiBusExecutor(bus, config.queueDepth, config.batchSize);
+        });
+    }
+
+    @Override
+    public void close() {
+        for (SpiBusExecutor executor : executors.values()) {
+            executor.close();
+        }
+        executors.clear();
+    }
 }
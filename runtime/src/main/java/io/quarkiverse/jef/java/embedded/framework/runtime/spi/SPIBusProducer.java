@@ -8,6 +8,7 @@ import javax.enterprise.inject.spi.InjectionPoint;
 import javax.inject.Inject;
 
 import io.quarkiverse.jef.java.embedded.framework.linux.spi.SpiBus;
+import io.quarkiverse.jef.java.embedded.framework.linux.spi.SpiBusExecutor;
 
 @SuppressWarnings("unused")
 @ApplicationScoped
@@ -27,4 +28,15 @@ public class SPIBusProducer {
         return null;
     }
 
+    @Produces
+    @SPI(name = "") // The `value` attribute is @Nonbinding.
+    SpiBusExecutor produceExecutor(InjectionPoint injectionPoint) {
+        for (Annotation qualifier : injectionPoint.getQualifiers()) {
+            if (qualifier instanceof SPI) {
+                return manager.getExecutor(((SPI) qualifier).name());
+            }
+        }
+        // This will never be returned.
+        return null;
+    }
 }